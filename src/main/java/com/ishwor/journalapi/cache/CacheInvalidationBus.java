@@ -0,0 +1,265 @@
+package com.ishwor.journalapi.cache;
+
+import com.ishwor.journalapi.config.CacheInvalidationProperties;
+import com.ishwor.journalapi.event.JournalChangedEvent;
+import com.ishwor.journalapi.event.UserChangedEvent;
+import com.ishwor.journalapi.search.JournalSearchEngine;
+import com.ishwor.journalapi.service.TokenVersionService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.boot.jdbc.autoconfigure.DataSourceProperties;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Keeps the in-memory caches of several instances in step through Postgres LISTEN/NOTIFY,
+ * so no extra infrastructure is needed. Committed journal and user changes are queued,
+ * merged for {@code batchWindow} and sent with {@code pg_notify}; notifications from the
+ * other instances drop the matching entries here and have the search engine re-read them.
+ * <p>
+ * One thread owns a connection of its own, outside the pool, and both listens and sends on
+ * it. Notifications sent while it is not listening are lost, so every (re)connect starts by
+ * flushing the local caches. A node that can't send what it queued, or has queued more
+ * than {@code maxPendingIds}, tells everyone to flush instead.
+ */
+@Component
+@ConditionalOnProperty(prefix = "journal.cache.invalidation", name = "enabled", havingValue = "true")
+public class CacheInvalidationBus {
+
+    private static final Logger log = LoggerFactory.getLogger(CacheInvalidationBus.class);
+
+    // A dead connection only shows up when something is sent on it
+    private static final long KEEPALIVE_NANOS = TimeUnit.SECONDS.toNanos(30);
+    private static final int VALIDATION_TIMEOUT_SECONDS = 5;
+
+    private final DataSourceProperties dataSourceProperties;
+    private final CacheInvalidationProperties properties;
+    private final JournalCache journalCache;
+    private final JournalSearchEngine searchEngine;
+    private final TokenVersionService tokenVersionService;
+    private final Counter sent;
+    private final Counter received;
+    private final Counter fullFlushes;
+
+    // Tells our own notifications apart; those changes were applied here when they happened
+    private final String node = UUID.randomUUID().toString().replace("-", "").substring(0, 12);
+
+    private final Object pendingLock = new Object();
+    private Set<Long> pendingJournals = new HashSet<>();
+    private Set<Long> pendingUsers = new HashSet<>();
+    private boolean pendingAll;
+
+    private volatile boolean running;
+    private volatile Connection connection;
+    private Thread listener;
+
+    public CacheInvalidationBus(DataSourceProperties dataSourceProperties, CacheInvalidationProperties properties,
+                                JournalCache journalCache, JournalSearchEngine searchEngine,
+                                TokenVersionService tokenVersionService, MeterRegistry meterRegistry) {
+        if (!properties.getChannel().matches("[a-z_][a-z0-9_]*")) {
+            throw new IllegalArgumentException("journal.cache.invalidation.channel must be a lower-case identifier");
+        }
+        this.dataSourceProperties = dataSourceProperties;
+        this.properties = properties;
+        this.journalCache = journalCache;
+        this.searchEngine = searchEngine;
+        this.tokenVersionService = tokenVersionService;
+        this.sent = Counter.builder("cache.invalidation.messages").tag("direction", "sent").register(meterRegistry);
+        this.received = Counter.builder("cache.invalidation.messages").tag("direction", "received").register(meterRegistry);
+        this.fullFlushes = Counter.builder("cache.invalidation.full_flushes").register(meterRegistry);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void start() {
+        if (running) {
+            return;
+        }
+        running = true;
+        listener = new Thread(this::listen, "cache-invalidation-listener");
+        listener.setDaemon(true);
+        listener.start();
+    }
+
+    @PreDestroy
+    public synchronized void stop() {
+        running = false;
+        if (listener != null) {
+            listener.interrupt();
+        }
+        closeQuietly(connection);
+    }
+
+    boolean isListening() {
+        return connection != null;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onJournalChanged(JournalChangedEvent event) {
+        enqueue(event.getIds(), true);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onUserChanged(UserChangedEvent event) {
+        enqueue(List.of(event.getUserId()), false);
+    }
+
+    private void enqueue(Collection<Long> ids, boolean journals) {
+        synchronized (pendingLock) {
+            if (pendingAll) {
+                return;
+            }
+            (journals ? pendingJournals : pendingUsers).addAll(ids);
+            if (pendingJournals.size() + pendingUsers.size() > properties.getMaxPendingIds()) {
+                pendingAll = true;
+                pendingJournals = new HashSet<>();
+                pendingUsers = new HashSet<>();
+            }
+        }
+    }
+
+    private void listen() {
+        while (running) {
+            try (Connection c = DriverManager.getConnection(dataSourceProperties.determineUrl(),
+                    dataSourceProperties.determineUsername(), dataSourceProperties.determinePassword())) {
+                PGConnection pg = c.unwrap(PGConnection.class);
+                try (Statement statement = c.createStatement()) {
+                    statement.execute("LISTEN " + properties.getChannel());
+                }
+                connection = c;
+                flushLocal();
+                log.info("Listening for cache invalidations on {} as node {}", properties.getChannel(), node);
+
+                int windowMillis = (int) Math.max(1, properties.getBatchWindow().toMillis());
+                long checkedAt = System.nanoTime();
+                while (running) {
+                    PGNotification[] notifications = pg.getNotifications(windowMillis);
+                    if (notifications != null) {
+                        for (PGNotification notification : notifications) {
+                            apply(notification.getParameter());
+                        }
+                    }
+                    send(c);
+                    if (System.nanoTime() - checkedAt > KEEPALIVE_NANOS) {
+                        if (!c.isValid(VALIDATION_TIMEOUT_SECONDS)) {
+                            throw new SQLException("Invalidation connection is no longer valid");
+                        }
+                        checkedAt = System.nanoTime();
+                    }
+                }
+            } catch (SQLException e) {
+                if (!running) {
+                    return;
+                }
+                log.warn("Cache invalidation connection failed; retrying in {}", properties.getReconnectDelay(), e);
+                try {
+                    Thread.sleep(properties.getReconnectDelay().toMillis());
+                } catch (InterruptedException interrupted) {
+                    return;
+                }
+            } finally {
+                connection = null;
+            }
+        }
+    }
+
+    private void send(Connection c) throws SQLException {
+        Set<Long> journals;
+        Set<Long> users;
+        boolean all;
+        synchronized (pendingLock) {
+            if (!pendingAll && pendingJournals.isEmpty() && pendingUsers.isEmpty()) {
+                return;
+            }
+            journals = pendingJournals;
+            users = pendingUsers;
+            all = pendingAll;
+            pendingJournals = new HashSet<>();
+            pendingUsers = new HashSet<>();
+            pendingAll = false;
+        }
+
+        List<String> payloads = new ArrayList<>();
+        if (all) {
+            payloads.add(InvalidationMessage.all(node));
+        } else {
+            payloads.addAll(InvalidationMessage.encode(node, InvalidationMessage.Kind.JOURNALS, journals));
+            payloads.addAll(InvalidationMessage.encode(node, InvalidationMessage.Kind.USERS, users));
+        }
+        try (PreparedStatement notify = c.prepareStatement("SELECT pg_notify(?, ?)")) {
+            for (String payload : payloads) {
+                notify.setString(1, properties.getChannel());
+                notify.setString(2, payload);
+                notify.execute();
+                sent.increment();
+            }
+        } catch (SQLException e) {
+            // Some of it may be gone already; the others will have to start over
+            synchronized (pendingLock) {
+                pendingAll = true;
+            }
+            throw e;
+        }
+    }
+
+    private void apply(String payload) {
+        InvalidationMessage message;
+        try {
+            message = InvalidationMessage.parse(payload);
+        } catch (IllegalArgumentException e) {
+            log.warn("Ignoring cache invalidation message; flushing instead", e);
+            flushLocal();
+            return;
+        }
+        if (message.node().equals(node)) {
+            return;
+        }
+        received.increment();
+        switch (message.kind()) {
+            case JOURNALS -> {
+                journalCache.invalidate(message.ids());
+                searchEngine.invalidate(message.ids());
+            }
+            case USERS -> message.ids().forEach(tokenVersionService::evict);
+            case ALL -> flushLocal();
+        }
+    }
+
+    private void flushLocal() {
+        journalCache.invalidateAll();
+        searchEngine.invalidateAll();
+        tokenVersionService.evictAll();
+        fullFlushes.increment();
+    }
+
+    private static void closeQuietly(Connection c) {
+        if (c == null) {
+            return;
+        }
+        try {
+            c.close();
+        } catch (SQLException ignored) {
+            // Shutting down anyway
+        }
+    }
+}
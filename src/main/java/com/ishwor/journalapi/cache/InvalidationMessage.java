@@ -0,0 +1,86 @@
+package com.ishwor.journalapi.cache;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Payload of one NOTIFY on the invalidation channel: the sending node, what to drop and
+ * the ids, as plain text such as {@code 3f9c2a17e0b4 j 12,40,41}. Kind {@code *} means
+ * drop everything and carries no ids.
+ */
+record InvalidationMessage(String node, Kind kind, List<Long> ids) {
+
+    // Postgres refuses payloads of 8000 bytes or more
+    static final int MAX_PAYLOAD = 7900;
+
+    enum Kind {
+        JOURNALS('j'), USERS('u'), ALL('*');
+
+        private final char code;
+
+        Kind(char code) {
+            this.code = code;
+        }
+
+        static Kind of(char code) {
+            for (Kind kind : values()) {
+                if (kind.code == code) {
+                    return kind;
+                }
+            }
+            throw new IllegalArgumentException("Unknown invalidation kind " + code);
+        }
+    }
+
+    static String all(String node) {
+        return node + " " + Kind.ALL.code;
+    }
+
+    /**
+     * Payloads for the ids, as few as fit under {@link #MAX_PAYLOAD} each.
+     */
+    static List<String> encode(String node, Kind kind, Collection<Long> ids) {
+        List<String> payloads = new ArrayList<>();
+        String prefix = node + " " + kind.code + " ";
+        StringBuilder payload = new StringBuilder(prefix);
+        for (Long id : ids) {
+            String next = id.toString();
+            if (payload.length() > prefix.length() && payload.length() + 1 + next.length() > MAX_PAYLOAD) {
+                payloads.add(payload.toString());
+                payload.setLength(prefix.length());
+            }
+            if (payload.length() > prefix.length()) {
+                payload.append(',');
+            }
+            payload.append(next);
+        }
+        if (payload.length() > prefix.length()) {
+            payloads.add(payload.toString());
+        }
+        return payloads;
+    }
+
+    static InvalidationMessage parse(String payload) {
+        String[] parts = payload.split(" ", 3);
+        if (parts.length < 2 || parts[1].length() != 1) {
+            throw new IllegalArgumentException("Malformed invalidation message: " + payload);
+        }
+        Kind kind = Kind.of(parts[1].charAt(0));
+        if (kind == Kind.ALL) {
+            return new InvalidationMessage(parts[0], kind, List.of());
+        }
+        if (parts.length < 3) {
+            throw new IllegalArgumentException("Malformed invalidation message: " + payload);
+        }
+        List<Long> ids = new ArrayList<>();
+        for (String id : parts[2].split(",")) {
+            try {
+                ids.add(Long.parseLong(id));
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("Malformed invalidation message: " + payload, e);
+            }
+        }
+        return new InvalidationMessage(parts[0], kind, ids);
+    }
+}
@@ -0,0 +1,112 @@
+package com.ishwor.journalapi.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.ishwor.journalapi.config.JournalCacheProperties;
+import com.ishwor.journalapi.event.JournalChangedEvent;
+import com.ishwor.journalapi.repository.JournalRow;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.Collection;
+import java.util.Objects;
+import java.util.OptionalLong;
+import java.util.function.Supplier;
+
+/**
+ * Read-through cache of single journals for their owners, bounded by an estimate of the
+ * heap the entries take. Eviction is Caffeine's W-TinyLFU, so one-off reads don't push out
+ * journals that are read again and again.
+ * <p>
+ * Entries are keyed by journal id and carry the owner, which is compared on every hit.
+ * Admin edits don't know the owner, and this way they still invalidate the one entry
+ * exactly. Entries are dropped when a {@link JournalChangedEvent} commits and expire after
+ * the TTL regardless.
+ */
+@Component
+public class JournalCache {
+
+    static final String NAME = "journals";
+
+    // Object headers, the entry, the row and its timestamps, roughly
+    private static final int ENTRY_OVERHEAD = 200;
+
+    private final Cache<Long, Entry> cache;
+
+    public JournalCache(JournalCacheProperties properties, MeterRegistry meterRegistry) {
+        this.cache = Caffeine.newBuilder()
+                .maximumWeight(properties.getMaximumSize().toBytes())
+                .weigher((Long id, Entry entry) -> entry.weight())
+                .expireAfterWrite(properties.getTtl())
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, NAME);
+        Gauge.builder("cache.hit.ratio", cache, c -> c.stats().hitRate())
+                .tag("cache", NAME)
+                .register(meterRegistry);
+    }
+
+    /**
+     * The owner's journal, from the cache or else from {@code loader}. A journal found under
+     * a different owner is reported as missing without asking the database, since owners
+     * never change.
+     *
+     * @param loader reads the journal for this owner, or returns null if there is none
+     * @return the journal, or null if the owner has no journal with that id
+     */
+    public JournalRow get(Long ownerId, Long id, Supplier<JournalRow> loader) {
+        // A miss is loaded inside the cache's lock for the key, so an invalidation that arrives
+        // meanwhile waits for the load and then removes what it put
+        Entry entry = cache.get(id, key -> {
+            JournalRow row = loader.get();
+            return row == null ? null : new Entry(ownerId, row);
+        });
+        return entry != null && entry.ownerId() == ownerId ? entry.row() : null;
+    }
+
+    /**
+     * The version of the owner's journal if it is cached, so conditional requests can be
+     * answered without a query.
+     */
+    public OptionalLong version(Long ownerId, Long id) {
+        // Quietly, so a 304 check followed by a full read counts as one lookup in the stats
+        Entry entry = cache.policy().getIfPresentQuietly(id);
+        return entry != null && entry.ownerId() == ownerId ? OptionalLong.of(entry.row().getVersion()) : OptionalLong.empty();
+    }
+
+    public void invalidate(Collection<Long> ids) {
+        cache.invalidateAll(ids);
+    }
+
+    public void invalidateAll() {
+        cache.invalidateAll();
+    }
+
+    // Runs pending evictions now rather than on Caffeine's executor
+    void cleanUp() {
+        cache.cleanUp();
+    }
+
+    // After commit, so a concurrent read can't load the old row back in after we drop it
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onJournalChanged(JournalChangedEvent event) {
+        if (event.getType() == JournalChangedEvent.Type.DELETED) {
+            invalidate(event.getIds());
+        } else {
+            invalidate(event.getJournals().stream().map(JournalChangedEvent.Journal::getId).toList());
+        }
+    }
+
+    private record Entry(long ownerId, JournalRow row) {
+
+        int weight() {
+            // Two bytes a char covers strings that aren't Latin-1
+            long chars = (long) Objects.requireNonNullElse(row.getTitle(), "").length()
+                    + Objects.requireNonNullElse(row.getContent(), "").length();
+            return (int) Math.min(Integer.MAX_VALUE, ENTRY_OVERHEAD + 2 * chars);
+        }
+    }
+}
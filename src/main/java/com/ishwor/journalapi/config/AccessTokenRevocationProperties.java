@@ -0,0 +1,52 @@
+package com.ishwor.journalapi.config;
+
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+@Component
+@ConfigurationProperties(prefix = "auth.revocation")
+public class AccessTokenRevocationProperties {
+    // Revocations expected per window; sizes each Bloom filter generation
+    private long expectedRevocations = 100_000;
+    // Share of live tokens that will still be looked up in the database
+    private double falsePositiveRate = 0.001;
+    // How long one filter generation takes new entries; must be at least the access token lifetime
+    private Duration window = Duration.ofMinutes(15);
+    // How often revocations made by other instances are pulled in
+    private Duration syncInterval = Duration.ofSeconds(5);
+
+    public long getExpectedRevocations() {
+        return expectedRevocations;
+    }
+
+    public void setExpectedRevocations(long expectedRevocations) {
+        this.expectedRevocations = expectedRevocations;
+    }
+
+    public double getFalsePositiveRate() {
+        return falsePositiveRate;
+    }
+
+    public void setFalsePositiveRate(double falsePositiveRate) {
+        this.falsePositiveRate = falsePositiveRate;
+    }
+
+    public Duration getWindow() {
+        return window;
+    }
+
+    public void setWindow(Duration window) {
+        this.window = window;
+    }
+
+    public Duration getSyncInterval() {
+        return syncInterval;
+    }
+
+    public void setSyncInterval(Duration syncInterval) {
+        this.syncInterval = syncInterval;
+    }
+}
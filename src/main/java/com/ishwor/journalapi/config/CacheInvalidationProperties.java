@@ -0,0 +1,62 @@
+package com.ishwor.journalapi.config;
+
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+@Component
+@ConfigurationProperties(prefix = "journal.cache.invalidation")
+public class CacheInvalidationProperties {
+    // Turn on when several instances share the database, so their in-memory caches drop each other's changes
+    private boolean enabled = false;
+    // Postgres NOTIFY channel shared by every instance
+    private String channel = "journal_cache_invalidation";
+    // How long changes are gathered before they are sent; repeated changes to one row in a window go out once
+    private Duration batchWindow = Duration.ofMillis(50);
+    // Pause before listening again after the connection drops
+    private Duration reconnectDelay = Duration.ofSeconds(5);
+    // Unsent ids above which a single "flush everything" message is sent instead
+    private int maxPendingIds = 10_000;
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public String getChannel() {
+        return channel;
+    }
+
+    public void setChannel(String channel) {
+        this.channel = channel;
+    }
+
+    public Duration getBatchWindow() {
+        return batchWindow;
+    }
+
+    public void setBatchWindow(Duration batchWindow) {
+        this.batchWindow = batchWindow;
+    }
+
+    public Duration getReconnectDelay() {
+        return reconnectDelay;
+    }
+
+    public void setReconnectDelay(Duration reconnectDelay) {
+        this.reconnectDelay = reconnectDelay;
+    }
+
+    public int getMaxPendingIds() {
+        return maxPendingIds;
+    }
+
+    public void setMaxPendingIds(int maxPendingIds) {
+        this.maxPendingIds = maxPendingIds;
+    }
+}
@@ -0,0 +1,33 @@
+package com.ishwor.journalapi.config;
+
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+
+@Component
+@ConfigurationProperties(prefix = "journal.cache")
+public class JournalCacheProperties {
+    // Approximate heap taken by cached journals, weighed by title and content length; 0 turns the cache off
+    private DataSize maximumSize = DataSize.ofMegabytes(64);
+    // How long an entry is served after it was loaded; bounds staleness from writes this instance never sees
+    private Duration ttl = Duration.ofMinutes(10);
+
+    public DataSize getMaximumSize() {
+        return maximumSize;
+    }
+
+    public void setMaximumSize(DataSize maximumSize) {
+        this.maximumSize = maximumSize;
+    }
+
+    public Duration getTtl() {
+        return ttl;
+    }
+
+    public void setTtl(Duration ttl) {
+        this.ttl = ttl;
+    }
+}
@@ -0,0 +1,50 @@
+package com.ishwor.journalapi.config;
+
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Component
+@ConfigurationProperties(prefix = "journal")
+public class JournalProperties {
+    // Characters of content returned as the excerpt in summary listings
+    private int excerptLength = 200;
+    // Most items accepted by one request to the /journal/batch endpoints
+    private int batchMaxItems = 500;
+    // Rows fetched per round trip while streaming GET /journal/export
+    private int exportFetchSize = 500;
+    // Rows written per COPY by POST /journal/import; also the most rows held in memory
+    private int importChunkSize = 1000;
+
+    public int getExcerptLength() {
+        return excerptLength;
+    }
+
+    public void setExcerptLength(int excerptLength) {
+        this.excerptLength = excerptLength;
+    }
+
+    public int getBatchMaxItems() {
+        return batchMaxItems;
+    }
+
+    public void setBatchMaxItems(int batchMaxItems) {
+        this.batchMaxItems = batchMaxItems;
+    }
+
+    public int getExportFetchSize() {
+        return exportFetchSize;
+    }
+
+    public void setExportFetchSize(int exportFetchSize) {
+        this.exportFetchSize = exportFetchSize;
+    }
+
+    public int getImportChunkSize() {
+        return importChunkSize;
+    }
+
+    public void setImportChunkSize(int importChunkSize) {
+        this.importChunkSize = importChunkSize;
+    }
+}
@@ -0,0 +1,25 @@
+package com.ishwor.journalapi.config;
+
+import org.springframework.boot.hibernate.autoconfigure.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class JpaConfig {
+
+    // Matches the journals sequence's allocation size, so one id fetch covers one JDBC batch
+    static final int JDBC_BATCH_SIZE = 50;
+
+    /**
+     * JDBC batching defaults. Anything set under spring.jpa.properties takes precedence.
+     */
+    @Bean
+    public HibernatePropertiesCustomizer jdbcBatchingCustomizer() {
+        return properties -> {
+            properties.putIfAbsent("hibernate.jdbc.batch_size", JDBC_BATCH_SIZE);
+            // Groups statements by table so a flush of mixed entities still batches
+            properties.putIfAbsent("hibernate.order_inserts", true);
+            properties.putIfAbsent("hibernate.order_updates", true);
+        };
+    }
+}
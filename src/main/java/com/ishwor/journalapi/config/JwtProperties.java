@@ -8,7 +8,14 @@ import org.springframework.stereotype.Component;
 @ConfigurationProperties(prefix = "jwt")
 public class JwtProperties {
     private String secret;
-    private Long expiration;
+    // Access token lifetime in milliseconds
+    private Long expiration = 900_000L;
+    // Build the principal from token claims instead of loading the user on every request
+    private boolean statelessAuth = true;
+    // Upper bound on verified tokens kept in memory by JwtServiceImpl
+    private long claimsCacheSize = 10_000;
+    // Issue and verify HS256 tokens with Hs256TokenCodec instead of the jjwt builder/parser
+    private boolean fastCodec = true;
 
     public String getSecret() {
         return secret;
@@ -25,4 +32,28 @@ public class JwtProperties {
     public void setExpiration(Long expiration) {
         this.expiration = expiration;
     }
+
+    public boolean isStatelessAuth() {
+        return statelessAuth;
+    }
+
+    public void setStatelessAuth(boolean statelessAuth) {
+        this.statelessAuth = statelessAuth;
+    }
+
+    public long getClaimsCacheSize() {
+        return claimsCacheSize;
+    }
+
+    public void setClaimsCacheSize(long claimsCacheSize) {
+        this.claimsCacheSize = claimsCacheSize;
+    }
+
+    public boolean isFastCodec() {
+        return fastCodec;
+    }
+
+    public void setFastCodec(boolean fastCodec) {
+        this.fastCodec = fastCodec;
+    }
 }
@@ -0,0 +1,40 @@
+package com.ishwor.journalapi.config;
+
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Component
+@ConfigurationProperties(prefix = "auth.hashing")
+public class PasswordHashingProperties {
+    // Threads doing bcrypt work; more than the core count only adds contention
+    private int poolSize = Runtime.getRuntime().availableProcessors();
+    // Hash requests allowed to wait for a thread before new ones are turned away
+    private int queueCapacity = 64;
+    // Sent back as Retry-After when the queue is full
+    private int retryAfterSeconds = 2;
+
+    public int getPoolSize() {
+        return poolSize;
+    }
+
+    public void setPoolSize(int poolSize) {
+        this.poolSize = poolSize;
+    }
+
+    public int getQueueCapacity() {
+        return queueCapacity;
+    }
+
+    public void setQueueCapacity(int queueCapacity) {
+        this.queueCapacity = queueCapacity;
+    }
+
+    public int getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+
+    public void setRetryAfterSeconds(int retryAfterSeconds) {
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+}
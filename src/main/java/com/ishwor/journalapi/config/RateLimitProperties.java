@@ -0,0 +1,67 @@
+package com.ishwor.journalapi.config;
+
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Component
+@ConfigurationProperties(prefix = "auth.rate-limit")
+public class RateLimitProperties {
+    private boolean enabled = true;
+    // Sustained rate and burst per client IP across /auth/login, /auth/register and /auth/refresh
+    private int ipRequestsPerMinute = 60;
+    private int ipBurst = 20;
+    // Sustained rate and burst per email on /auth/login and /auth/register, whatever the IP
+    private int emailRequestsPerMinute = 10;
+    private int emailBurst = 5;
+    // Upper bound on buckets kept in memory per key type; idle buckets are dropped first
+    private int maxBuckets = 100_000;
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public int getIpRequestsPerMinute() {
+        return ipRequestsPerMinute;
+    }
+
+    public void setIpRequestsPerMinute(int ipRequestsPerMinute) {
+        this.ipRequestsPerMinute = ipRequestsPerMinute;
+    }
+
+    public int getIpBurst() {
+        return ipBurst;
+    }
+
+    public void setIpBurst(int ipBurst) {
+        this.ipBurst = ipBurst;
+    }
+
+    public int getEmailRequestsPerMinute() {
+        return emailRequestsPerMinute;
+    }
+
+    public void setEmailRequestsPerMinute(int emailRequestsPerMinute) {
+        this.emailRequestsPerMinute = emailRequestsPerMinute;
+    }
+
+    public int getEmailBurst() {
+        return emailBurst;
+    }
+
+    public void setEmailBurst(int emailBurst) {
+        this.emailBurst = emailBurst;
+    }
+
+    public int getMaxBuckets() {
+        return maxBuckets;
+    }
+
+    public void setMaxBuckets(int maxBuckets) {
+        this.maxBuckets = maxBuckets;
+    }
+}
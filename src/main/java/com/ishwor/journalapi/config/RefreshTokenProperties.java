@@ -0,0 +1,61 @@
+package com.ishwor.journalapi.config;
+
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+@Component
+@ConfigurationProperties(prefix = "auth.refresh-token")
+public class RefreshTokenProperties {
+    private Duration validity = Duration.ofHours(24);
+    // Delete expired tokens in the background
+    private boolean purgeEnabled = true;
+    // Time between the end of one purge run and the start of the next
+    private Duration purgeInterval = Duration.ofHours(1);
+    // Rows deleted per statement; keeps each transaction and its locks short
+    private int purgeBatchSize = 1000;
+    // Pause between batches so the purge doesn't starve normal traffic
+    private Duration purgePause = Duration.ofMillis(100);
+
+    public Duration getValidity() {
+        return validity;
+    }
+
+    public void setValidity(Duration validity) {
+        this.validity = validity;
+    }
+
+    public boolean isPurgeEnabled() {
+        return purgeEnabled;
+    }
+
+    public void setPurgeEnabled(boolean purgeEnabled) {
+        this.purgeEnabled = purgeEnabled;
+    }
+
+    public Duration getPurgeInterval() {
+        return purgeInterval;
+    }
+
+    public void setPurgeInterval(Duration purgeInterval) {
+        this.purgeInterval = purgeInterval;
+    }
+
+    public int getPurgeBatchSize() {
+        return purgeBatchSize;
+    }
+
+    public void setPurgeBatchSize(int purgeBatchSize) {
+        this.purgeBatchSize = purgeBatchSize;
+    }
+
+    public Duration getPurgePause() {
+        return purgePause;
+    }
+
+    public void setPurgePause(Duration purgePause) {
+        this.purgePause = purgePause;
+    }
+}
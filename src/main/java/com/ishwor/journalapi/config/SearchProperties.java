@@ -0,0 +1,60 @@
+package com.ishwor.journalapi.config;
+
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Component
+@ConfigurationProperties(prefix = "journal.search")
+public class SearchProperties {
+    // "postgres" searches the tsvector column; "index" keeps an inverted index in this process
+    private String engine = "postgres";
+    // Where the index writes its segment files; wiped on every start, since the index is rebuilt
+    private String indexDirectory = System.getProperty("java.io.tmpdir") + "/journal-search-index";
+    // Journals buffered in memory before they are written out as a segment
+    private int flushThreshold = 10000;
+    // Segments allowed before the newest ones are merged into one
+    private int maxSegments = 8;
+    // Rows fetched per round trip while rebuilding the index at startup
+    private int rebuildFetchSize = 1000;
+
+    public String getEngine() {
+        return engine;
+    }
+
+    public void setEngine(String engine) {
+        this.engine = engine;
+    }
+
+    public String getIndexDirectory() {
+        return indexDirectory;
+    }
+
+    public void setIndexDirectory(String indexDirectory) {
+        this.indexDirectory = indexDirectory;
+    }
+
+    public int getFlushThreshold() {
+        return flushThreshold;
+    }
+
+    public void setFlushThreshold(int flushThreshold) {
+        this.flushThreshold = flushThreshold;
+    }
+
+    public int getMaxSegments() {
+        return maxSegments;
+    }
+
+    public void setMaxSegments(int maxSegments) {
+        this.maxSegments = maxSegments;
+    }
+
+    public int getRebuildFetchSize() {
+        return rebuildFetchSize;
+    }
+
+    public void setRebuildFetchSize(int rebuildFetchSize) {
+        this.rebuildFetchSize = rebuildFetchSize;
+    }
+}
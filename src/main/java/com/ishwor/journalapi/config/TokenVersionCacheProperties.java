@@ -0,0 +1,32 @@
+package com.ishwor.journalapi.config;
+
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+@Component
+@ConfigurationProperties(prefix = "auth.token-version.cache")
+public class TokenVersionCacheProperties {
+    // Users whose token version is kept in memory; the least used are dropped beyond this
+    private long maximumSize = 100_000;
+    // Users who haven't made a request for this long are dropped and read again on their next one
+    private Duration expireAfterAccess = Duration.ofHours(1);
+
+    public long getMaximumSize() {
+        return maximumSize;
+    }
+
+    public void setMaximumSize(long maximumSize) {
+        this.maximumSize = maximumSize;
+    }
+
+    public Duration getExpireAfterAccess() {
+        return expireAfterAccess;
+    }
+
+    public void setExpireAfterAccess(Duration expireAfterAccess) {
+        this.expireAfterAccess = expireAfterAccess;
+    }
+}
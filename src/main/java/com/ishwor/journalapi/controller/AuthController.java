@@ -2,11 +2,11 @@ package com.ishwor.journalapi.controller;
 
 
 import com.ishwor.journalapi.dto.*;
-import com.ishwor.journalapi.entity.RefreshTokenEntity;
-import com.ishwor.journalapi.exception.RefreshTokenException;
+import com.ishwor.journalapi.security.AuthenticatedUser;
+import com.ishwor.journalapi.service.AccessTokenRevocationService;
 import com.ishwor.journalapi.service.AuthService;
-import com.ishwor.journalapi.service.JwtService;
 import com.ishwor.journalapi.service.RefreshTokenService;
+import com.ishwor.journalapi.service.TokenVersionService;
 import com.ishwor.journalapi.service.impl.CurrentUserService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -29,14 +29,17 @@ import java.util.Map;
 public class AuthController {
     private final AuthService authService;
     private final RefreshTokenService refreshTokenService;
-    private final JwtService jwtService;
     private final CurrentUserService currentUserService;
+    private final TokenVersionService tokenVersionService;
+    private final AccessTokenRevocationService accessTokenRevocationService;
 
-    public AuthController(AuthService authService, RefreshTokenService refreshTokenService, JwtService jwtService, CurrentUserService currentUserService){
+    public AuthController(AuthService authService, RefreshTokenService refreshTokenService, CurrentUserService currentUserService,
+                          TokenVersionService tokenVersionService, AccessTokenRevocationService accessTokenRevocationService){
         this.authService = authService;
         this.refreshTokenService = refreshTokenService;
-        this.jwtService = jwtService;
         this.currentUserService = currentUserService;
+        this.tokenVersionService = tokenVersionService;
+        this.accessTokenRevocationService = accessTokenRevocationService;
     }
     @Operation(
             summary = "Register a new user",
@@ -92,25 +95,12 @@ public class AuthController {
     public ResponseEntity<?> refreshToken(
             @Parameter(description = "Refresh token to exchange for new access token", required = true)
             @Valid @RequestBody RefreshTokenRequest request){
-       return refreshTokenService.findByToken(request.getRefreshToken())
-               .map(refreshTokenService::verifyExpiration)  // Check if expired
-               .map(RefreshTokenEntity::getUser)           // Get the user
-               .map(user->{
-                   // Generate new access token (15 minutes)
-                   String newAccessToken = jwtService.generateToken(user.getId(), user.getEmail(), user.getRole());
-
-                   // TOKEN ROTATION: Create a brand NEW refresh token
-                   // This invalidates the old refresh token
-                   RefreshTokenEntity newRefreshToken = refreshTokenService.createRefreshToken(user.getEmail());
-
-                   return ResponseEntity.ok(new RefreshTokenResponse(newAccessToken, newRefreshToken.getToken()));
-               })
-               .orElseThrow(() -> new RefreshTokenException("Invalid refresh token. Please login again."));
+        return ResponseEntity.ok(authService.refresh(request));
     }
 
     @Operation(
             summary = "Logout",
-            description = "Invalidates the user's refresh token. The user will need to login again after logout. Access tokens remain valid until they expire (15 minutes)."
+            description = "With a refresh token in the body, ends only this device's session: that refresh token and the access token used for the call stop working. Without a body, every refresh and access token of the user is invalidated."
     )
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Logged out successfully"),
@@ -119,16 +109,31 @@ public class AuthController {
     @SecurityRequirement(name = "bearerAuth")
     @PostMapping("/logout")
     @ResponseStatus(HttpStatus.OK)
-    public ResponseEntity<?> logout() {
+    public ResponseEntity<?> logout(
+            @Parameter(description = "Refresh token of the session to end. Omit to end every session.")
+            @RequestBody(required = false) RefreshTokenRequest request) {
         // Get the currently authenticated user
-        Long userId = currentUserService.getCurrentUser().getId();
+        AuthenticatedUser user = currentUserService.getCurrentUser();
+        Long userId = user.getId();
 
-        // Delete their refresh token from the database
-        refreshTokenService.deleteByUserId(userId);
+        if (request != null && request.getRefreshToken() != null && !request.getRefreshToken().isBlank()) {
+            // Only this device's session
+            refreshTokenService.revoke(request.getRefreshToken(), userId);
+            if (user.getTokenId() != null) {
+                accessTokenRevocationService.revoke(user.getTokenId(), user.getTokenExpiresAt());
+            } else {
+                // Token predates token ids; the only way to stop it is to revoke them all
+                tokenVersionService.revokeAllTokens(userId);
+            }
+        } else {
+            // Every session of the user; bump the token version so all access tokens stop working immediately
+            refreshTokenService.deleteByUserId(userId);
+            tokenVersionService.revokeAllTokens(userId);
+        }
 
         return ResponseEntity.ok(Map.of(
                 "message", "Logged out successfully",
-                "note", "Your refresh token has been revoked. Access token will remain valid until expiration."
+                "note", "Your refresh token and access tokens have been revoked."
         ));
     }
 }
@@ -1,8 +1,18 @@
 package com.ishwor.journalapi.controller;
 
 
+import com.ishwor.journalapi.dto.BatchResponse;
+import com.ishwor.journalapi.dto.CursorPage;
+import com.ishwor.journalapi.dto.JournalBatchUpdateRequest;
+import com.ishwor.journalapi.dto.JournalImportResponse;
+import com.ishwor.journalapi.dto.JournalPatchRequest;
 import com.ishwor.journalapi.dto.JournalRequest;
 import com.ishwor.journalapi.dto.JournalResponse;
+import com.ishwor.journalapi.dto.JournalSearchResponse;
+import com.ishwor.journalapi.exception.BadRequestException;
+import com.ishwor.journalapi.mapper.JournalETags;
+import com.ishwor.journalapi.repository.JournalFields;
+import com.ishwor.journalapi.repository.JournalSort;
 import com.ishwor.journalapi.service.JournalService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -12,21 +22,42 @@ import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
-import org.springframework.data.domain.Page;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import org.springframework.http.CacheControl;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import org.springframework.data.web.PageableDefault;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.function.Supplier;
+
 @RestController
 @RequestMapping("/journal")
 @Tag(name = "Journal Management", description = "APIs for managing personal journal entries. Regular users can only access their own journals, while admins can access all journals.")
 @SecurityRequirement(name = "bearerAuth")
 public class JournalController {
 
+    // Clients may keep a copy but must revalidate it; shared caches must not store it
+    private static final CacheControl REVALIDATE = CacheControl.noCache().cachePrivate();
+
+    private static final MediaType TEXT_CSV = MediaType.parseMediaType("text/csv");
+
     private final JournalService journalService;
 
     public JournalController(JournalService journalService){
@@ -35,17 +66,128 @@ public class JournalController {
 
     @Operation(
             summary = "Get all journals",
-            description = "Retrieves a paginated list of journals. Regular users see only their own journals, admins see all journals. Results are sorted by creation date (newest first) by default."
+            description = "Retrieves a paginated list of journals. Regular users see only their own journals, admins see all journals. Results are sorted by creation date (newest first) by default. "
+                    + "The count parameter controls how totalElements is produced: exact (a count query), approximate (per-user counter, or table statistics for admins) or none (no total, only hasNext). "
+                    + "With view=summary each item carries an excerpt of the content instead of the full text; use GET /journal/{id} for the full entry. "
+                    + "The fields parameter limits each item to the listed attributes, and only those columns are read from the database."
     )
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Successfully retrieved journals"),
+            @ApiResponse(responseCode = "304", description = "Listing unchanged since the ETag in If-None-Match", content = @Content),
+            @ApiResponse(responseCode = "400", description = "Unknown count mode, view or field, or unsupported sort", content = @Content),
             @ApiResponse(responseCode = "401", description = "Unauthorized - Invalid or missing JWT token", content = @Content)
     })
     @GetMapping
-    public Page<JournalResponse> getAll(
-            @Parameter(description = "Pagination and sorting parameters. Default: page 0, size 10, sorted by createdAt DESC")
-            @PageableDefault(size = 10, sort = "createdAt", direction = Sort.Direction.DESC) Pageable pageable){
-        return journalService.getAll(pageable);
+    public ResponseEntity<?> getAll(
+            @Parameter(description = "Pagination and sorting parameters. Default: page 0, size 10, sorted by createdAt DESC. Sortable fields: createdAt, updatedAt, title (one at a time)")
+            @PageableDefault(size = 10, sort = "createdAt", direction = Sort.Direction.DESC) Pageable pageable,
+            @Parameter(description = "How to compute the total: exact, approximate or none", example = "exact")
+            @RequestParam(defaultValue = "exact") String count,
+            @Parameter(description = "Item shape: full (with content) or summary (with an excerpt)", example = "full")
+            @RequestParam(defaultValue = "full") String view,
+            @Parameter(description = "Comma-separated attributes to return: id, title, content, createdAt, updatedAt", example = "id,title,updatedAt")
+            @RequestParam(required = false) String fields,
+            @Parameter(description = "ETag of a previous response; 304 if the listing has not changed since")
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch,
+            HttpServletRequest request){
+        pageable = JournalSort.whitelist(pageable);
+        Supplier<Object> listing = listing(pageable, count, view, fields);
+        String eTag = listingETag(request);
+        if (notModified(ifNoneMatch, eTag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(eTag).cacheControl(REVALIDATE).build();
+        }
+        return ResponseEntity.ok().eTag(eTag).cacheControl(REVALIDATE).body(listing.get());
+    }
+
+    // Validates the parameters up front; the returned supplier runs the query
+    private Supplier<Object> listing(Pageable pageable, String count, String view, String fields) {
+        boolean summary = switch (view) {
+            case "full" -> false;
+            case "summary" -> true;
+            default -> throw new BadRequestException("view must be one of full, summary");
+        };
+        if (fields != null) {
+            if (summary) {
+                throw new BadRequestException("fields cannot be combined with view=summary");
+            }
+            List<String> selected = JournalFields.parse(fields);
+            return switch (count) {
+                case "exact" -> () -> journalService.getFields(pageable, selected);
+                case "approximate" -> () -> journalService.getFieldsWithApproximateCount(pageable, selected);
+                case "none" -> () -> journalService.getFieldsWithoutCount(pageable, selected);
+                default -> throw new BadRequestException("count must be one of exact, approximate, none");
+            };
+        }
+        return switch (count) {
+            case "exact" -> summary
+                    ? () -> journalService.getSummaries(pageable)
+                    : () -> journalService.getAll(pageable);
+            case "approximate" -> summary
+                    ? () -> journalService.getSummariesWithApproximateCount(pageable)
+                    : () -> journalService.getAllWithApproximateCount(pageable);
+            case "none" -> summary
+                    ? () -> journalService.getSummariesWithoutCount(pageable)
+                    : () -> journalService.getAllWithoutCount(pageable);
+            default -> throw new BadRequestException("count must be one of exact, approximate, none");
+        };
+    }
+
+    // Listing tags only exist for regular users; see JournalService#getListingVersion
+    private String listingETag(HttpServletRequest request) {
+        return journalService.getListingVersion()
+                .map(version -> JournalETags.ofListing(version, request.getQueryString()))
+                .orElse(null);
+    }
+
+    private static boolean notModified(String ifNoneMatch, String eTag) {
+        return ifNoneMatch != null && eTag != null && JournalETags.matches(ifNoneMatch, eTag, false);
+    }
+
+    @Operation(
+            summary = "Get all journals (cursor mode)",
+            description = "Keyset-paginated alternative to page numbers, selected by the presence of the cursor parameter. Results are ordered newest first. Pass an empty cursor for the first page and the returned nextCursor for each following page. Every page costs the same regardless of depth, and no total count is computed."
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Successfully retrieved journals"),
+            @ApiResponse(responseCode = "304", description = "Listing unchanged since the ETag in If-None-Match", content = @Content),
+            @ApiResponse(responseCode = "400", description = "Invalid cursor or size", content = @Content),
+            @ApiResponse(responseCode = "401", description = "Unauthorized - Invalid or missing JWT token", content = @Content)
+    })
+    @GetMapping(params = "cursor")
+    public ResponseEntity<CursorPage<JournalResponse>> getAllByCursor(
+            @Parameter(description = "Opaque cursor from the previous page's nextCursor; empty for the first page")
+            @RequestParam String cursor,
+            @Parameter(description = "Page size, 1-100", example = "10")
+            @RequestParam(defaultValue = "10") @Min(1) @Max(100) int size,
+            @Parameter(description = "ETag of a previous response; 304 if the listing has not changed since")
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch,
+            HttpServletRequest request){
+        String eTag = listingETag(request);
+        if (notModified(ifNoneMatch, eTag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(eTag).cacheControl(REVALIDATE).build();
+        }
+        return ResponseEntity.ok().eTag(eTag).cacheControl(REVALIDATE).body(journalService.getAllByCursor(cursor, size));
+    }
+
+    @Operation(
+            summary = "Search your journals",
+            description = "Full-text search over the title and content of the caller's own journals (admins included), best match first. "
+                    + "q uses web search syntax: words, \"quoted phrases\", or, and -excluded. Pages are keyset-paginated through nextCursor."
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Matching journals with highlighted snippets"),
+            @ApiResponse(responseCode = "400", description = "Missing q, invalid cursor or page size", content = @Content),
+            @ApiResponse(responseCode = "401", description = "Unauthorized - Invalid or missing JWT token", content = @Content)
+    })
+    @GetMapping("/search")
+    public CursorPage<JournalSearchResponse> search(
+            @Parameter(description = "Search terms", required = true, example = "great day")
+            @RequestParam(defaultValue = "") String q,
+            @Parameter(description = "Opaque cursor from the previous page's nextCursor; omit for the first page")
+            @RequestParam(required = false) String cursor,
+            @Parameter(description = "Page size, 1-100", example = "10")
+            @RequestParam(defaultValue = "10") @Min(1) @Max(100) int size){
+        return journalService.search(q, cursor, size);
     }
 
     @Operation(
@@ -71,14 +213,25 @@ public class JournalController {
     )
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Journal found and returned"),
+            @ApiResponse(responseCode = "304", description = "Journal unchanged since the ETag in If-None-Match", content = @Content),
             @ApiResponse(responseCode = "401", description = "Unauthorized - Invalid or missing JWT token", content = @Content),
             @ApiResponse(responseCode = "404", description = "Journal not found or access denied", content = @Content)
     })
     @GetMapping("/{id}")
-    public JournalResponse getById(
+    public ResponseEntity<JournalResponse> getById(
             @Parameter(description = "Journal ID", required = true, example = "1")
-            @PathVariable Long id){
-        return journalService.getById(id);
+            @PathVariable Long id,
+            @Parameter(description = "ETag of a previous response; 304 if the journal has not changed since")
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch){
+        if (ifNoneMatch != null) {
+            // Answered from the version alone; the content is only loaded when it has to be sent
+            String eTag = JournalETags.of(journalService.getVersion(id));
+            if (notModified(ifNoneMatch, eTag)) {
+                return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(eTag).cacheControl(REVALIDATE).build();
+            }
+        }
+        JournalResponse journal = journalService.getById(id);
+        return ResponseEntity.ok().eTag(JournalETags.of(journal)).cacheControl(REVALIDATE).body(journal);
     }
 
     @Operation(
@@ -89,15 +242,45 @@ public class JournalController {
             @ApiResponse(responseCode = "200", description = "Journal updated successfully"),
             @ApiResponse(responseCode = "400", description = "Invalid input - validation failed", content = @Content),
             @ApiResponse(responseCode = "401", description = "Unauthorized - Invalid or missing JWT token", content = @Content),
-            @ApiResponse(responseCode = "404", description = "Journal not found or access denied", content = @Content)
+            @ApiResponse(responseCode = "404", description = "Journal not found or access denied", content = @Content),
+            @ApiResponse(responseCode = "412", description = "If-Match did not match the journal's current ETag", content = @Content)
     })
     @PutMapping("/{id}")
-    public JournalResponse updateJournal(
+    public ResponseEntity<JournalResponse> updateJournal(
             @Parameter(description = "Journal ID to update", required = true, example = "1")
             @PathVariable Long id,
+            @Parameter(description = "ETag the client last saw; the update is refused with 412 if the journal has changed since")
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
             @Parameter(description = "Updated journal data", required = true)
             @Valid @RequestBody JournalRequest request){
-        return journalService.update(id,request);
+        JournalResponse journal = ifMatch == null
+                ? journalService.update(id, request)
+                : journalService.update(id, request, ifMatch);
+        return ResponseEntity.ok().eTag(JournalETags.of(journal)).body(journal);
+    }
+
+    @Operation(
+            summary = "Patch a journal",
+            description = "Applies a JSON Merge Patch (RFC 7396). Only the members present in the body are changed, so a title edit does not resend or rewrite the content. "
+                    + "With If-Match the patch only applies if the journal is still at that ETag."
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Journal patched successfully"),
+            @ApiResponse(responseCode = "400", description = "Invalid patch - validation failed", content = @Content),
+            @ApiResponse(responseCode = "401", description = "Unauthorized - Invalid or missing JWT token", content = @Content),
+            @ApiResponse(responseCode = "404", description = "Journal not found or access denied", content = @Content),
+            @ApiResponse(responseCode = "412", description = "If-Match did not match the journal's current ETag", content = @Content)
+    })
+    @PatchMapping(value = "/{id}", consumes = {"application/merge-patch+json", MediaType.APPLICATION_JSON_VALUE})
+    public ResponseEntity<JournalResponse> patchJournal(
+            @Parameter(description = "Journal ID to patch", required = true, example = "1")
+            @PathVariable Long id,
+            @Parameter(description = "ETag the client last saw; the patch is refused with 412 if the journal has changed since")
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+            @Parameter(description = "Members to change", required = true)
+            @Valid @RequestBody JournalPatchRequest patch){
+        JournalResponse journal = journalService.patch(id, patch, ifMatch);
+        return ResponseEntity.ok().eTag(JournalETags.of(journal)).body(journal);
     }
 
     @Operation(
@@ -117,6 +300,118 @@ public class JournalController {
         journalService.delete(id);
     }
 
+    @Operation(
+            summary = "Export your journals",
+            description = "Streams all of the caller's journals, newest first, straight from a database cursor. "
+                    + "format=ndjson (default) writes one JSON journal per line; format=zip writes a ZIP with one Markdown file per journal."
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Export streamed", content = {
+                    @Content(mediaType = "application/x-ndjson"),
+                    @Content(mediaType = "application/zip")
+            }),
+            @ApiResponse(responseCode = "400", description = "Unknown format", content = @Content),
+            @ApiResponse(responseCode = "401", description = "Unauthorized - Invalid or missing JWT token", content = @Content)
+    })
+    @GetMapping("/export")
+    public void exportJournals(
+            @Parameter(description = "ndjson or zip", example = "ndjson")
+            @RequestParam(defaultValue = "ndjson") String format,
+            HttpServletResponse response) throws IOException {
+        // Headers go out before the first row; after that an error can only abort the stream
+        switch (format) {
+            case "ndjson" -> {
+                startDownload(response, "application/x-ndjson", "journals.ndjson");
+                journalService.exportNdjson(response.getOutputStream());
+            }
+            case "zip" -> {
+                startDownload(response, "application/zip", "journals.zip");
+                journalService.exportMarkdownZip(response.getOutputStream());
+            }
+            default -> throw new BadRequestException("format must be ndjson or zip");
+        }
+    }
+
+    private static void startDownload(HttpServletResponse response, String contentType, String fileName) {
+        response.setContentType(contentType);
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION,
+                ContentDisposition.attachment().filename(fileName).build().toString());
+        response.setHeader(HttpHeaders.CACHE_CONTROL, CacheControl.noStore().getHeaderValue());
+    }
+
+    @Operation(
+            summary = "Import journals",
+            description = "Reads an NDJSON or CSV body as a stream, validates each line and loads valid lines with PostgreSQL COPY, "
+                    + "journal.import-chunk-size rows at a time. Each chunk commits on its own. "
+                    + "NDJSON lines and CSV columns are title, content and optionally createdAt; a CSV body starts with a header row."
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Import finished; counts, per-chunk progress and rejected lines"),
+            @ApiResponse(responseCode = "400", description = "CSV header lacks a title or content column", content = @Content),
+            @ApiResponse(responseCode = "401", description = "Unauthorized - Invalid or missing JWT token", content = @Content),
+            @ApiResponse(responseCode = "415", description = "Body is neither application/x-ndjson nor text/csv", content = @Content)
+    })
+    @PostMapping(value = "/import", consumes = {"application/x-ndjson", "text/csv"})
+    public JournalImportResponse importJournals(HttpServletRequest request) throws IOException {
+        MediaType contentType = MediaType.parseMediaType(request.getContentType());
+        Charset charset = contentType.getCharset() != null ? contentType.getCharset() : StandardCharsets.UTF_8;
+        // Read straight from the request stream; the body is never held in memory as a whole
+        Reader body = new InputStreamReader(request.getInputStream(), charset);
+        return contentType.isCompatibleWith(TEXT_CSV)
+                ? journalService.importCsv(body)
+                : journalService.importNdjson(body);
+    }
+
+    @Operation(
+            summary = "Create journals in bulk",
+            description = "Creates up to journal.batch-max-items journals in one transaction. Each item is validated on its own; "
+                    + "valid items are inserted with batched INSERTs and invalid ones are reported with status 400."
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Per-item results, in request order"),
+            @ApiResponse(responseCode = "400", description = "Empty batch or too many items", content = @Content),
+            @ApiResponse(responseCode = "401", description = "Unauthorized - Invalid or missing JWT token", content = @Content)
+    })
+    @PostMapping("/batch")
+    public BatchResponse createJournals(
+            @Parameter(description = "Journals to create", required = true)
+            @RequestBody List<JournalRequest> requests){
+        return journalService.createBatch(requests);
+    }
+
+    @Operation(
+            summary = "Update journals in bulk",
+            description = "Replaces title and content of many journals with one batched UPDATE. An item with a version only applies if the journal is still at that version. "
+                    + "Items report 200, 400 (invalid), 404 (not found or access denied) or 412 (version changed)."
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Per-item results, in request order"),
+            @ApiResponse(responseCode = "400", description = "Empty batch or too many items", content = @Content),
+            @ApiResponse(responseCode = "401", description = "Unauthorized - Invalid or missing JWT token", content = @Content)
+    })
+    @PutMapping("/batch")
+    public BatchResponse updateJournals(
+            @Parameter(description = "Journals to update", required = true)
+            @RequestBody List<JournalBatchUpdateRequest> requests){
+        return journalService.updateBatch(requests);
+    }
+
+    @Operation(
+            summary = "Delete journals in bulk",
+            description = "Deletes the journals with the given IDs in a single statement. Items report 204, or 404 if the journal does not exist or is not yours."
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Per-item results, in request order"),
+            @ApiResponse(responseCode = "400", description = "Empty batch or too many items", content = @Content),
+            @ApiResponse(responseCode = "401", description = "Unauthorized - Invalid or missing JWT token", content = @Content)
+    })
+    @PostMapping("/batch/delete")
+    public BatchResponse deleteJournals(
+            @Parameter(description = "IDs of the journals to delete", required = true)
+            @RequestBody List<Long> ids){
+        return journalService.deleteBatch(ids);
+    }
+
 
 
 
@@ -0,0 +1,31 @@
+package com.ishwor.journalapi.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+@Schema(description = "Outcome of one item of a batch request")
+public class BatchItemResult {
+
+    @Schema(description = "Position of the item in the request", example = "0")
+    private final int index;
+
+    @Schema(description = "ID of the journal the item refers to, if known", example = "1")
+    private final Long id;
+
+    @Schema(description = "HTTP status the item would have had as a single request", example = "201")
+    private final int status;
+
+    @Schema(description = "Why the item failed; null on success", example = "Journal not found with id:1")
+    private final String message;
+
+    public static BatchItemResult success(int index, Long id, int status) {
+        return new BatchItemResult(index, id, status, null);
+    }
+
+    public static BatchItemResult failure(int index, Long id, int status, String message) {
+        return new BatchItemResult(index, id, status, message);
+    }
+}
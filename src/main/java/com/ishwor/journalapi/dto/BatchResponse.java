@@ -0,0 +1,26 @@
+package com.ishwor.journalapi.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Getter;
+
+import java.util.List;
+
+@Getter
+@Schema(description = "Per-item results of a batch request, in request order")
+public class BatchResponse {
+
+    @Schema(description = "One result per item")
+    private final List<BatchItemResult> results;
+
+    @Schema(description = "Number of items that succeeded", example = "498")
+    private final int succeeded;
+
+    @Schema(description = "Number of items that failed", example = "2")
+    private final int failed;
+
+    public BatchResponse(List<BatchItemResult> results) {
+        this.results = results;
+        this.succeeded = (int) results.stream().filter(result -> result.getStatus() < 300).count();
+        this.failed = results.size() - succeeded;
+    }
+}
@@ -0,0 +1,26 @@
+package com.ishwor.journalapi.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.List;
+
+@Getter
+@AllArgsConstructor
+@Schema(description = "One page of results in cursor mode. No total count is computed.")
+public class CursorPage<T> {
+
+    @Schema(description = "Items on this page")
+    private final List<T> content;
+
+    @Schema(description = "Number of items requested per page", example = "10")
+    private final int size;
+
+    @Schema(description = "Opaque cursor for the next page; pass it back as ?cursor=. Null on the last page.",
+            example = "MjAyNi0wMi0wNVQxMDozMDowMC4xMjM0NTZ8NDI")
+    private final String nextCursor;
+
+    @Schema(description = "Whether another page follows", example = "true")
+    private final boolean hasNext;
+}
@@ -0,0 +1,20 @@
+package com.ishwor.journalapi.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+@Schema(description = "One chunk of an import, committed by a single COPY")
+public class ImportChunkResult {
+
+    @Schema(description = "One-based chunk number", example = "1")
+    private final int chunk;
+
+    @Schema(description = "Journals written by this chunk", example = "1000")
+    private final long imported;
+
+    @Schema(description = "Last input line read into this chunk", example = "1003")
+    private final long lastLine;
+}
@@ -0,0 +1,17 @@
+package com.ishwor.journalapi.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+@Schema(description = "An input line that was not imported")
+public class ImportRejection {
+
+    @Schema(description = "One-based line number in the input (for CSV, where the record starts)", example = "17")
+    private final long line;
+
+    @Schema(description = "Why the line was rejected", example = "title is required.")
+    private final String message;
+}
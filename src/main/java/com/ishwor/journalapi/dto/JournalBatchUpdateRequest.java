@@ -0,0 +1,21 @@
+package com.ishwor.journalapi.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotNull;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.NoArgsConstructor;
+
+@Data
+@EqualsAndHashCode(callSuper = true)
+@NoArgsConstructor
+@Schema(description = "One item of a batch update: the journal to replace and its new title and content")
+public class JournalBatchUpdateRequest extends JournalRequest {
+
+    @Schema(description = "ID of the journal to update", example = "1", requiredMode = Schema.RequiredMode.REQUIRED)
+    @NotNull(message = "id is required")
+    private Long id;
+
+    @Schema(description = "Only update if the journal is still at this version (its ETag); omit to overwrite unconditionally", example = "3")
+    private Long version;
+}
@@ -0,0 +1,20 @@
+package com.ishwor.journalapi.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.PastOrPresent;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@EqualsAndHashCode(callSuper = true)
+@NoArgsConstructor
+@Schema(description = "One line of an import: a journal and, optionally, when it was originally written")
+public class JournalImportRequest extends JournalRequest {
+
+    @Schema(description = "Original creation time (ISO-8601); defaults to the time of the import", example = "2023-04-01T09:30:00")
+    @PastOrPresent(message = "createdAt must not be in the future")
+    private LocalDateTime createdAt;
+}
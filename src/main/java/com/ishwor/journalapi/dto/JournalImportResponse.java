@@ -0,0 +1,25 @@
+package com.ishwor.journalapi.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.List;
+
+@Getter
+@AllArgsConstructor
+@Schema(description = "Outcome of an import")
+public class JournalImportResponse {
+
+    @Schema(description = "Journals written", example = "99998")
+    private final long imported;
+
+    @Schema(description = "Lines rejected", example = "2")
+    private final long rejected;
+
+    @Schema(description = "Progress, one entry per committed chunk")
+    private final List<ImportChunkResult> chunks;
+
+    @Schema(description = "The first rejected lines and why; at most 100 are listed")
+    private final List<ImportRejection> rejections;
+}
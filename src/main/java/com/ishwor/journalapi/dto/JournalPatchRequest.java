@@ -0,0 +1,61 @@
+package com.ishwor.journalapi.dto;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.AssertTrue;
+import jakarta.validation.constraints.Size;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+/**
+ * JSON Merge Patch (RFC 7396) for a journal. Members left out of the document keep their
+ * value. Both fields are required on the entity, so setting one to null (removing it) is rejected.
+ */
+@Getter
+@NoArgsConstructor
+@Schema(description = "Merge patch for a journal entry; only the members present are changed")
+public class JournalPatchRequest {
+
+    @Schema(description = "New title of the journal entry", example = "My Amazing Day")
+    @Size(min = 1, max = 200, message = "title must be 1 to 200 chars")
+    private String title;
+
+    @Schema(description = "New content of the journal entry", example = "Today was a great day because...")
+    @Size(max = 5000, message = "content must be <=5000 chars")
+    private String content;
+
+    // Jackson only calls a setter for members that are in the document, null or not
+    @JsonIgnore
+    private boolean titlePresent;
+
+    @JsonIgnore
+    private boolean contentPresent;
+
+    public void setTitle(String title) {
+        this.title = title;
+        this.titlePresent = true;
+    }
+
+    public void setContent(String content) {
+        this.content = content;
+        this.contentPresent = true;
+    }
+
+    @JsonIgnore
+    @AssertTrue(message = "title cannot be removed or blank")
+    public boolean isTitleValid() {
+        return !titlePresent || (title != null && !title.isBlank());
+    }
+
+    @JsonIgnore
+    @AssertTrue(message = "content cannot be removed or blank")
+    public boolean isContentValid() {
+        return !contentPresent || (content != null && !content.isBlank());
+    }
+
+    @JsonIgnore
+    @AssertTrue(message = "patch must set title or content")
+    public boolean isChanging() {
+        return titlePresent || contentPresent;
+    }
+}
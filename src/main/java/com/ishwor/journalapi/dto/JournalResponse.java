@@ -1,5 +1,6 @@
 package com.ishwor.journalapi.dto;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import io.swagger.v3.oas.annotations.media.Schema;
 import lombok.Data;
 import lombok.NoArgsConstructor;
@@ -24,4 +25,8 @@ public class JournalResponse {
 
     @Schema(description = "Timestamp when the journal was last updated", example = "2026-02-05T15:45:00")
     private LocalDateTime updatedAt;
+
+    // Sent as the ETag header rather than in the body
+    @JsonIgnore
+    private Long version;
 }
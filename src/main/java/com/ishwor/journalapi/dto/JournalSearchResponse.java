@@ -0,0 +1,31 @@
+package com.ishwor.journalapi.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@Schema(description = "A journal matching a search, with the matching passages highlighted")
+public class JournalSearchResponse {
+    @Schema(description = "Unique identifier of the journal entry", example = "1")
+    private Long id;
+
+    @Schema(description = "Title of the journal entry", example = "My Amazing Day")
+    private String title;
+
+    @Schema(description = "Passages of the content around the matches, with matched words wrapped in <mark></mark>. The content itself is not HTML-escaped.",
+            example = "Today was a great <mark>day</mark> because...")
+    private String snippet;
+
+    @Schema(description = "Relevance; higher is better. Only meaningful relative to other hits of the same search", example = "0.3")
+    private float rank;
+
+    @Schema(description = "Timestamp when the journal was created", example = "2026-02-05T10:30:00")
+    private LocalDateTime createdAt;
+
+    @Schema(description = "Timestamp when the journal was last updated", example = "2026-02-05T15:45:00")
+    private LocalDateTime updatedAt;
+}
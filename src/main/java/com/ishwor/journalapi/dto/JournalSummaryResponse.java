@@ -0,0 +1,27 @@
+package com.ishwor.journalapi.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@Schema(description = "Journal entry as shown in listings, with an excerpt instead of the full content")
+public class JournalSummaryResponse {
+    @Schema(description = "Unique identifier of the journal entry", example = "1")
+    private Long id;
+
+    @Schema(description = "Title of the journal entry", example = "My Amazing Day")
+    private String title;
+
+    @Schema(description = "Beginning of the content, at most journal.excerpt-length characters", example = "Today was a great day because...")
+    private String excerpt;
+
+    @Schema(description = "Timestamp when the journal was created", example = "2026-02-05T10:30:00")
+    private LocalDateTime createdAt;
+
+    @Schema(description = "Timestamp when the journal was last updated", example = "2026-02-05T15:45:00")
+    private LocalDateTime updatedAt;
+}
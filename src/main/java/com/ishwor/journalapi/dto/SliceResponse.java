@@ -0,0 +1,25 @@
+package com.ishwor.journalapi.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.List;
+
+@Getter
+@AllArgsConstructor
+@Schema(description = "One page of results without a total count")
+public class SliceResponse<T> {
+
+    @Schema(description = "Items on this page")
+    private final List<T> content;
+
+    @Schema(description = "Zero-based page number", example = "0")
+    private final int page;
+
+    @Schema(description = "Number of items requested per page", example = "10")
+    private final int size;
+
+    @Schema(description = "Whether another page follows", example = "true")
+    private final boolean hasNext;
+}
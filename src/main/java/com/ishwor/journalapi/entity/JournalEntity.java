@@ -16,8 +16,14 @@ import java.time.LocalDateTime;
 @Table(name="journals")
 public class JournalEntity {
 
+    // Ids handed out per nextval; COPY imports allocate blocks of the same size
+    public static final int ID_ALLOCATION_SIZE = 50;
+
+    // Pooled sequence: one nextval hands out 50 ids, so Hibernate knows ids before the
+    // INSERT and can batch them (IDENTITY forces one round trip per row)
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "journals_id_seq")
+    @SequenceGenerator(name = "journals_id_seq", sequenceName = "journals_id_seq", allocationSize = ID_ALLOCATION_SIZE)
     private long id;
 
     @Column(nullable = false)
@@ -37,4 +43,9 @@ public class JournalEntity {
     @UpdateTimestamp
     @Column(nullable = false)
     private LocalDateTime updatedAt;
+
+    // Bumped by every write; also the journal's ETag
+    @Version
+    @Column(nullable = false)
+    private long version;
 }
@@ -8,6 +8,11 @@ import lombok.Setter;
 
 import java.time.Instant;
 
+/**
+ * One row per login session (device). Rotation replaces the token in place, so the row
+ * always holds the current token of its family; the tokens it replaced are kept in
+ * {@link UsedRefreshTokenEntity} so a replayed one can be recognised.
+ */
 @Getter
 @Setter
 @NoArgsConstructor
@@ -19,11 +24,15 @@ public class RefreshTokenEntity {
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
 
-    @Column(nullable = false,unique = true)
-    private String token;
+    // SHA-256 (hex) of the token handed to the client; the token itself is never stored
+    @Column(nullable = false,unique = true,length = 64)
+    private String tokenHash;
 
-    @OneToOne
-    @JoinColumn(name="user_id",referencedColumnName = "id")
+    @Column(nullable = false,length = 36)
+    private String familyId;
+
+    @ManyToOne(fetch = FetchType.LAZY,optional = false)
+    @JoinColumn(name="user_id",nullable = false)
     private UserEntity user;
 
     @Column(nullable = false)
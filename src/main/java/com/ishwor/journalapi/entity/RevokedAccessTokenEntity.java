@@ -0,0 +1,31 @@
+package com.ishwor.journalapi.entity;
+
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.Instant;
+
+/**
+ * An access token revoked before its expiry, identified by its jti. Rows are useless once
+ * the token has expired and are deleted from then on.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@Entity
+@Table(name = "revoked_access_tokens")
+public class RevokedAccessTokenEntity {
+
+    @Id
+    @Column(length = 32)
+    private String jti;
+
+    @Column(nullable = false)
+    private Instant expiresAt;
+
+    @Column(nullable = false)
+    private Instant revokedAt;
+}
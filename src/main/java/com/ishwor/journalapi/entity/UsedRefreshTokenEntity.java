@@ -0,0 +1,32 @@
+package com.ishwor.journalapi.entity;
+
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.Instant;
+
+/**
+ * A refresh token that has been rotated away, kept with its family so that presenting it
+ * again ends every session of that family. Rows are deleted once the token that replaced
+ * it would have expired.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@Entity
+@Table(name = "used_refresh_tokens")
+public class UsedRefreshTokenEntity {
+
+    @Id
+    @Column(length = 64)
+    private String tokenHash;
+
+    @Column(nullable = false, length = 36)
+    private String familyId;
+
+    @Column(nullable = false)
+    private Instant expiresAt;
+}
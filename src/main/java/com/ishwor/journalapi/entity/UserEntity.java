@@ -25,4 +25,12 @@ public class UserEntity {
     @Enumerated(EnumType.STRING)
     @Column(nullable = false)
     private Role role = Role.USER;
+
+    // Bumped whenever all outstanding access tokens for this user must stop working
+    @Column(nullable = false)
+    private int tokenVersion;
+
+    // Maintained by triggers on journals; never written from here
+    @Column(nullable = false, insertable = false, updatable = false)
+    private long journalCount;
 }
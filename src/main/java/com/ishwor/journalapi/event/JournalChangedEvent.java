@@ -0,0 +1,48 @@
+package com.ishwor.journalapi.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.List;
+
+/**
+ * Published by the journal service after journals are written or deleted, so that views
+ * derived from the table (the search index, the journal cache) can follow along. Listen with
+ * {@code @TransactionalEventListener(fallbackExecution = true)} to only see committed changes.
+ */
+@Getter
+public class JournalChangedEvent {
+
+    public enum Type { SAVED, DELETED }
+
+    private final Type type;
+    // Owner of every journal in the event; null when the writer did not look it up (admin edits)
+    private final Long ownerId;
+    // The journals as written; empty for DELETED
+    private final List<Journal> journals;
+    private final List<Long> ids;
+
+    private JournalChangedEvent(Type type, Long ownerId, List<Journal> journals, List<Long> ids) {
+        this.type = type;
+        this.ownerId = ownerId;
+        this.journals = journals;
+        this.ids = ids;
+    }
+
+    public static JournalChangedEvent saved(Long ownerId, List<Journal> journals) {
+        return new JournalChangedEvent(Type.SAVED, ownerId, List.copyOf(journals),
+                journals.stream().map(Journal::getId).toList());
+    }
+
+    public static JournalChangedEvent deleted(Long ownerId, List<Long> ids) {
+        return new JournalChangedEvent(Type.DELETED, ownerId, List.of(), List.copyOf(ids));
+    }
+
+    @Getter
+    @AllArgsConstructor
+    public static class Journal {
+        private final Long id;
+        private final String title;
+        private final String content;
+    }
+}
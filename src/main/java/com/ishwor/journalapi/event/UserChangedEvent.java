@@ -0,0 +1,15 @@
+package com.ishwor.journalapi.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Published after something cached about a user changes, such as their token version
+ * being bumped by a logout. Listen with
+ * {@code @TransactionalEventListener(fallbackExecution = true)} to only see committed changes.
+ */
+@Getter
+@AllArgsConstructor
+public class UserChangedEvent {
+    private final Long userId;
+}
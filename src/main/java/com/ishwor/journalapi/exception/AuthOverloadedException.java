@@ -0,0 +1,14 @@
+package com.ishwor.journalapi.exception;
+
+public class AuthOverloadedException extends RuntimeException {
+    private final int retryAfterSeconds;
+
+    public AuthOverloadedException(int retryAfterSeconds) {
+        super("Too many authentication requests. Please retry later.");
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    public int getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+}
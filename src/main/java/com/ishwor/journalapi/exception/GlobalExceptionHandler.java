@@ -3,7 +3,9 @@ package com.ishwor.journalapi.exception;
 
 import jakarta.validation.ConstraintViolation;
 import jakarta.validation.ConstraintViolationException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.security.authentication.BadCredentialsException;
 import org.springframework.validation.FieldError;
 import org.springframework.web.bind.MethodArgumentNotValidException;
@@ -27,6 +29,16 @@ public class GlobalExceptionHandler {
         );
     }
 
+    @ExceptionHandler(PreconditionFailedException.class)
+    @ResponseStatus(HttpStatus.PRECONDITION_FAILED)
+    public Map<String,Object> handlePreconditionFailed(PreconditionFailedException e){
+        return Map.of(
+                "status", 412,
+                "error" ,"Precondition failed",
+                "message", e.getMessage()
+        );
+    }
+
     @ExceptionHandler(MethodArgumentNotValidException.class)
     @ResponseStatus(HttpStatus.BAD_REQUEST)
     public Map<String, Object> handleValidationExceptions(MethodArgumentNotValidException ex) {
@@ -61,6 +73,16 @@ public class GlobalExceptionHandler {
         );
     }
 
+    @ExceptionHandler({InvalidCursorException.class, BadRequestException.class})
+    @ResponseStatus(HttpStatus.BAD_REQUEST)
+    public Map<String, Object> handleBadRequest(RuntimeException ex) {
+        return Map.of(
+                "status", 400,
+                "error", "Bad request",
+                "message", ex.getMessage()
+        );
+    }
+
     @ExceptionHandler(RefreshTokenException.class)
     @ResponseStatus(HttpStatus.UNAUTHORIZED)
     public Map<String, Object> handleRefreshTokenException(RefreshTokenException ex) {
@@ -91,4 +113,15 @@ public class GlobalExceptionHandler {
         );
     }
 
+    @ExceptionHandler(AuthOverloadedException.class)
+    public ResponseEntity<Map<String, Object>> handleAuthOverloaded(AuthOverloadedException ex) {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(ex.getRetryAfterSeconds()))
+                .body(Map.of(
+                        "status", 503,
+                        "error", "Service unavailable",
+                        "message", ex.getMessage()
+                ));
+    }
+
 }
@@ -0,0 +1,7 @@
+package com.ishwor.journalapi.exception;
+
+public class InvalidCursorException extends RuntimeException{
+    public InvalidCursorException(){
+        super("Invalid pagination cursor");
+    }
+}
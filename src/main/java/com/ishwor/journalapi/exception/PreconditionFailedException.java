@@ -0,0 +1,7 @@
+package com.ishwor.journalapi.exception;
+
+public class PreconditionFailedException extends RuntimeException{
+    public PreconditionFailedException(Long id){
+        super("Journal with id:" + id + " has changed since it was read");
+    }
+}
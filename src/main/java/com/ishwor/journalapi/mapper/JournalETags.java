@@ -0,0 +1,90 @@
+package com.ishwor.journalapi.mapper;
+
+import com.ishwor.journalapi.dto.JournalResponse;
+import com.ishwor.journalapi.repository.JournalListingVersion;
+import org.springframework.http.ETag;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.List;
+
+/**
+ * ETags for journal representations. A journal's tag is strong and is its version, so it
+ * can be recomputed without loading the content. Listing tags are weak and hash the owner's
+ * listing version together with the query string.
+ */
+public final class JournalETags {
+
+    private static final Base64.Encoder B64 = Base64.getUrlEncoder().withoutPadding();
+
+    private JournalETags() {
+    }
+
+    public static String of(long version) {
+        return "\"" + version + "\"";
+    }
+
+    public static String of(JournalResponse journal) {
+        return journal.getVersion() == null ? null : of(journal.getVersion());
+    }
+
+    public static String ofListing(JournalListingVersion version, String queryString) {
+        String key = version.getOwnerId() + "|" + version.getJournalCount() + "|"
+                + (version.getLastUpdatedAt() == null ? 0 : micros(version.getLastUpdatedAt())) + "|"
+                + (queryString == null ? "" : queryString);
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(key.getBytes(StandardCharsets.UTF_8));
+            return "W/\"" + B64.encodeToString(Arrays.copyOf(digest, 16)) + "\"";
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    /**
+     * Checks an If-Match or If-None-Match header value against a tag. If-Match needs the
+     * strong comparison, If-None-Match the weak one; {@code *} matches anything.
+     */
+    public static boolean matches(String header, String eTag, boolean strong) {
+        ETag current = ETag.create(eTag);
+        for (ETag candidate : ETag.parse(header)) {
+            if (candidate.isWildcard() || candidate.compare(current, strong)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * The versions an If-Match header accepts, for use in a conditional update. Weak and
+     * foreign tags never match.
+     *
+     * @return the versions, or {@code null} for {@code *} (any version)
+     */
+    public static List<Long> versions(String ifMatch) {
+        List<Long> versions = new ArrayList<>();
+        for (ETag candidate : ETag.parse(ifMatch)) {
+            if (candidate.isWildcard()) {
+                return null;
+            }
+            if (!candidate.weak() && !candidate.tag().isEmpty() && candidate.tag().chars().allMatch(Character::isDigit)) {
+                try {
+                    versions.add(Long.parseLong(candidate.tag()));
+                } catch (NumberFormatException ignored) {
+                    // Too long to be one of ours
+                }
+            }
+        }
+        return versions;
+    }
+
+    // Postgres keeps microseconds, so anything finer would not survive a round trip
+    private static long micros(LocalDateTime time) {
+        return time.toEpochSecond(ZoneOffset.UTC) * 1_000_000 + time.getNano() / 1_000;
+    }
+}
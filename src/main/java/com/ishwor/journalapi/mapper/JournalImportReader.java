@@ -0,0 +1,254 @@
+package com.ishwor.journalapi.mapper;
+
+import com.ishwor.journalapi.dto.JournalImportRequest;
+import com.ishwor.journalapi.exception.BadRequestException;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import tools.jackson.core.JacksonException;
+import tools.jackson.databind.ObjectReader;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Reads an import body one record at a time, so only the current line is ever in memory.
+ * Malformed records come back as a {@link Record} with an error rather than an exception,
+ * which lets the caller reject the line and keep going.
+ */
+public abstract class JournalImportReader {
+
+    // Far above the 200 + 5000 characters a valid journal needs; anything longer is
+    // rejected without being buffered
+    static final int MAX_LINE_LENGTH = 65536;
+
+    protected final BufferedReader in;
+
+    // Newlines consumed so far
+    protected long lines;
+
+    protected JournalImportReader(Reader in) {
+        this.in = new BufferedReader(in);
+    }
+
+    /**
+     * One JSON object per line with {@code title}, {@code content} and optionally {@code createdAt}.
+     */
+    public static JournalImportReader ndjson(Reader in, ObjectReader reader) {
+        return new Ndjson(in, reader.forType(JournalImportRequest.class));
+    }
+
+    /**
+     * RFC 4180 CSV whose header row names a {@code title} and a {@code content} column,
+     * and optionally {@code createdAt}.
+     *
+     * @throws BadRequestException if the header is missing either required column
+     */
+    public static JournalImportReader csv(Reader in) throws IOException {
+        return new Csv(in);
+    }
+
+    /**
+     * @return the next record, or {@code null} at the end of the input
+     */
+    public abstract Record next() throws IOException;
+
+    @Getter
+    @AllArgsConstructor
+    public static class Record {
+        // One-based line the record starts on
+        private final long line;
+        private final JournalImportRequest request;
+        // Why the record could not be read; null when request is set
+        private final String error;
+    }
+
+    private static class Ndjson extends JournalImportReader {
+        private final ObjectReader reader;
+        private final StringBuilder buffer = new StringBuilder();
+
+        Ndjson(Reader in, ObjectReader reader) {
+            super(in);
+            this.reader = reader;
+        }
+
+        @Override
+        public Record next() throws IOException {
+            while (true) {
+                long line = lines + 1;
+                int length = readLine();
+                if (length < 0) {
+                    return null;
+                }
+                if (length > MAX_LINE_LENGTH) {
+                    return new Record(line, null, "line is longer than " + MAX_LINE_LENGTH + " characters");
+                }
+                String text = buffer.toString();
+                if (text.isBlank()) {
+                    continue;
+                }
+                try {
+                    return new Record(line, reader.readValue(text), null);
+                } catch (JacksonException e) {
+                    return new Record(line, null, "not a JSON journal: " + e.getOriginalMessage());
+                }
+            }
+        }
+
+        // Reads up to the next newline into buffer, keeping at most MAX_LINE_LENGTH characters.
+        // Returns the full length of the line, or -1 at the end of the input.
+        private int readLine() throws IOException {
+            buffer.setLength(0);
+            int length = 0;
+            int c;
+            while ((c = in.read()) != -1) {
+                if (c == '\n') {
+                    lines++;
+                    return length;
+                }
+                if (c != '\r') {
+                    if (++length <= MAX_LINE_LENGTH) {
+                        buffer.append((char) c);
+                    }
+                }
+            }
+            if (length == 0) {
+                return -1;
+            }
+            lines++;
+            return length;
+        }
+    }
+
+    private static class Csv extends JournalImportReader {
+        private final int columns;
+        private final int titleColumn;
+        private final int contentColumn;
+        private final int createdAtColumn;
+
+        private String recordError;
+
+        Csv(Reader in) throws IOException {
+            super(in);
+            List<String> header = readRecord();
+            Map<String, Integer> names = new HashMap<>();
+            for (int i = 0; header != null && i < header.size(); i++) {
+                names.putIfAbsent(header.get(i).trim().toLowerCase(Locale.ROOT), i);
+            }
+            if (!names.containsKey("title") || !names.containsKey("content")) {
+                throw new BadRequestException("CSV header must name a title and a content column");
+            }
+            this.columns = header.size();
+            this.titleColumn = names.get("title");
+            this.contentColumn = names.get("content");
+            this.createdAtColumn = names.getOrDefault("createdat", -1);
+        }
+
+        @Override
+        public Record next() throws IOException {
+            while (true) {
+                long line = lines + 1;
+                List<String> fields = readRecord();
+                if (fields == null) {
+                    return null;
+                }
+                if (recordError != null) {
+                    return new Record(line, null, recordError);
+                }
+                if (fields.size() == 1 && fields.get(0).isBlank()) {
+                    continue;
+                }
+                if (fields.size() != columns) {
+                    return new Record(line, null, "expected " + columns + " fields but found " + fields.size());
+                }
+
+                JournalImportRequest request = new JournalImportRequest();
+                request.setTitle(fields.get(titleColumn));
+                request.setContent(fields.get(contentColumn));
+                if (createdAtColumn >= 0 && !fields.get(createdAtColumn).isBlank()) {
+                    try {
+                        request.setCreatedAt(LocalDateTime.parse(fields.get(createdAtColumn).trim()));
+                    } catch (DateTimeParseException e) {
+                        return new Record(line, null, "createdAt must be an ISO-8601 date-time");
+                    }
+                }
+                return new Record(line, request, null);
+            }
+        }
+
+        // One record, which may span several lines inside quotes. Returns null at the end of the input.
+        // Past MAX_LINE_LENGTH characters, separators included, the rest of the record is read but
+        // not kept, so neither long fields nor many short ones can pile up.
+        private List<String> readRecord() throws IOException {
+            recordError = null;
+            List<String> fields = new ArrayList<>();
+            StringBuilder field = new StringBuilder();
+            boolean quoted = false;
+            boolean read = false;
+            int length = 0;
+            int c;
+            while ((c = in.read()) != -1) {
+                read = true;
+                if (++length > MAX_LINE_LENGTH && recordError == null) {
+                    recordError = "record is longer than " + MAX_LINE_LENGTH + " characters";
+                    fields.clear();
+                    field.setLength(0);
+                }
+                if (quoted) {
+                    if (c == '"') {
+                        in.mark(1);
+                        int next = in.read();
+                        if (next == '"') {
+                            append(field, '"');
+                        } else {
+                            quoted = false;
+                            if (next != -1) {
+                                in.reset();
+                            }
+                        }
+                    } else {
+                        if (c == '\n') {
+                            lines++;
+                        }
+                        append(field, (char) c);
+                    }
+                } else if (c == '"' && field.isEmpty()) {
+                    quoted = true;
+                } else if (c == ',') {
+                    if (recordError == null) {
+                        fields.add(field.toString());
+                    }
+                    field.setLength(0);
+                } else if (c == '\n') {
+                    lines++;
+                    fields.add(field.toString());
+                    return fields;
+                } else if (c != '\r') {
+                    append(field, (char) c);
+                }
+            }
+            if (!read) {
+                return null;
+            }
+            lines++;
+            if (quoted) {
+                recordError = "unterminated quoted field";
+            }
+            fields.add(field.toString());
+            return fields;
+        }
+
+        private void append(StringBuilder field, char c) {
+            if (recordError == null) {
+                field.append(c);
+            }
+        }
+    }
+}
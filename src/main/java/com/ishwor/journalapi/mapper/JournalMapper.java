@@ -2,7 +2,12 @@ package com.ishwor.journalapi.mapper;
 
 import com.ishwor.journalapi.dto.JournalRequest;
 import com.ishwor.journalapi.dto.JournalResponse;
+import com.ishwor.journalapi.dto.JournalSearchResponse;
+import com.ishwor.journalapi.dto.JournalSummaryResponse;
 import com.ishwor.journalapi.entity.JournalEntity;
+import com.ishwor.journalapi.repository.JournalRow;
+import com.ishwor.journalapi.repository.JournalSearchResult;
+import com.ishwor.journalapi.repository.JournalSummary;
 
 public class JournalMapper {
 
@@ -20,6 +25,39 @@ public class JournalMapper {
         response.setTitle(entity.getTitle());
         response.setCreatedAt(entity.getCreatedAt());
         response.setUpdatedAt(entity.getUpdatedAt());
+        response.setVersion(entity.getVersion());
+        return response;
+    }
+
+    public static JournalResponse toResponse(JournalRow row){
+        JournalResponse response = new JournalResponse();
+        response.setId(row.getId());
+        response.setTitle(row.getTitle());
+        response.setContent(row.getContent());
+        response.setCreatedAt(row.getCreatedAt());
+        response.setUpdatedAt(row.getUpdatedAt());
+        response.setVersion(row.getVersion());
+        return response;
+    }
+
+    public static JournalSummaryResponse toSummaryResponse(JournalSummary summary){
+        JournalSummaryResponse response = new JournalSummaryResponse();
+        response.setId(summary.getId());
+        response.setTitle(summary.getTitle());
+        response.setExcerpt(summary.getExcerpt());
+        response.setCreatedAt(summary.getCreatedAt());
+        response.setUpdatedAt(summary.getUpdatedAt());
+        return response;
+    }
+
+    public static JournalSearchResponse toSearchResponse(JournalSearchResult result){
+        JournalSearchResponse response = new JournalSearchResponse();
+        response.setId(result.getId());
+        response.setTitle(result.getTitle());
+        response.setSnippet(result.getSnippet());
+        response.setRank(result.getRank());
+        response.setCreatedAt(result.getCreatedAt());
+        response.setUpdatedAt(result.getUpdatedAt());
         return response;
     }
 }
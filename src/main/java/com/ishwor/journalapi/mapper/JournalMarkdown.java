@@ -0,0 +1,37 @@
+package com.ishwor.journalapi.mapper;
+
+import com.ishwor.journalapi.repository.JournalRow;
+
+import java.util.Locale;
+
+/**
+ * Renders a journal as a Markdown file for the ZIP export: a small front matter block
+ * with the id and timestamps, the title as a heading, then the content unchanged.
+ */
+public final class JournalMarkdown {
+
+    private static final int MAX_SLUG_LENGTH = 50;
+
+    private JournalMarkdown() {
+    }
+
+    // The id keeps names unique; the slug is only there to make the archive browsable
+    public static String fileName(JournalRow row) {
+        String slug = row.getTitle().toLowerCase(Locale.ROOT).replaceAll("[^a-z0-9]+", "-");
+        if (slug.length() > MAX_SLUG_LENGTH) {
+            slug = slug.substring(0, MAX_SLUG_LENGTH);
+        }
+        slug = slug.replaceAll("^-+|-+$", "");
+        return slug.isEmpty() ? row.getId() + ".md" : row.getId() + "-" + slug + ".md";
+    }
+
+    public static String render(JournalRow row) {
+        return "---\n"
+                + "id: " + row.getId() + "\n"
+                + "createdAt: " + row.getCreatedAt() + "\n"
+                + "updatedAt: " + row.getUpdatedAt() + "\n"
+                + "---\n\n"
+                + "# " + row.getTitle().replace('\n', ' ') + "\n\n"
+                + row.getContent() + "\n";
+    }
+}
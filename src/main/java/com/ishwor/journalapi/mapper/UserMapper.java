@@ -2,6 +2,7 @@ package com.ishwor.journalapi.mapper;
 
 import com.ishwor.journalapi.dto.UserResponse;
 import com.ishwor.journalapi.entity.UserEntity;
+import com.ishwor.journalapi.security.AuthenticatedUser;
 
 public class UserMapper {
     public static UserResponse toResponse(UserEntity user){
@@ -11,4 +12,12 @@ public class UserMapper {
                 user.getRole().name()
         );
     }
+
+    public static UserResponse toResponse(AuthenticatedUser user){
+        return new UserResponse(
+                user.getId(),
+                user.getEmail(),
+                user.getRole().name()
+        );
+    }
 }
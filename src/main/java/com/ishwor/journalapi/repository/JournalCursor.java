@@ -0,0 +1,41 @@
+package com.ishwor.journalapi.repository;
+
+import com.ishwor.journalapi.exception.InvalidCursorException;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * Position in the (created_at DESC, id DESC) order: the last row of the previous page.
+ * Handed to clients as an opaque base64url string so its format can change later.
+ */
+@Getter
+@AllArgsConstructor
+public class JournalCursor {
+    private final LocalDateTime createdAt;
+    private final long id;
+
+    public String encode() {
+        String raw = createdAt + "|" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static JournalCursor decode(String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = raw.lastIndexOf('|');
+            if (separator < 0) {
+                throw new InvalidCursorException();
+            }
+            return new JournalCursor(LocalDateTime.parse(raw.substring(0, separator)),
+                    Long.parseLong(raw.substring(separator + 1)));
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            // NumberFormatException is an IllegalArgumentException too
+            throw new InvalidCursorException();
+        }
+    }
+}
@@ -0,0 +1,37 @@
+package com.ishwor.journalapi.repository;
+
+import com.ishwor.journalapi.exception.BadRequestException;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Journal attributes clients may pick with {@code ?fields=}. Each one maps to a single
+ * column of the journals table, so a selection becomes the SQL select list as is.
+ */
+public final class JournalFields {
+
+    public static final List<String> SELECTABLE = List.of("id", "title", "content", "createdAt", "updatedAt");
+
+    private JournalFields() {
+    }
+
+    /**
+     * Parses a comma-separated field list, keeping the client's order and dropping duplicates.
+     *
+     * @throws BadRequestException if the list is empty or names an unknown field
+     */
+    public static List<String> parse(String fields) {
+        Set<String> selected = new LinkedHashSet<>();
+        for (String field : fields.split(",")) {
+            String name = field.trim();
+            if (!SELECTABLE.contains(name)) {
+                throw new BadRequestException("fields must be a comma-separated list out of id, title, content, createdAt, updatedAt");
+            }
+            selected.add(name);
+        }
+        return new ArrayList<>(selected);
+    }
+}
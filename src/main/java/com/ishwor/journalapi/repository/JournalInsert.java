@@ -0,0 +1,18 @@
+package com.ishwor.journalapi.repository;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+
+/**
+ * One row of a COPY import.
+ */
+@Getter
+@AllArgsConstructor
+public class JournalInsert {
+    private final String title;
+    private final String content;
+    private final LocalDateTime createdAt;
+    private final LocalDateTime updatedAt;
+}
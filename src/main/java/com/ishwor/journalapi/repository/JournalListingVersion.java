@@ -0,0 +1,19 @@
+package com.ishwor.journalapi.repository;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+
+/**
+ * What an owner's listing depends on. Inserts and updates move lastUpdatedAt forward and
+ * deletes lower journalCount, so any change to the listing changes one of the two.
+ */
+@Getter
+@AllArgsConstructor
+public class JournalListingVersion {
+    private final Long ownerId;
+    private final long journalCount;
+    // null while the owner has no journals
+    private final LocalDateTime lastUpdatedAt;
+}
@@ -2,15 +2,132 @@ package com.ishwor.journalapi.repository;
 
 import com.ishwor.journalapi.entity.JournalEntity;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.transaction.annotation.Transactional;
 
 import org.springframework.data.domain.Pageable;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
-public interface JournalRepository extends JpaRepository<JournalEntity, Long> {
+public interface JournalRepository extends JpaRepository<JournalEntity, Long>, JournalRepositoryCustom {
     Page<JournalEntity> findAll(Pageable pageable);
     Page<JournalEntity> findAllByOwnerId(Long ownerId, Pageable pageable);
+
+    // Slice queries fetch one extra row to know whether a next page exists; no count(*)
+    @Query("SELECT j FROM JournalEntity j")
+    Slice<JournalEntity> findAllAsSlice(Pageable pageable);
+
+    @Query("SELECT j FROM JournalEntity j WHERE j.owner.id = :ownerId")
+    Slice<JournalEntity> findAllAsSliceByOwnerId(Long ownerId, Pageable pageable);
+
+    // Summary projections: left() runs in Postgres, which only detoasts the leading part of
+    // the content, so listings never pull whole TEXT values over the wire
+    @Query(value = """
+            SELECT new com.ishwor.journalapi.repository.JournalSummary(
+                j.id, j.title, left(j.content, :excerptLength), j.createdAt, j.updatedAt)
+            FROM JournalEntity j
+            """,
+            countQuery = "SELECT count(j) FROM JournalEntity j")
+    Page<JournalSummary> findAllSummaries(int excerptLength, Pageable pageable);
+
+    @Query(value = """
+            SELECT new com.ishwor.journalapi.repository.JournalSummary(
+                j.id, j.title, left(j.content, :excerptLength), j.createdAt, j.updatedAt)
+            FROM JournalEntity j WHERE j.owner.id = :ownerId
+            """,
+            countQuery = "SELECT count(j) FROM JournalEntity j WHERE j.owner.id = :ownerId")
+    Page<JournalSummary> findAllSummariesByOwnerId(Long ownerId, int excerptLength, Pageable pageable);
+
+    @Query("""
+            SELECT new com.ishwor.journalapi.repository.JournalSummary(
+                j.id, j.title, left(j.content, :excerptLength), j.createdAt, j.updatedAt)
+            FROM JournalEntity j
+            """)
+    Slice<JournalSummary> findAllSummariesAsSlice(int excerptLength, Pageable pageable);
+
+    @Query("""
+            SELECT new com.ishwor.journalapi.repository.JournalSummary(
+                j.id, j.title, left(j.content, :excerptLength), j.createdAt, j.updatedAt)
+            FROM JournalEntity j WHERE j.owner.id = :ownerId
+            """)
+    Slice<JournalSummary> findAllSummariesAsSliceByOwnerId(Long ownerId, int excerptLength, Pageable pageable);
+
+    // Planner's row estimate from the last ANALYZE/autovacuum; -1 if the table was never analyzed
+    @Query(value = "SELECT reltuples::bigint FROM pg_class WHERE oid = 'journals'::regclass", nativeQuery = true)
+    long estimateRowCount();
+    long countByOwnerId(Long ownerId);
     Optional<JournalEntity> findByIdAndOwnerId(Long id, Long ownerId);
-    boolean existsByIdAndOwnerId(Long id, Long ownerId);
-    void deleteByIdAndOwnerId(Long id, Long ownerId);
-}
\ No newline at end of file
+
+    // Version-only lookups for conditional requests; the content column is never read
+    @Query("SELECT j.version FROM JournalEntity j WHERE j.id = :id")
+    Optional<Long> findVersionById(Long id);
+
+    @Query("SELECT j.version FROM JournalEntity j WHERE j.id = :id AND j.owner.id = :ownerId")
+    Optional<Long> findVersionByIdAndOwnerId(Long id, Long ownerId);
+
+    // Which of the given journals exist, to tell 404 from 412 after a batch update
+    @Query("SELECT j.id FROM JournalEntity j WHERE j.id IN :ids")
+    List<Long> findExistingIds(Collection<Long> ids);
+
+    @Query("SELECT j.id FROM JournalEntity j WHERE j.id IN :ids AND j.owner.id = :ownerId")
+    List<Long> findExistingIdsByOwner(Collection<Long> ids, Long ownerId);
+
+    // journal_count is trigger-maintained and max(updated_at) is one probe of
+    // ix_journals_owner_updated_at_id, so this never touches the owner's rows
+    @Query("""
+            SELECT new com.ishwor.journalapi.repository.JournalListingVersion(
+                u.id, u.journalCount, (SELECT max(j.updatedAt) FROM JournalEntity j WHERE j.owner.id = u.id))
+            FROM UserEntity u WHERE u.id = :ownerId
+            """)
+    Optional<JournalListingVersion> findListingVersion(Long ownerId);
+
+    // Single DELETE statements; the row count tells the caller whether anything matched
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM JournalEntity j WHERE j.id = :id AND j.owner.id = :ownerId")
+    int deleteByIdAndOwnerId(Long id, Long ownerId);
+
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM JournalEntity j WHERE j.id = :id")
+    int deleteAnyById(Long id);
+
+    // Keyset pagination over (created_at DESC, id DESC). The row-value comparison lets
+    // Postgres start the index scan right after the cursor instead of skipping OFFSET rows.
+    @Query(value = """
+            SELECT * FROM journals
+            WHERE owner_id = :ownerId
+            ORDER BY created_at DESC, id DESC
+            LIMIT :limit
+            """, nativeQuery = true)
+    List<JournalEntity> findFirstByOwner(Long ownerId, int limit);
+
+    @Query(value = """
+            SELECT * FROM journals
+            WHERE owner_id = :ownerId
+              AND (created_at, id) < (:createdAt, :id)
+            ORDER BY created_at DESC, id DESC
+            LIMIT :limit
+            """, nativeQuery = true)
+    List<JournalEntity> findNextByOwner(Long ownerId, LocalDateTime createdAt, long id, int limit);
+
+    @Query(value = """
+            SELECT * FROM journals
+            ORDER BY created_at DESC, id DESC
+            LIMIT :limit
+            """, nativeQuery = true)
+    List<JournalEntity> findFirst(int limit);
+
+    @Query(value = """
+            SELECT * FROM journals
+            WHERE (created_at, id) < (:createdAt, :id)
+            ORDER BY created_at DESC, id DESC
+            LIMIT :limit
+            """, nativeQuery = true)
+    List<JournalEntity> findNext(LocalDateTime createdAt, long id, int limit);
+}
@@ -0,0 +1,95 @@
+package com.ishwor.journalapi.repository;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+
+public interface JournalRepositoryCustom {
+    /**
+     * Loads one page of journals reading only the given columns.
+     *
+     * @param fields  attribute names out of {@link JournalFields#SELECTABLE}
+     * @param ownerId restricts the page to one owner; {@code null} for all journals
+     * @return rows keyed by attribute name, in the order of {@code fields}
+     */
+    Slice<Map<String, Object>> findFields(List<String> fields, Long ownerId, Pageable pageable);
+
+    /**
+     * Writes the given columns in a single statement and bumps the version. Columns
+     * passed as {@code null} are left out of the SET list entirely.
+     *
+     * @param ownerId  restricts the update to one owner's journal; {@code null} for any journal
+     * @param versions only update if the journal is at one of these versions; {@code null} for any
+     * @return the journal after the update, or empty if no journal matched
+     */
+    Optional<JournalRow> updateColumns(Long id, Long ownerId, String title, String content,
+                                       List<Long> versions, LocalDateTime updatedAt);
+
+    /**
+     * Replaces title and content of many journals in one JDBC batch.
+     *
+     * @param ownerId restricts every update to one owner's journals; {@code null} for any journal
+     * @return the number of rows each update changed, in input order (0 if nothing matched)
+     */
+    int[] updateBatch(List<JournalUpdate> updates, Long ownerId, LocalDateTime updatedAt);
+
+    /**
+     * Deletes many journals in one statement.
+     *
+     * @param ownerId restricts the delete to one owner's journals; {@code null} for any journal
+     * @return the ids that were deleted
+     */
+    List<Long> deleteBatch(List<Long> ids, Long ownerId);
+
+    /**
+     * Reads every journal of one owner, newest first, through a forward-only cursor and
+     * hands each row to {@code action} as soon as it is read. Must run in a transaction,
+     * otherwise the PostgreSQL driver ignores the fetch size and buffers the whole result.
+     *
+     * @param fetchSize rows pulled from the server per round trip
+     */
+    void streamByOwner(Long ownerId, int fetchSize, Consumer<JournalRow> action);
+
+    /**
+     * Reads every journal in the table, handing each row to {@code action} together with its
+     * owner id. Same cursor and transaction requirement as {@link #streamByOwner}.
+     */
+    void streamAll(int fetchSize, BiConsumer<Long, JournalRow> action);
+
+    /**
+     * Loads the given journals of one owner in a single query, in no particular order.
+     * Ids that do not exist or belong to someone else are left out.
+     */
+    List<JournalRow> findRows(Long ownerId, Collection<Long> ids);
+
+    /**
+     * Loads the given journals whoever owns them, handing each row to {@code action} together
+     * with its owner id. Ids that do not exist are left out.
+     */
+    void findRowsOfAnyOwner(Collection<Long> ids, BiConsumer<Long, JournalRow> action);
+
+    /**
+     * Writes the rows for one owner with a single {@code COPY ... FROM STDIN}. The statement
+     * is atomic on its own, so each call commits all of its rows or none. Ids are taken from
+     * journals_id_seq in the same blocks Hibernate uses.
+     *
+     * @return the ids given to the rows, in input order
+     */
+    List<Long> copyIn(Long ownerId, List<JournalInsert> rows);
+
+    /**
+     * Full-text search over one owner's journals, best match first.
+     *
+     * @param query free text in web search syntax ({@code "exact phrase"}, {@code or}, {@code -word})
+     * @param after the last hit of the previous page; {@code null} for the first page
+     * @return up to {@code limit} hits ordered by rank, then id, both descending
+     */
+    List<JournalSearchResult> search(Long ownerId, String query, JournalSearchCursor after, int limit);
+}
@@ -0,0 +1,353 @@
+package com.ishwor.journalapi.repository;
+
+import com.ishwor.journalapi.entity.JournalEntity;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Selection;
+import org.postgresql.PGConnection;
+import org.postgresql.copy.CopyIn;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
+
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+
+public class JournalRepositoryCustomImpl implements JournalRepositoryCustom {
+
+    private static final String UPDATE_BATCH = """
+            UPDATE journals
+            SET title = :title, content = :content, updated_at = :updatedAt, version = version + 1
+            WHERE id = :id AND (CAST(:version AS BIGINT) IS NULL OR version = :version)
+            """;
+
+    private static final String UPDATE_OWNED_BATCH = UPDATE_BATCH + " AND owner_id = :ownerId";
+
+    private static final String DELETE_BATCH = "DELETE FROM journals WHERE id IN (:ids) RETURNING id";
+
+    private static final String DELETE_OWNED_BATCH = "DELETE FROM journals WHERE id IN (:ids) AND owner_id = :ownerId RETURNING id";
+
+    // Same order as ix_journals_owner_created_at_id, so rows come straight off the index without a sort
+    private static final String STREAM_BY_OWNER = """
+            SELECT id, title, content, created_at, updated_at, version
+            FROM journals
+            WHERE owner_id = ?
+            ORDER BY created_at DESC, id DESC
+            """;
+
+    // No ORDER BY: the search index takes rows in any order, so a plain sequential scan will do
+    private static final String STREAM_ALL = "SELECT id, owner_id, title, content, created_at, updated_at, version FROM journals";
+
+    private static final String FIND_ROWS = """
+            SELECT id, title, content, created_at, updated_at, version
+            FROM journals
+            WHERE owner_id = :ownerId AND id IN (:ids)
+            """;
+
+    private static final String FIND_ROWS_OF_ANY_OWNER = """
+            SELECT id, owner_id, title, content, created_at, updated_at, version
+            FROM journals
+            WHERE id IN (:ids)
+            """;
+
+    private static final String NEXT_ID_BLOCKS = "SELECT nextval('journals_id_seq') FROM generate_series(1, ?)";
+
+    private static final String COPY_JOURNALS =
+            "COPY journals (id, owner_id, title, content, created_at, updated_at) FROM STDIN (FORMAT csv)";
+
+    // Matching and ranking use the GIN-indexed search_vector. Headlines re-parse the text,
+    // so they are only built for the rows of the page, in the outer query.
+    private static final String SEARCH = """
+            SELECT id, title, created_at, updated_at, rank,
+                   ts_headline('english', content, query,
+                               'StartSel=<mark>, StopSel=</mark>, MaxFragments=2, MaxWords=30, MinWords=10') AS snippet
+            FROM (
+                SELECT j.id, j.title, j.content, j.created_at, j.updated_at, q AS query,
+                       ts_rank_cd(j.search_vector, q) AS rank
+                FROM journals j, websearch_to_tsquery('english', :query) q
+                WHERE j.owner_id = :ownerId AND j.search_vector @@ q
+                %s
+                ORDER BY rank DESC, j.id DESC
+                LIMIT :limit
+            ) hits
+            ORDER BY rank DESC, id DESC
+            """;
+
+    private static final String SEARCH_FIRST = SEARCH.formatted("");
+
+    private static final String SEARCH_NEXT = SEARCH.formatted(
+            "AND (ts_rank_cd(j.search_vector, q), j.id) < (CAST(:rank AS real), :id)");
+
+    private final EntityManager entityManager;
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    public JournalRepositoryCustomImpl(EntityManager entityManager, NamedParameterJdbcTemplate jdbcTemplate) {
+        this.entityManager = entityManager;
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public Slice<Map<String, Object>> findFields(List<String> fields, Long ownerId, Pageable pageable) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = cb.createTupleQuery();
+        Root<JournalEntity> journal = query.from(JournalEntity.class);
+
+        // A tuple select, not the entity, so unrequested columns never leave Postgres
+        query.select(cb.tuple(fields.stream().<Selection<?>>map(f -> journal.get(f).alias(f)).toList()));
+        if (ownerId != null) {
+            // owner.id is the foreign key column itself; no join to users
+            query.where(cb.equal(journal.get("owner").get("id"), ownerId));
+        }
+        query.orderBy(QueryUtils.toOrders(pageable.getSort(), journal, cb));
+
+        // One extra row tells us whether there is a next page
+        List<Tuple> rows = entityManager.createQuery(query)
+                .setFirstResult((int) pageable.getOffset())
+                .setMaxResults(pageable.getPageSize() + 1)
+                .getResultList();
+
+        boolean hasNext = rows.size() > pageable.getPageSize();
+        List<Map<String, Object>> content = new ArrayList<>(Math.min(rows.size(), pageable.getPageSize()));
+        for (Tuple row : hasNext ? rows.subList(0, pageable.getPageSize()) : rows) {
+            Map<String, Object> values = new LinkedHashMap<>();
+            for (String field : fields) {
+                values.put(field, row.get(field));
+            }
+            content.add(values);
+        }
+        return new SliceImpl<>(content, pageable, hasNext);
+    }
+
+    @Override
+    public Optional<JournalRow> updateColumns(Long id, Long ownerId, String title, String content,
+                                              List<Long> versions, LocalDateTime updatedAt) {
+        if (versions != null && versions.isEmpty()) {
+            return Optional.empty();
+        }
+        // UPDATE ... RETURNING is not something JPQL can express, so this goes through JDBC.
+        // Only the columns being changed are written: a title edit leaves the TOASTed content alone.
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("id", id)
+                .addValue("updatedAt", updatedAt);
+        StringBuilder sql = new StringBuilder("UPDATE journals SET ");
+        if (title != null) {
+            sql.append("title = :title, ");
+            params.addValue("title", title);
+        }
+        if (content != null) {
+            sql.append("content = :content, ");
+            params.addValue("content", content);
+        }
+        sql.append("updated_at = :updatedAt, version = version + 1 WHERE id = :id");
+        if (ownerId != null) {
+            sql.append(" AND owner_id = :ownerId");
+            params.addValue("ownerId", ownerId);
+        }
+        if (versions != null) {
+            sql.append(" AND version IN (:versions)");
+            params.addValue("versions", versions);
+        }
+        // Read back only what the caller doesn't already have
+        sql.append(" RETURNING created_at, version");
+        if (title == null) {
+            sql.append(", title");
+        }
+        if (content == null) {
+            sql.append(", content");
+        }
+
+        return jdbcTemplate.query(sql.toString(), params, (rs, rowNum) -> new JournalRow(
+                        id,
+                        title != null ? title : rs.getString("title"),
+                        content != null ? content : rs.getString("content"),
+                        rs.getObject("created_at", LocalDateTime.class),
+                        updatedAt,
+                        rs.getLong("version")))
+                .stream()
+                .findFirst();
+    }
+
+    @Override
+    public int[] updateBatch(List<JournalUpdate> updates, Long ownerId, LocalDateTime updatedAt) {
+        SqlParameterSource[] batch = new SqlParameterSource[updates.size()];
+        for (int i = 0; i < batch.length; i++) {
+            JournalUpdate update = updates.get(i);
+            batch[i] = new MapSqlParameterSource()
+                    .addValue("id", update.getId())
+                    .addValue("title", update.getTitle())
+                    .addValue("content", update.getContent())
+                    .addValue("version", update.getVersion(), Types.BIGINT)
+                    .addValue("ownerId", ownerId)
+                    .addValue("updatedAt", updatedAt);
+        }
+        // One prepared statement, executed as a single JDBC batch
+        return jdbcTemplate.batchUpdate(ownerId == null ? UPDATE_BATCH : UPDATE_OWNED_BATCH, batch);
+    }
+
+    @Override
+    public List<Long> deleteBatch(List<Long> ids, Long ownerId) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("ids", ids)
+                .addValue("ownerId", ownerId);
+        return jdbcTemplate.queryForList(ownerId == null ? DELETE_BATCH : DELETE_OWNED_BATCH, params, Long.class);
+    }
+
+    @Override
+    public void streamByOwner(Long ownerId, int fetchSize, Consumer<JournalRow> action) {
+        jdbcTemplate.getJdbcTemplate().query(connection -> {
+            PreparedStatement statement = connection.prepareStatement(STREAM_BY_OWNER,
+                    ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+            statement.setFetchSize(fetchSize);
+            statement.setLong(1, ownerId);
+            return statement;
+        }, (RowCallbackHandler) rs -> action.accept(mapRow(rs)));
+    }
+
+    @Override
+    public void streamAll(int fetchSize, BiConsumer<Long, JournalRow> action) {
+        jdbcTemplate.getJdbcTemplate().query(connection -> {
+            PreparedStatement statement = connection.prepareStatement(STREAM_ALL,
+                    ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+            statement.setFetchSize(fetchSize);
+            return statement;
+        }, (RowCallbackHandler) rs -> action.accept(rs.getLong("owner_id"), mapRow(rs)));
+    }
+
+    @Override
+    public List<JournalRow> findRows(Long ownerId, Collection<Long> ids) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("ownerId", ownerId)
+                .addValue("ids", ids);
+        return jdbcTemplate.query(FIND_ROWS, params, (rs, rowNum) -> mapRow(rs));
+    }
+
+    @Override
+    public void findRowsOfAnyOwner(Collection<Long> ids, BiConsumer<Long, JournalRow> action) {
+        if (ids.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.query(FIND_ROWS_OF_ANY_OWNER, new MapSqlParameterSource("ids", ids),
+                (RowCallbackHandler) rs -> action.accept(rs.getLong("owner_id"), mapRow(rs)));
+    }
+
+    private static JournalRow mapRow(ResultSet rs) throws SQLException {
+        return new JournalRow(
+                rs.getLong("id"),
+                rs.getString("title"),
+                rs.getString("content"),
+                rs.getObject("created_at", LocalDateTime.class),
+                rs.getObject("updated_at", LocalDateTime.class),
+                rs.getLong("version"));
+    }
+
+    @Override
+    public List<Long> copyIn(Long ownerId, List<JournalInsert> rows) {
+        if (rows.isEmpty()) {
+            return List.of();
+        }
+        return jdbcTemplate.getJdbcTemplate().execute((ConnectionCallback<List<Long>>) connection -> {
+            List<Long> ids = allocateIds(connection, rows.size());
+            CopyIn copy = connection.unwrap(PGConnection.class).getCopyAPI().copyIn(COPY_JOURNALS);
+            try {
+                StringBuilder line = new StringBuilder();
+                for (int i = 0; i < rows.size(); i++) {
+                    JournalInsert row = rows.get(i);
+                    line.setLength(0);
+                    line.append(ids.get(i)).append(',').append(ownerId).append(',');
+                    appendCsv(line, row.getTitle());
+                    line.append(',');
+                    appendCsv(line, row.getContent());
+                    line.append(',').append(row.getCreatedAt()).append(',').append(row.getUpdatedAt()).append('\n');
+                    byte[] bytes = line.toString().getBytes(StandardCharsets.UTF_8);
+                    copy.writeToCopy(bytes, 0, bytes.length);
+                }
+                copy.endCopy();
+                return ids;
+            } finally {
+                if (copy.isActive()) {
+                    copy.cancelCopy();
+                }
+            }
+        });
+    }
+
+    // Same blocks as Hibernate's pooled optimizer: nextval v covers ids v - 49 .. v
+    private static List<Long> allocateIds(Connection connection, int count) throws SQLException {
+        int blockSize = JournalEntity.ID_ALLOCATION_SIZE;
+        List<Long> ids = new ArrayList<>(count);
+        try (PreparedStatement statement = connection.prepareStatement(NEXT_ID_BLOCKS)) {
+            statement.setInt(1, (count + blockSize - 1) / blockSize);
+            try (ResultSet rs = statement.executeQuery()) {
+                while (rs.next()) {
+                    long hi = rs.getLong(1);
+                    for (long id = Math.max(1, hi - blockSize + 1); id <= hi && ids.size() < count; id++) {
+                        ids.add(id);
+                    }
+                }
+            }
+        }
+        if (ids.size() < count) {
+            // Only possible right after the sequence was created, when the first block is cut short at 1
+            ids.addAll(allocateIds(connection, count - ids.size()));
+        }
+        return ids;
+    }
+
+    private static void appendCsv(StringBuilder out, String value) {
+        out.append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '"') {
+                out.append('"');
+            }
+            out.append(c);
+        }
+        out.append('"');
+    }
+
+    @Override
+    public List<JournalSearchResult> search(Long ownerId, String query, JournalSearchCursor after, int limit) {
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("ownerId", ownerId)
+                .addValue("query", query)
+                .addValue("limit", limit);
+        if (after != null) {
+            params.addValue("rank", after.getRank()).addValue("id", after.getId());
+        }
+        return jdbcTemplate.query(after == null ? SEARCH_FIRST : SEARCH_NEXT, params, (rs, rowNum) -> new JournalSearchResult(
+                rs.getLong("id"),
+                rs.getString("title"),
+                rs.getString("snippet"),
+                rs.getFloat("rank"),
+                rs.getObject("created_at", LocalDateTime.class),
+                rs.getObject("updated_at", LocalDateTime.class)));
+    }
+}
@@ -0,0 +1,20 @@
+package com.ishwor.journalapi.repository;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+
+/**
+ * A journal's columns read straight over JDBC, without the owner.
+ */
+@Getter
+@AllArgsConstructor
+public class JournalRow {
+    private final Long id;
+    private final String title;
+    private final String content;
+    private final LocalDateTime createdAt;
+    private final LocalDateTime updatedAt;
+    private final long version;
+}
@@ -0,0 +1,43 @@
+package com.ishwor.journalapi.repository;
+
+import com.ishwor.journalapi.exception.InvalidCursorException;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Position in the (rank DESC, id DESC) order of a search: the last hit of the previous page.
+ * The rank is written with {@link Float#toString}, which reads back to exactly the same float,
+ * so the next page starts right after that hit.
+ */
+@Getter
+@AllArgsConstructor
+public class JournalSearchCursor {
+    private final float rank;
+    private final long id;
+
+    public String encode() {
+        String raw = rank + "|" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static JournalSearchCursor decode(String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = raw.lastIndexOf('|');
+            if (separator < 0) {
+                throw new InvalidCursorException();
+            }
+            float rank = Float.parseFloat(raw.substring(0, separator));
+            if (!Float.isFinite(rank)) {
+                throw new InvalidCursorException();
+            }
+            return new JournalSearchCursor(rank, Long.parseLong(raw.substring(separator + 1)));
+        } catch (IllegalArgumentException e) {
+            // NumberFormatException is an IllegalArgumentException too
+            throw new InvalidCursorException();
+        }
+    }
+}
@@ -0,0 +1,20 @@
+package com.ishwor.journalapi.repository;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+
+/**
+ * One full-text search hit: the journal without its content, plus a highlighted snippet.
+ */
+@Getter
+@AllArgsConstructor
+public class JournalSearchResult {
+    private final Long id;
+    private final String title;
+    private final String snippet;
+    private final float rank;
+    private final LocalDateTime createdAt;
+    private final LocalDateTime updatedAt;
+}
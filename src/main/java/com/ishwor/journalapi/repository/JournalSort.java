@@ -0,0 +1,46 @@
+package com.ishwor.journalapi.repository;
+
+import com.ishwor.journalapi.exception.BadRequestException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Sort orders clients may ask for on journal listings. Each field has an index on
+ * (owner_id, field, id) and (field, id), so a listing is always an index scan; anything
+ * else would sort the whole result set and is rejected.
+ */
+public final class JournalSort {
+
+    public static final Set<String> SORTABLE = Set.of("createdAt", "updatedAt", "title");
+
+    private static final Sort DEFAULT = Sort.by(Sort.Direction.DESC, "createdAt", "id");
+
+    private JournalSort() {
+    }
+
+    /**
+     * Validates the requested sort and appends id in the same direction, which makes the
+     * order total (stable pages) and matches the index column order.
+     *
+     * @throws BadRequestException if the sort uses another field, more than one field or ignoreCase
+     */
+    public static Pageable whitelist(Pageable pageable) {
+        return PageRequest.of(pageable.getPageNumber(), pageable.getPageSize(), resolve(pageable.getSort()));
+    }
+
+    public static Sort resolve(Sort requested) {
+        if (requested.isUnsorted()) {
+            return DEFAULT;
+        }
+        List<Sort.Order> orders = requested.toList();
+        Sort.Order order = orders.get(0);
+        if (orders.size() > 1 || !SORTABLE.contains(order.getProperty()) || order.isIgnoreCase()) {
+            throw new BadRequestException("sort must be a single field out of createdAt, updatedAt, title");
+        }
+        return Sort.by(order.getDirection(), order.getProperty(), "id");
+    }
+}
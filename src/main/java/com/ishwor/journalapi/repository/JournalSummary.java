@@ -0,0 +1,20 @@
+package com.ishwor.journalapi.repository;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+
+/**
+ * The columns a listing needs. The excerpt is cut by the database, so the full
+ * content is never read into the application.
+ */
+@Getter
+@AllArgsConstructor
+public class JournalSummary {
+    private final Long id;
+    private final String title;
+    private final String excerpt;
+    private final LocalDateTime createdAt;
+    private final LocalDateTime updatedAt;
+}
@@ -0,0 +1,17 @@
+package com.ishwor.journalapi.repository;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * One row of a batch update.
+ */
+@Getter
+@AllArgsConstructor
+public class JournalUpdate {
+    private final Long id;
+    private final String title;
+    private final String content;
+    // Expected current version; null to update whatever version the row is at
+    private final Long version;
+}
@@ -1,21 +1,46 @@
 package com.ishwor.journalapi.repository;
 
 import com.ishwor.journalapi.entity.RefreshTokenEntity;
-import com.ishwor.journalapi.entity.UserEntity;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Instant;
 import java.util.Optional;
 
-public interface RefreshTokenEntityRepository extends JpaRepository<RefreshTokenEntity, Long> {
-    Optional<RefreshTokenEntity> findByToken(String token);
+public interface RefreshTokenEntityRepository extends JpaRepository<RefreshTokenEntity, Long>, RefreshTokenEntityRepositoryCustom {
+    Optional<RefreshTokenEntity> findByTokenHash(String tokenHash);
 
     @Modifying
-    @Query("DELETE FROM RefreshTokenEntity rt WHERE rt.user = :user")
-    void deleteByUser(UserEntity user);
+    @Query("DELETE FROM RefreshTokenEntity rt WHERE rt.tokenHash = :tokenHash")
+    int deleteByTokenHash(String tokenHash);
+
+    // Ends the session a token family belongs to
+    @Modifying
+    @Query("DELETE FROM RefreshTokenEntity rt WHERE rt.familyId = :familyId")
+    int deleteByFamilyId(String familyId);
+
+    @Modifying
+    @Query("DELETE FROM RefreshTokenEntity rt WHERE rt.tokenHash = :tokenHash AND rt.user.id = :userId")
+    int deleteByTokenHashAndUserId(String tokenHash, Long userId);
 
     @Modifying
     @Query("DELETE FROM RefreshTokenEntity rt WHERE rt.user.id = :userId")
     void deleteByUserId(Long userId);
-}
\ No newline at end of file
+
+    // Deletes at most `limit` expired rows in its own transaction. Rows locked by a
+    // concurrent refresh are skipped rather than waited on; the next run picks them up.
+    @Transactional
+    @Modifying
+    @Query(value = """
+            DELETE FROM refresh_tokens
+            WHERE id IN (
+                SELECT id FROM refresh_tokens
+                WHERE expiry_date < :cutoff
+                LIMIT :limit
+                FOR UPDATE SKIP LOCKED
+            )
+            """, nativeQuery = true)
+    int deleteExpiredBatch(Instant cutoff, int limit);
+}
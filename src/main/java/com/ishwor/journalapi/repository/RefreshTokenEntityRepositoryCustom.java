@@ -0,0 +1,13 @@
+package com.ishwor.journalapi.repository;
+
+import java.time.Instant;
+import java.util.Optional;
+
+public interface RefreshTokenEntityRepositoryCustom {
+    /**
+     * Swaps a live token for a new one in a single statement and records the old one as used.
+     *
+     * @return the token's owner, or empty if {@code oldHash} is unknown, already rotated or expired
+     */
+    Optional<RefreshTokenOwner> rotate(String oldHash, String newHash, Instant newExpiry, Instant now);
+}
@@ -0,0 +1,55 @@
+package com.ishwor.journalapi.repository;
+
+import com.ishwor.journalapi.entity.Role;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.Optional;
+
+public class RefreshTokenEntityRepositoryCustomImpl implements RefreshTokenEntityRepositoryCustom {
+
+    // UPDATE ... RETURNING is not something JPQL can express, so this goes through JDBC.
+    // It still joins the surrounding JPA transaction. The old hash is recorded as used in
+    // the same statement, for as long as the token replacing it is valid.
+    private static final String ROTATE = """
+            WITH rotated AS (
+                UPDATE refresh_tokens rt
+                SET token_hash = :newHash,
+                    expiry_date = :newExpiry
+                FROM users u
+                WHERE rt.token_hash = :oldHash
+                  AND rt.expiry_date > :now
+                  AND u.id = rt.user_id
+                RETURNING rt.family_id, u.id, u.email, u.role, u.token_version
+            ), used AS (
+                INSERT INTO used_refresh_tokens (token_hash, family_id, expires_at)
+                SELECT :oldHash, family_id, :newExpiry FROM rotated
+            )
+            SELECT id, email, role, token_version FROM rotated
+            """;
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    public RefreshTokenEntityRepositoryCustomImpl(NamedParameterJdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public Optional<RefreshTokenOwner> rotate(String oldHash, String newHash, Instant newExpiry, Instant now) {
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("oldHash", oldHash)
+                .addValue("newHash", newHash)
+                // Bound the same way Hibernate binds Instant, so comparisons match entity writes
+                .addValue("newExpiry", newExpiry.atOffset(ZoneOffset.UTC))
+                .addValue("now", now.atOffset(ZoneOffset.UTC));
+        return jdbcTemplate.query(ROTATE, params, (rs, rowNum) -> new RefreshTokenOwner(
+                        rs.getLong("id"),
+                        rs.getString("email"),
+                        Role.valueOf(rs.getString("role")),
+                        rs.getInt("token_version")))
+                .stream()
+                .findFirst();
+    }
+}
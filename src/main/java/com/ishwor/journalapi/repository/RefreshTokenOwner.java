@@ -0,0 +1,18 @@
+package com.ishwor.journalapi.repository;
+
+import com.ishwor.journalapi.entity.Role;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * The user columns returned together with a rotated refresh token, enough to mint the
+ * new access token without loading the user.
+ */
+@Getter
+@AllArgsConstructor
+public class RefreshTokenOwner {
+    private final Long userId;
+    private final String email;
+    private final Role role;
+    private final int tokenVersion;
+}
@@ -0,0 +1,33 @@
+package com.ishwor.journalapi.repository;
+
+import com.ishwor.journalapi.entity.RevokedAccessTokenEntity;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.List;
+
+public interface RevokedAccessTokenRepository extends JpaRepository<RevokedAccessTokenEntity, String> {
+
+    // Revoking the same token twice (e.g. a retried logout) is not an error
+    @Transactional
+    @Modifying
+    @Query(value = """
+            INSERT INTO revoked_access_tokens (jti, expires_at, revoked_at)
+            VALUES (:jti, :expiresAt, :revokedAt)
+            ON CONFLICT (jti) DO NOTHING
+            """, nativeQuery = true)
+    void insertIfAbsent(String jti, Instant expiresAt, Instant revokedAt);
+
+    boolean existsByJtiAndExpiresAtAfter(String jti, Instant now);
+
+    @Query("SELECT r FROM RevokedAccessTokenEntity r WHERE r.revokedAt >= :since AND r.expiresAt > :now")
+    List<RevokedAccessTokenEntity> findActiveRevokedSince(Instant since, Instant now);
+
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM RevokedAccessTokenEntity r WHERE r.expiresAt < :cutoff")
+    int deleteExpired(Instant cutoff);
+}
@@ -0,0 +1,30 @@
+package com.ishwor.journalapi.repository;
+
+import com.ishwor.journalapi.entity.UsedRefreshTokenEntity;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.Optional;
+
+public interface UsedRefreshTokenRepository extends JpaRepository<UsedRefreshTokenEntity, String> {
+
+    @Query("SELECT u.familyId FROM UsedRefreshTokenEntity u WHERE u.tokenHash = :tokenHash")
+    Optional<String> findFamilyIdByTokenHash(String tokenHash);
+
+    // Same batching as RefreshTokenEntityRepository.deleteExpiredBatch
+    @Transactional
+    @Modifying
+    @Query(value = """
+            DELETE FROM used_refresh_tokens
+            WHERE token_hash IN (
+                SELECT token_hash FROM used_refresh_tokens
+                WHERE expires_at < :cutoff
+                LIMIT :limit
+                FOR UPDATE SKIP LOCKED
+            )
+            """, nativeQuery = true)
+    int deleteExpiredBatch(Instant cutoff, int limit);
+}
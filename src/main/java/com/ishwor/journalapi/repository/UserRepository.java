@@ -2,10 +2,28 @@ package com.ishwor.journalapi.repository;
 
 import com.ishwor.journalapi.entity.UserEntity;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.Optional;
 
 public interface UserRepository extends JpaRepository<UserEntity, Long> {
   Optional<UserEntity> findByEmail(String email);
   boolean existsByEmail(String email);
+
+  @Query("SELECT u.tokenVersion FROM UserEntity u WHERE u.id = :id")
+  Optional<Integer> findTokenVersionById(Long id);
+
+  @Query("SELECT u.journalCount FROM UserEntity u WHERE u.id = :id")
+  Optional<Long> findJournalCountById(Long id);
+
+  @Modifying
+  @Query("UPDATE UserEntity u SET u.tokenVersion = u.tokenVersion + 1 WHERE u.id = :id")
+  int incrementTokenVersion(Long id);
+
+  @Transactional
+  @Modifying
+  @Query("UPDATE UserEntity u SET u.passwordHash = :newHash WHERE u.id = :id AND u.passwordHash = :oldHash")
+  int replacePasswordHash(Long id, String oldHash, String newHash);
 }
\ No newline at end of file
@@ -0,0 +1,94 @@
+package com.ishwor.journalapi.search;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Turns text into index terms: lower-cased runs of letters and digits, minus common English
+ * stop words. No stemming, so unlike the Postgres engine "hike" does not match "hiking".
+ */
+final class Analyzer {
+
+    static final int MAX_TERM_LENGTH = 64;
+
+    // Term frequencies are capped so title and content weights fit in one byte each
+    private static final int MAX_FREQUENCY = 255;
+
+    private static final Set<String> STOP_WORDS = Set.of(
+            "a", "an", "and", "are", "as", "at", "be", "but", "by", "for", "if", "in", "into", "is", "it",
+            "no", "not", "of", "on", "or", "such", "that", "the", "their", "then", "there", "these",
+            "they", "this", "to", "was", "will", "with", "i", "me", "my", "we", "our", "you", "your");
+
+    private Analyzer() {
+    }
+
+    static List<String> terms(String text) {
+        List<String> terms = new ArrayList<>();
+        forEachTerm(text, (term, start, end) -> terms.add(term));
+        return terms;
+    }
+
+    /**
+     * @return each distinct term of the journal with its weights packed as
+     * {@code titleFrequency << 8 | contentFrequency}
+     */
+    static Map<String, Integer> weights(String title, String content) {
+        Map<String, Integer> weights = new HashMap<>();
+        forEachTerm(title, (term, start, end) -> weights.merge(term, 1 << 8, (a, b) -> (a >>> 8) == MAX_FREQUENCY ? a : a + b));
+        forEachTerm(content, (term, start, end) -> weights.merge(term, 1, (a, b) -> (a & 0xFF) == MAX_FREQUENCY ? a : a + b));
+        return weights;
+    }
+
+    static Query parse(String query) {
+        Set<String> include = new LinkedHashSet<>();
+        Set<String> exclude = new LinkedHashSet<>();
+        for (String word : query.split("\\s+")) {
+            if (word.equalsIgnoreCase("or")) {
+                // Every term is required; "or" is accepted for compatibility with the SQL engine's syntax
+                continue;
+            }
+            boolean negated = word.startsWith("-");
+            (negated ? exclude : include).addAll(terms(negated ? word.substring(1) : word));
+        }
+        include.removeAll(exclude);
+        return new Query(List.copyOf(include), List.copyOf(exclude));
+    }
+
+    interface TermConsumer {
+        void accept(String term, int start, int end);
+    }
+
+    /**
+     * Calls {@code consumer} for every term of {@code text} with its character range.
+     */
+    static void forEachTerm(String text, TermConsumer consumer) {
+        int length = text.length();
+        int i = 0;
+        while (i < length) {
+            while (i < length && !Character.isLetterOrDigit(text.charAt(i))) {
+                i++;
+            }
+            int start = i;
+            while (i < length && Character.isLetterOrDigit(text.charAt(i))) {
+                i++;
+            }
+            if (i > start) {
+                String term = text.substring(start, Math.min(i, start + MAX_TERM_LENGTH)).toLowerCase(Locale.ROOT);
+                if (!STOP_WORDS.contains(term)) {
+                    consumer.accept(term, start, i);
+                }
+            }
+        }
+    }
+
+    /**
+     * All of {@code include} must match and none of {@code exclude} may.
+     */
+    record Query(List<String> include, List<String> exclude) {
+    }
+}
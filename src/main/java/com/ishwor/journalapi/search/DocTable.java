@@ -0,0 +1,135 @@
+package com.ishwor.journalapi.search;
+
+/**
+ * Open-addressing map from journal id to its owner and the generation of its latest
+ * indexed version, held in three parallel primitive arrays. A posting is live only while
+ * its generation is the one recorded here, so updates and deletes never rewrite postings.
+ * Not thread-safe; {@link InvertedIndex} guards it.
+ */
+final class DocTable {
+
+    private static final long EMPTY = 0;
+
+    private long[] ids;
+    private long[] owners;
+    private int[] generations;
+    private int size;
+
+    DocTable() {
+        allocate(1024);
+    }
+
+    int size() {
+        return size;
+    }
+
+    /**
+     * @return the generation of {@code id}, or -1 if it is not indexed
+     */
+    int generation(long id) {
+        int slot = find(id);
+        return slot < 0 ? -1 : generations[slot];
+    }
+
+    /**
+     * @return the owner of {@code id}, or -1 if it is not indexed
+     */
+    long owner(long id) {
+        int slot = find(id);
+        return slot < 0 ? -1 : owners[slot];
+    }
+
+    /**
+     * @return true if {@code id} was not indexed before
+     */
+    boolean put(long id, long owner, int generation) {
+        if ((size + 1) * 4L > ids.length * 3L) {
+            resize(ids.length * 2);
+        }
+        int mask = ids.length - 1;
+        int slot = slot(id, mask);
+        while (ids[slot] != EMPTY) {
+            if (ids[slot] == id) {
+                owners[slot] = owner;
+                generations[slot] = generation;
+                return false;
+            }
+            slot = (slot + 1) & mask;
+        }
+        ids[slot] = id;
+        owners[slot] = owner;
+        generations[slot] = generation;
+        size++;
+        return true;
+    }
+
+    /**
+     * @return the owner of the removed id, or -1 if it was not indexed
+     */
+    long remove(long id) {
+        int slot = find(id);
+        if (slot < 0) {
+            return -1;
+        }
+        long owner = owners[slot];
+        // Backward-shift deletion keeps probe chains intact without tombstones
+        int mask = ids.length - 1;
+        int hole = slot;
+        int next = (hole + 1) & mask;
+        while (ids[next] != EMPTY) {
+            int home = slot(ids[next], mask);
+            if (((next - home) & mask) >= ((next - hole) & mask)) {
+                ids[hole] = ids[next];
+                owners[hole] = owners[next];
+                generations[hole] = generations[next];
+                hole = next;
+            }
+            next = (next + 1) & mask;
+        }
+        ids[hole] = EMPTY;
+        size--;
+        return owner;
+    }
+
+    private int find(long id) {
+        int mask = ids.length - 1;
+        int slot = slot(id, mask);
+        while (ids[slot] != EMPTY) {
+            if (ids[slot] == id) {
+                return slot;
+            }
+            slot = (slot + 1) & mask;
+        }
+        return -1;
+    }
+
+    private void resize(int capacity) {
+        long[] oldIds = ids;
+        long[] oldOwners = owners;
+        int[] oldGenerations = generations;
+        allocate(capacity);
+        int mask = capacity - 1;
+        for (int i = 0; i < oldIds.length; i++) {
+            if (oldIds[i] != EMPTY) {
+                int slot = slot(oldIds[i], mask);
+                while (ids[slot] != EMPTY) {
+                    slot = (slot + 1) & mask;
+                }
+                ids[slot] = oldIds[i];
+                owners[slot] = oldOwners[i];
+                generations[slot] = oldGenerations[i];
+            }
+        }
+    }
+
+    private void allocate(int capacity) {
+        ids = new long[capacity];
+        owners = new long[capacity];
+        generations = new int[capacity];
+    }
+
+    private static int slot(long id, int mask) {
+        long h = id * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32)) & mask;
+    }
+}
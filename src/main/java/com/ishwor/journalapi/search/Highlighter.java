@@ -0,0 +1,79 @@
+package com.ishwor.journalapi.search;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Locale;
+
+/**
+ * Builds snippets like the SQL engine's ts_headline: a window of words around the first
+ * match, with every matching word wrapped in {@code <mark>}. Text is not escaped, the same
+ * as ts_headline.
+ */
+final class Highlighter {
+
+    static final String START = "<mark>";
+    static final String STOP = "</mark>";
+
+    private static final int MAX_WORDS = 30;
+    // Words of context kept before the first match
+    private static final int LEAD_WORDS = 5;
+
+    private Highlighter() {
+    }
+
+    static String snippet(String content, Collection<String> terms) {
+        int[] starts = new int[64];
+        int[] ends = new int[64];
+        int words = 0;
+        int first = -1;
+        int length = content.length();
+        int i = 0;
+        while (i < length) {
+            while (i < length && !Character.isLetterOrDigit(content.charAt(i))) {
+                i++;
+            }
+            int start = i;
+            while (i < length && Character.isLetterOrDigit(content.charAt(i))) {
+                i++;
+            }
+            if (i == start) {
+                break;
+            }
+            if (words == starts.length) {
+                starts = Arrays.copyOf(starts, words * 2);
+                ends = Arrays.copyOf(ends, words * 2);
+            }
+            starts[words] = start;
+            ends[words] = i;
+            if (first < 0 && matches(content, start, i, terms)) {
+                first = words;
+            }
+            words++;
+            // Past the first match everything needed is in hand
+            if (first >= 0 && words >= first + MAX_WORDS) {
+                break;
+            }
+        }
+        if (words == 0) {
+            return "";
+        }
+
+        int from = first < 0 ? 0 : Math.max(0, first - LEAD_WORDS);
+        int to = Math.min(words, from + MAX_WORDS);
+        StringBuilder snippet = new StringBuilder();
+        int copied = starts[from];
+        for (int w = from; w < to; w++) {
+            if (matches(content, starts[w], ends[w], terms)) {
+                snippet.append(content, copied, starts[w])
+                        .append(START).append(content, starts[w], ends[w]).append(STOP);
+                copied = ends[w];
+            }
+        }
+        return snippet.append(content, copied, ends[to - 1]).toString();
+    }
+
+    private static boolean matches(String content, int start, int end, Collection<String> terms) {
+        String word = content.substring(start, Math.min(end, start + Analyzer.MAX_TERM_LENGTH));
+        return terms.contains(word.toLowerCase(Locale.ROOT));
+    }
+}
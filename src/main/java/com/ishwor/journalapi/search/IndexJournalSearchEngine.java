@@ -0,0 +1,308 @@
+package com.ishwor.journalapi.search;
+
+import com.ishwor.journalapi.config.SearchProperties;
+import com.ishwor.journalapi.event.JournalChangedEvent;
+import com.ishwor.journalapi.repository.JournalRepository;
+import com.ishwor.journalapi.repository.JournalRow;
+import com.ishwor.journalapi.repository.JournalSearchCursor;
+import com.ishwor.journalapi.repository.JournalSearchResult;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Answers searches from an {@link InvertedIndex} held in this process, with no Postgres
+ * extension or tsvector work per query. Only the rows of the returned page are read from
+ * the database, by primary key, for titles and snippets.
+ * <p>
+ * The index is a cache of the journals table: it is rebuilt from scratch in the background
+ * on every start and kept current from {@link JournalChangedEvent}s after that. Until the
+ * first rebuild finishes, searches go to Postgres. Changes made by other application
+ * instances arrive through the cache invalidation bus, which has the journals re-read, or
+ * the whole index rebuilt when notifications may have been lost. A later rebuild goes to a
+ * directory of its own while the current index keeps answering.
+ * <p>
+ * Matching differs from the Postgres engine: no stemming, phrases are matched as separate
+ * words, and {@code or} is ignored, so every word is required.
+ */
+@Component
+@ConditionalOnProperty(prefix = "journal.search", name = "engine", havingValue = "index")
+public class IndexJournalSearchEngine implements JournalSearchEngine {
+
+    private static final Logger log = LoggerFactory.getLogger(IndexJournalSearchEngine.class);
+
+    private final JournalRepository repository;
+    private final SearchProperties properties;
+    private final TransactionTemplate readOnlyTransaction;
+
+    // Guards everything below; changes are applied under it so none is lost to an index swap
+    private final Object rebuildLock = new Object();
+    // Null until the first rebuild has finished
+    private volatile InvertedIndex index;
+    // Changes seen while a rebuild runs, replayed on top of it; null when none is running
+    private List<Consumer<InvertedIndex>> pending;
+    private boolean rebuilding;
+    // Set once the running rebuild has started reading; a rebuild asked for after that runs again
+    private boolean reading;
+    private boolean rebuildRequested;
+    private int builds;
+
+    public IndexJournalSearchEngine(JournalRepository repository, SearchProperties properties,
+                                    PlatformTransactionManager transactionManager) {
+        this.repository = repository;
+        this.properties = properties;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+    }
+
+    boolean isReady() {
+        return index != null;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void startRebuild() {
+        invalidateAll();
+    }
+
+    /**
+     * Rebuilds the index in the background. A rebuild that has not started reading yet already
+     * covers the request; otherwise another one follows it.
+     */
+    @Override
+    public void invalidateAll() {
+        synchronized (rebuildLock) {
+            if (rebuilding) {
+                rebuildRequested |= reading;
+                return;
+            }
+            rebuilding = true;
+        }
+        Thread thread = new Thread(this::rebuildUntilCurrent, "journal-search-rebuild");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    /**
+     * Re-reads the journals from the database and indexes them again, dropping those that
+     * are gone.
+     */
+    @Override
+    public void invalidate(Collection<Long> ids) {
+        List<Long> ownerIds = new ArrayList<>();
+        List<JournalRow> rows = new ArrayList<>();
+        try {
+            repository.findRowsOfAnyOwner(ids, (ownerId, row) -> {
+                ownerIds.add(ownerId);
+                rows.add(row);
+            });
+        } catch (RuntimeException e) {
+            log.warn("Could not re-read changed journals; rebuilding the search index instead", e);
+            invalidateAll();
+            return;
+        }
+        Set<Long> deleted = new HashSet<>(ids);
+        rows.forEach(row -> deleted.remove(row.getId()));
+        change(index -> {
+            for (int i = 0; i < rows.size(); i++) {
+                JournalRow row = rows.get(i);
+                index.upsert(ownerIds.get(i), row.getId(), row.getTitle(), row.getContent());
+            }
+            deleted.forEach(index::delete);
+        });
+    }
+
+    private void rebuildUntilCurrent() {
+        while (true) {
+            rebuild();
+            synchronized (rebuildLock) {
+                if (!rebuildRequested) {
+                    rebuilding = false;
+                    return;
+                }
+                rebuildRequested = false;
+            }
+        }
+    }
+
+    void rebuild() {
+        long started = System.nanoTime();
+        Path root = Path.of(properties.getIndexDirectory());
+        int build;
+        synchronized (rebuildLock) {
+            pending = new ArrayList<>();
+            reading = false;
+            build = ++builds;
+        }
+        Path directory = root.resolve("build-" + build);
+        InvertedIndex building = new InvertedIndex(directory, properties.getFlushThreshold(), properties.getMaxSegments());
+        InvertedIndex replaced;
+        try {
+            if (build == 1) {
+                clearDirectory(root);
+            }
+            // The transaction is what makes the driver honour the fetch size
+            readOnlyTransaction.executeWithoutResult(status -> {
+                synchronized (rebuildLock) {
+                    reading = true;
+                }
+                repository.streamAll(properties.getRebuildFetchSize(),
+                        (ownerId, row) -> building.upsert(ownerId, row.getId(), row.getTitle(), row.getContent()));
+            });
+
+            synchronized (rebuildLock) {
+                pending.forEach(change -> applyQuietly(building, change));
+                pending = null;
+                replaced = index;
+                index = building;
+            }
+            log.info("Search index rebuilt with {} journals in {} segments in {} ms", building.size(),
+                    building.segmentCount(), TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started));
+        } catch (RuntimeException e) {
+            synchronized (rebuildLock) {
+                pending = null;
+            }
+            building.close();
+            deleteDirectory(directory);
+            // Searches keep going to the index there was, or to Postgres
+            log.error("Search index rebuild failed", e);
+            return;
+        }
+        if (replaced != null) {
+            replaced.close();
+            deleteDirectory(replaced.directory());
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onJournalChanged(JournalChangedEvent event) {
+        change(index -> apply(index, event));
+    }
+
+    private void change(Consumer<InvertedIndex> change) {
+        synchronized (rebuildLock) {
+            if (pending != null) {
+                pending.add(change);
+            }
+            InvertedIndex current = index;
+            if (current != null) {
+                applyQuietly(current, change);
+            }
+        }
+    }
+
+    private static void applyQuietly(InvertedIndex index, Consumer<InvertedIndex> change) {
+        try {
+            change.accept(index);
+        } catch (RuntimeException e) {
+            // The write itself has committed; don't fail the request over the index
+            log.warn("Could not apply journal change to the search index", e);
+        }
+    }
+
+    @Override
+    public List<JournalSearchResult> search(Long ownerId, String query, JournalSearchCursor after, int limit) {
+        InvertedIndex current = index;
+        if (current == null) {
+            return repository.search(ownerId, query, after, limit);
+        }
+        List<InvertedIndex.Hit> hits = current.search(ownerId, query, after, limit);
+        if (hits.isEmpty()) {
+            return List.of();
+        }
+
+        Map<Long, JournalRow> rows = repository.findRows(ownerId, hits.stream().map(InvertedIndex.Hit::id).toList())
+                .stream()
+                .collect(Collectors.toMap(JournalRow::getId, Function.identity()));
+        List<String> terms = Analyzer.parse(query).include();
+        List<JournalSearchResult> results = new ArrayList<>(hits.size());
+        for (InvertedIndex.Hit hit : hits) {
+            JournalRow row = rows.get(hit.id());
+            // Deleted since the hit was found; the event is on its way
+            if (row != null) {
+                results.add(new JournalSearchResult(row.getId(), row.getTitle(), Highlighter.snippet(row.getContent(), terms),
+                        hit.rank(), row.getCreatedAt(), row.getUpdatedAt()));
+            }
+        }
+        return results;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        InvertedIndex current = index;
+        if (current != null) {
+            current.close();
+        }
+    }
+
+    private static void apply(InvertedIndex index, JournalChangedEvent event) {
+        if (event.getType() == JournalChangedEvent.Type.DELETED) {
+            event.getIds().forEach(index::delete);
+            return;
+        }
+        for (JournalChangedEvent.Journal journal : event.getJournals()) {
+            long ownerId = event.getOwnerId() != null ? event.getOwnerId() : index.ownerOf(journal.getId());
+            // Admin edit of a journal the index never saw; nothing to attach it to
+            if (ownerId >= 0) {
+                index.upsert(ownerId, journal.getId(), journal.getTitle(), journal.getContent());
+            }
+        }
+    }
+
+    // Segments left over from an earlier run are never reused
+    private static void clearDirectory(Path directory) {
+        try {
+            Files.createDirectories(directory);
+            try (DirectoryStream<Path> segments = Files.newDirectoryStream(directory, "segment-*.seg")) {
+                for (Path segment : segments) {
+                    Files.delete(segment);
+                }
+            }
+            try (DirectoryStream<Path> builds = Files.newDirectoryStream(directory, "build-*")) {
+                for (Path build : builds) {
+                    deleteDirectory(build);
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not prepare search index directory " + directory, e);
+        }
+    }
+
+    private static void deleteDirectory(Path directory) {
+        try {
+            if (!Files.isDirectory(directory)) {
+                return;
+            }
+            try (DirectoryStream<Path> segments = Files.newDirectoryStream(directory, "segment-*.seg")) {
+                for (Path segment : segments) {
+                    Files.delete(segment);
+                }
+            }
+            Files.delete(directory);
+        } catch (IOException e) {
+            log.warn("Could not delete search index directory {}", directory, e);
+        }
+    }
+}
@@ -0,0 +1,656 @@
+package com.ishwor.journalapi.search;
+
+import com.ishwor.journalapi.repository.JournalSearchCursor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.TreeMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-process inverted index over journal titles and content, with one posting list per
+ * (owner, term) so a search only ever reads the caller's postings.
+ * <p>
+ * New and changed journals go to an in-memory buffer; every {@code flushThreshold} journals
+ * the buffer is written out as an immutable {@link SegmentFile}, and once there are more than
+ * {@code maxSegments} segments the newest ones are merged into one. Updates and deletes only
+ * touch the {@link DocTable}: a posting whose generation is no longer current is skipped on
+ * read and dropped by the next flush or merge.
+ * <p>
+ * Thread-safe. Searches share a read lock and writes take the write lock, but only to change
+ * the buffer and the doc table. Flushes and merges run on a background thread of the index,
+ * so no caller waits on disk: a flush swaps the buffer out under the write lock and writes
+ * the segment without any lock, the swapped-out buffer staying searchable meanwhile; a merge
+ * reads its segments without locks and takes the read lock only per key, to check which
+ * postings are still live.
+ */
+public final class InvertedIndex implements Closeable {
+
+    private static final Logger log = LoggerFactory.getLogger(InvertedIndex.class);
+
+    // How long close waits for a flush or merge in progress
+    private static final long CLOSE_TIMEOUT_SECONDS = 30;
+
+    // Postgres ranks title (weight A) 2.5 times content (weight B); keep the same balance
+    private static final float TITLE_BOOST = 2.5f;
+    private static final float SATURATION = 1.2f;
+
+    private final Path directory;
+    private final int flushThreshold;
+    private final int maxSegments;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    // Runs flushes and merges one at a time
+    private final ExecutorService maintenance;
+
+    private final DocTable docs = new DocTable();
+    private final Map<Long, Integer> ownerCounts = new HashMap<>();
+    private final List<SegmentFile> segments = new ArrayList<>();
+
+    private Map<Key, PostingBuffer> buffer = new HashMap<>();
+    private int bufferedDocs;
+    private int bufferMinGeneration;
+    private int generation;
+    private boolean maintenanceScheduled;
+    // The buffer being written out as a segment; searched like one until the segment replaces it
+    private Flushing flushing;
+    // Only touched by the maintenance thread
+    private int segmentSequence;
+
+    public InvertedIndex(Path directory, int flushThreshold, int maxSegments) {
+        this.directory = directory;
+        this.flushThreshold = flushThreshold;
+        this.maxSegments = Math.max(2, maxSegments);
+        this.maintenance = Executors.newSingleThreadExecutor(r -> {
+            Thread thread = new Thread(r, "journal-search-maintenance");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Indexes a journal, replacing whatever was indexed for the same id before.
+     */
+    public void upsert(long ownerId, long id, String title, String content) {
+        if (id <= 0 || id > SegmentFile.MAX_ID) {
+            throw new IllegalArgumentException("Journal id out of range: " + id);
+        }
+        // Tokenizing is the expensive part and needs no lock
+        Map<String, Integer> weights = Analyzer.weights(title, content);
+
+        lock.writeLock().lock();
+        try {
+            int docGeneration = ++generation;
+            if (bufferedDocs == 0) {
+                bufferMinGeneration = docGeneration;
+            }
+            long previousOwner = docs.owner(id);
+            if (previousOwner != ownerId) {
+                if (previousOwner >= 0) {
+                    ownerCounts.merge(previousOwner, -1, Integer::sum);
+                }
+                ownerCounts.merge(ownerId, 1, Integer::sum);
+            }
+            docs.put(id, ownerId, docGeneration);
+            for (Map.Entry<String, Integer> term : weights.entrySet()) {
+                buffer.computeIfAbsent(new Key(ownerId, term.getKey()), k -> new PostingBuffer())
+                        .add(id << 16 | term.getValue(), docGeneration);
+            }
+            if (++bufferedDocs >= flushThreshold && !maintenanceScheduled) {
+                maintenanceScheduled = true;
+                maintenance.execute(this::maintain);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * @return false if the journal was not indexed
+     */
+    public boolean delete(long id) {
+        lock.writeLock().lock();
+        try {
+            long owner = docs.remove(id);
+            if (owner < 0) {
+                return false;
+            }
+            ownerCounts.merge(owner, -1, Integer::sum);
+            return true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * @return the owner of an indexed journal, or -1 if it is not indexed
+     */
+    public long ownerOf(long id) {
+        lock.readLock().lock();
+        try {
+            return docs.owner(id);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public Path directory() {
+        return directory;
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return docs.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int segmentCount() {
+        lock.readLock().lock();
+        try {
+            return segments.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Journals of one owner containing every term of {@code query} and none of its
+     * {@code -excluded} terms, best match first.
+     *
+     * @param after the last hit of the previous page; {@code null} for the first page
+     * @return up to {@code limit} hits ordered by rank, then id, both descending
+     */
+    public List<Hit> search(long ownerId, String query, JournalSearchCursor after, int limit) {
+        Analyzer.Query parsed = Analyzer.parse(query);
+        if (parsed.include().isEmpty() || limit <= 0) {
+            return List.of();
+        }
+
+        lock.readLock().lock();
+        try {
+            int ownerDocs = ownerCounts.getOrDefault(ownerId, 0);
+            if (ownerDocs <= 0) {
+                return List.of();
+            }
+            long[][] include = new long[parsed.include().size()][];
+            for (int i = 0; i < include.length; i++) {
+                include[i] = livePostings(ownerId, parsed.include().get(i));
+                if (include[i].length == 0) {
+                    return List.of();
+                }
+            }
+            // Start from the rarest term so every later intersection only shrinks a small set
+            Arrays.sort(include, Comparator.comparingInt(postings -> postings.length));
+
+            long[] ids = new long[include[0].length];
+            float[] scores = new float[ids.length];
+            float idf = idf(ownerDocs, include[0].length);
+            for (int i = 0; i < ids.length; i++) {
+                ids[i] = include[0][i] >>> 16;
+                scores[i] = score(idf, (int) include[0][i] & 0xFFFF);
+            }
+            int count = ids.length;
+            for (int t = 1; t < include.length && count > 0; t++) {
+                count = intersect(ids, scores, count, include[t], idf(ownerDocs, include[t].length));
+            }
+            for (String term : parsed.exclude()) {
+                count = subtract(ids, scores, count, livePostings(ownerId, term));
+            }
+            return top(ids, scores, count, after, limit);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Waits for the flushes and merges that are already due. Writes never wait for them; this
+     * is for tests and benchmarks that want to look at the settled index.
+     */
+    public void awaitMaintenance() {
+        try {
+            maintenance.submit(() -> { }).get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Search index maintenance failed", e.getCause());
+        }
+    }
+
+    /**
+     * Stops the maintenance thread and removes the segment files. Searches that still hold the
+     * index keep working from the mapped segments, but nothing may be written to it afterwards.
+     */
+    @Override
+    public void close() {
+        maintenance.shutdown();
+        try {
+            if (!maintenance.awaitTermination(CLOSE_TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+                maintenance.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            maintenance.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+        lock.writeLock().lock();
+        try {
+            segments.forEach(SegmentFile::delete);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // Caller holds the read or the write lock
+    private long[] livePostings(long ownerId, String term) {
+        byte[] bytes = term.getBytes(StandardCharsets.UTF_8);
+        long[] live = new long[16];
+        int count = 0;
+        for (SegmentFile segment : segments) {
+            int key = segment.find(ownerId, bytes);
+            if (key < 0) {
+                continue;
+            }
+            for (long posting : segment.postings(key)) {
+                if (segment.isLive(docs.generation(posting >>> 16))) {
+                    if (count == live.length) {
+                        live = Arrays.copyOf(live, count * 2);
+                    }
+                    live[count++] = posting;
+                }
+            }
+        }
+        Key key = new Key(ownerId, term);
+        if (flushing != null) {
+            long[] postings = flushing.postings.get(key);
+            if (postings != null) {
+                for (long posting : postings) {
+                    if (flushing.isLive(docs.generation(posting >>> 16))) {
+                        if (count == live.length) {
+                            live = Arrays.copyOf(live, count * 2);
+                        }
+                        live[count++] = posting;
+                    }
+                }
+            }
+        }
+        PostingBuffer buffered = buffer.get(key);
+        if (buffered != null) {
+            for (int i = 0; i < buffered.size; i++) {
+                if (docs.generation(buffered.postings[i] >>> 16) == buffered.generations[i]) {
+                    if (count == live.length) {
+                        live = Arrays.copyOf(live, count * 2);
+                    }
+                    live[count++] = buffered.postings[i];
+                }
+            }
+        }
+        // A journal is live in exactly one place, so sorting by the packed value sorts by id
+        // without duplicates
+        long[] sorted = Arrays.copyOf(live, count);
+        Arrays.sort(sorted);
+        return sorted;
+    }
+
+    // Keeps the candidates that also appear in postings, adding the term's score to them
+    private static int intersect(long[] ids, float[] scores, int count, long[] postings, float idf) {
+        int kept = 0;
+        int p = 0;
+        for (int i = 0; i < count && p < postings.length; i++) {
+            while (p < postings.length && postings[p] >>> 16 < ids[i]) {
+                p++;
+            }
+            if (p < postings.length && postings[p] >>> 16 == ids[i]) {
+                ids[kept] = ids[i];
+                scores[kept] = scores[i] + score(idf, (int) postings[p] & 0xFFFF);
+                kept++;
+            }
+        }
+        return kept;
+    }
+
+    private static int subtract(long[] ids, float[] scores, int count, long[] postings) {
+        int kept = 0;
+        int p = 0;
+        for (int i = 0; i < count; i++) {
+            while (p < postings.length && postings[p] >>> 16 < ids[i]) {
+                p++;
+            }
+            if (p == postings.length || postings[p] >>> 16 != ids[i]) {
+                ids[kept] = ids[i];
+                scores[kept] = scores[i];
+                kept++;
+            }
+        }
+        return kept;
+    }
+
+    private static List<Hit> top(long[] ids, float[] scores, int count, JournalSearchCursor after, int limit) {
+        // Min-heap of the best hits so far; the root is the first to be displaced
+        PriorityQueue<Hit> best = new PriorityQueue<>(limit + 1, Hit.ORDER);
+        for (int i = 0; i < count; i++) {
+            float rank = scores[i];
+            if (after != null && (rank > after.getRank() || rank == after.getRank() && ids[i] >= after.getId())) {
+                continue;
+            }
+            if (best.size() < limit) {
+                best.add(new Hit(ids[i], rank));
+            } else if (Hit.ORDER.compare(best.peek(), new Hit(ids[i], rank)) < 0) {
+                best.poll();
+                best.add(new Hit(ids[i], rank));
+            }
+        }
+        List<Hit> hits = new ArrayList<>(best);
+        hits.sort(Hit.ORDER.reversed());
+        return hits;
+    }
+
+    // BM25's idf, always positive
+    private static float idf(int docCount, int docFrequency) {
+        return (float) Math.log(1 + (docCount - docFrequency + 0.5) / (docFrequency + 0.5));
+    }
+
+    private static float score(float idf, int weights) {
+        return idf * (TITLE_BOOST * saturate(weights >>> 8) + saturate(weights & 0xFF));
+    }
+
+    private static float saturate(int frequency) {
+        return frequency / (frequency + SATURATION);
+    }
+
+    // Runs on the maintenance thread; a failure leaves everything searchable and is retried
+    // on the next flush
+    private void maintain() {
+        try {
+            while (flush()) {
+                // The buffer filled up again while the segment was written
+            }
+            while (mergeOnce()) {
+                // Each merge removes at least one segment
+            }
+        } catch (RuntimeException e) {
+            log.warn("Search index maintenance failed", e);
+        }
+    }
+
+    // Writes the buffer out as a segment. Returns true if it is already due again.
+    private boolean flush() {
+        Flushing writing;
+        lock.writeLock().lock();
+        try {
+            maintenanceScheduled = false;
+            // A segment whose write failed before goes first
+            if (flushing == null) {
+                if (bufferedDocs < flushThreshold) {
+                    return false;
+                }
+                flushing = freeze();
+                buffer = new HashMap<>();
+                bufferedDocs = 0;
+            }
+            writing = flushing;
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        SegmentFile segment = write(writing);
+
+        lock.writeLock().lock();
+        try {
+            segments.add(segment);
+            flushing = null;
+            return bufferedDocs >= flushThreshold;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // Caller holds the write lock. Keeps only the postings that are still current, sorted,
+    // so the segment can be written without looking at the doc table.
+    private Flushing freeze() {
+        TreeMap<Key, long[]> postings = new TreeMap<>();
+        for (Map.Entry<Key, PostingBuffer> entry : buffer.entrySet()) {
+            PostingBuffer buffered = entry.getValue();
+            long[] live = new long[buffered.size];
+            int count = 0;
+            for (int i = 0; i < buffered.size; i++) {
+                if (docs.generation(buffered.postings[i] >>> 16) == buffered.generations[i]) {
+                    live[count++] = buffered.postings[i];
+                }
+            }
+            long[] sorted = Arrays.copyOf(live, count);
+            Arrays.sort(sorted);
+            postings.put(entry.getKey(), sorted);
+        }
+        return new Flushing(postings, bufferMinGeneration, generation);
+    }
+
+    private SegmentFile write(Flushing writing) {
+        SegmentFile.Writer writer = null;
+        try {
+            Files.createDirectories(directory);
+            writer = new SegmentFile.Writer(nextSegmentPath(), writing.minGeneration, writing.maxGeneration);
+            for (Map.Entry<Key, long[]> entry : writing.postings.entrySet()) {
+                writer.add(entry.getKey().owner, entry.getKey().bytes, entry.getValue(), entry.getValue().length);
+            }
+            return writer.finish();
+        } catch (IOException e) {
+            if (writer != null) {
+                writer.abort();
+            }
+            throw new UncheckedIOException("Could not write search segment", e);
+        }
+    }
+
+    // Merges the newest segments if there are too many. Returns false if there was nothing to do.
+    private boolean mergeOnce() {
+        List<SegmentFile> merging;
+        lock.readLock().lock();
+        try {
+            if (segments.size() <= maxSegments) {
+                return false;
+            }
+            merging = List.copyOf(segments.subList(mergeStart(), segments.size()));
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        SegmentFile merged = merge(merging);
+
+        // Anything written since is newer than the merged generations, so the swap loses nothing
+        lock.writeLock().lock();
+        try {
+            int at = segments.indexOf(merging.get(0));
+            segments.removeAll(merging);
+            segments.add(at, merged);
+        } finally {
+            lock.writeLock().unlock();
+        }
+        merging.forEach(SegmentFile::delete);
+        return true;
+    }
+
+    // Takes the newest segments, stopping at the first older one that is bigger than all of them
+    // together, so segment sizes stay roughly geometric and big segments are rarely rewritten
+    private int mergeStart() {
+        int start = segments.size() - 1;
+        long merged = segments.get(start).size();
+        while (start > 0 && (segments.size() - start < 2 || segments.get(start - 1).size() <= merged)) {
+            start--;
+            merged += segments.get(start).size();
+        }
+        return start;
+    }
+
+    // The segments must be adjacent, so their generations are contiguous. Segments are immutable
+    // and need no lock; the doc table is read under the read lock, one key at a time. A journal
+    // changed after its postings were copied has a newer generation than the merged segment
+    // covers, so its copy is dead either way.
+    private SegmentFile merge(List<SegmentFile> merging) {
+        SegmentFile.Writer writer = null;
+        try {
+            writer = new SegmentFile.Writer(nextSegmentPath(), minGeneration(merging), maxGeneration(merging));
+            PriorityQueue<KeyCursor> keys = new PriorityQueue<>();
+            for (SegmentFile segment : merging) {
+                KeyCursor cursor = new KeyCursor(segment);
+                if (cursor.advance()) {
+                    keys.add(cursor);
+                }
+            }
+            long[] live = new long[16];
+            while (!keys.isEmpty()) {
+                KeyCursor first = keys.poll();
+                long owner = first.owner;
+                byte[] term = first.term;
+                int count = 0;
+                KeyCursor cursor = first;
+                lock.readLock().lock();
+                try {
+                    while (true) {
+                        for (long posting : cursor.segment.postings(cursor.key)) {
+                            if (cursor.segment.isLive(docs.generation(posting >>> 16))) {
+                                if (count == live.length) {
+                                    live = Arrays.copyOf(live, count * 2);
+                                }
+                                live[count++] = posting;
+                            }
+                        }
+                        if (cursor.advance()) {
+                            keys.add(cursor);
+                        }
+                        KeyCursor next = keys.peek();
+                        if (next == null || next.owner != owner || !Arrays.equals(next.term, term)) {
+                            break;
+                        }
+                        cursor = keys.poll();
+                    }
+                } finally {
+                    lock.readLock().unlock();
+                }
+                Arrays.sort(live, 0, count);
+                writer.add(owner, term, live, count);
+            }
+            return writer.finish();
+        } catch (IOException e) {
+            if (writer != null) {
+                writer.abort();
+            }
+            throw new UncheckedIOException("Could not merge search segments", e);
+        }
+    }
+
+    private static int minGeneration(List<SegmentFile> segments) {
+        return segments.stream().mapToInt(SegmentFile::minGeneration).min().orElseThrow();
+    }
+
+    private static int maxGeneration(List<SegmentFile> segments) {
+        return segments.stream().mapToInt(SegmentFile::maxGeneration).max().orElseThrow();
+    }
+
+    // Only called on the maintenance thread
+    private Path nextSegmentPath() {
+        return directory.resolve("segment-" + (++segmentSequence) + ".seg");
+    }
+
+    /**
+     * One search hit before it is joined with the journal's columns.
+     */
+    public record Hit(long id, float rank) {
+        static final Comparator<Hit> ORDER = Comparator.comparingDouble(Hit::rank).thenComparingLong(Hit::id);
+    }
+
+    private static final class Key implements Comparable<Key> {
+        private final long owner;
+        private final String term;
+        private final byte[] bytes;
+
+        Key(long owner, String term) {
+            this.owner = owner;
+            this.term = term;
+            this.bytes = term.getBytes(StandardCharsets.UTF_8);
+        }
+
+        @Override
+        public int compareTo(Key other) {
+            return SegmentFile.compareKeys(owner, bytes, other.owner, other.bytes);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof Key other && owner == other.owner && term.equals(other.term);
+        }
+
+        @Override
+        public int hashCode() {
+            return Long.hashCode(owner) * 31 + term.hashCode();
+        }
+    }
+
+    // A frozen buffer: the live postings per key, and the generations its segment will cover
+    private record Flushing(TreeMap<Key, long[]> postings, int minGeneration, int maxGeneration) {
+        boolean isLive(int generation) {
+            return generation >= minGeneration && generation <= maxGeneration;
+        }
+    }
+
+    // Postings appended since the last flush, each tagged with the generation it was written in
+    private static final class PostingBuffer {
+        private long[] postings = new long[4];
+        private int[] generations = new int[4];
+        private int size;
+
+        void add(long posting, int generation) {
+            if (size == postings.length) {
+                postings = Arrays.copyOf(postings, size * 2);
+                generations = Arrays.copyOf(generations, size * 2);
+            }
+            postings[size] = posting;
+            generations[size] = generation;
+            size++;
+        }
+    }
+
+    // Walks one segment's keys in order during a merge
+    private static final class KeyCursor implements Comparable<KeyCursor> {
+        private final SegmentFile segment;
+        private int key = -1;
+        private long owner;
+        private byte[] term;
+
+        KeyCursor(SegmentFile segment) {
+            this.segment = segment;
+        }
+
+        boolean advance() {
+            if (++key >= segment.keyCount()) {
+                return false;
+            }
+            owner = segment.owner(key);
+            term = segment.term(key);
+            return true;
+        }
+
+        @Override
+        public int compareTo(KeyCursor other) {
+            return SegmentFile.compareKeys(owner, term, other.owner, other.term);
+        }
+    }
+}
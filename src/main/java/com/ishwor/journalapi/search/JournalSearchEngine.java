@@ -0,0 +1,35 @@
+package com.ishwor.journalapi.search;
+
+import com.ishwor.journalapi.repository.JournalSearchCursor;
+import com.ishwor.journalapi.repository.JournalSearchResult;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Full-text search over one owner's journals. The implementation is picked with
+ * {@code journal.search.engine}: {@code postgres} (default) or {@code index}.
+ */
+public interface JournalSearchEngine {
+
+    /**
+     * @param query free text in web search syntax ({@code "exact phrase"}, {@code or}, {@code -word})
+     * @param after the last hit of the previous page; {@code null} for the first page
+     * @return up to {@code limit} hits ordered by rank, then id, both descending
+     */
+    List<JournalSearchResult> search(Long ownerId, String query, JournalSearchCursor after, int limit);
+
+    /**
+     * Called when other application instances changed these journals. Engines that keep
+     * journals in memory re-read them; the default does nothing.
+     */
+    default void invalidate(Collection<Long> ids) {
+    }
+
+    /**
+     * Called when changes made by other instances may have been missed, so anything kept in
+     * memory has to be rebuilt; the default does nothing.
+     */
+    default void invalidateAll() {
+    }
+}
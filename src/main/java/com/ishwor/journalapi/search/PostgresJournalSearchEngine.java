@@ -0,0 +1,28 @@
+package com.ishwor.journalapi.search;
+
+import com.ishwor.journalapi.repository.JournalRepository;
+import com.ishwor.journalapi.repository.JournalSearchCursor;
+import com.ishwor.journalapi.repository.JournalSearchResult;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Searches the GIN-indexed search_vector column; needs nothing beyond core Postgres.
+ */
+@Component
+@ConditionalOnProperty(prefix = "journal.search", name = "engine", havingValue = "postgres", matchIfMissing = true)
+public class PostgresJournalSearchEngine implements JournalSearchEngine {
+
+    private final JournalRepository repository;
+
+    public PostgresJournalSearchEngine(JournalRepository repository) {
+        this.repository = repository;
+    }
+
+    @Override
+    public List<JournalSearchResult> search(Long ownerId, String query, JournalSearchCursor after, int limit) {
+        return repository.search(ownerId, query, after, limit);
+    }
+}
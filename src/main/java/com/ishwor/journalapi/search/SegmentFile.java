@@ -0,0 +1,302 @@
+package com.ishwor.journalapi.search;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+/**
+ * An immutable, memory-mapped run of posting lists, one per (owner, term) key.
+ * <p>
+ * Layout: a 32-byte header, the postings, the term bytes, then a table of fixed-width keys
+ * sorted by owner and term so lookups binary-search the mapping without loading it on heap.
+ * Each posting list is a sequence of varints: the gap to the previous journal id, then the
+ * packed weights. In memory a posting is one long, {@code id << 16 | weights}.
+ * <p>
+ * A segment holds the journals indexed with generations {@code minGeneration..maxGeneration};
+ * its postings are only live for journals whose current generation is still in that range.
+ */
+final class SegmentFile {
+
+    private static final int MAGIC = 0x4A534547;
+    private static final int FORMAT_VERSION = 1;
+    private static final int HEADER_BYTES = 32;
+    // owner (8), term offset (4), postings offset (4), postings length (4), posting count (4)
+    private static final int KEY_BYTES = 24;
+
+    // Ids above this do not fit in a packed posting
+    static final long MAX_ID = (1L << 47) - 1;
+
+    private final Path path;
+    private final int minGeneration;
+    private final int maxGeneration;
+    private final MappedByteBuffer data;
+    private final int keyCount;
+    private final int keysStart;
+
+    private SegmentFile(Path path, MappedByteBuffer data) {
+        this.path = path;
+        this.data = data;
+        if (data.getInt(0) != MAGIC || data.getInt(4) != FORMAT_VERSION) {
+            throw new IllegalStateException("Not a search segment: " + path);
+        }
+        this.minGeneration = data.getInt(8);
+        this.maxGeneration = data.getInt(12);
+        this.keyCount = data.getInt(16);
+        this.keysStart = data.getInt(24);
+    }
+
+    int minGeneration() {
+        return minGeneration;
+    }
+
+    int maxGeneration() {
+        return maxGeneration;
+    }
+
+    // Bytes on disk
+    long size() {
+        return data.capacity();
+    }
+
+    int keyCount() {
+        return keyCount;
+    }
+
+    boolean isLive(int generation) {
+        return generation >= minGeneration && generation <= maxGeneration;
+    }
+
+    /**
+     * @return the index of the key, or -1 if the segment has no postings for it
+     */
+    int find(long owner, byte[] term) {
+        int low = 0;
+        int high = keyCount - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            int cmp = compare(mid, owner, term);
+            if (cmp < 0) {
+                low = mid + 1;
+            } else if (cmp > 0) {
+                high = mid - 1;
+            } else {
+                return mid;
+            }
+        }
+        return -1;
+    }
+
+    long owner(int key) {
+        return data.getLong(keyOffset(key));
+    }
+
+    byte[] term(int key) {
+        int offset = data.getInt(keyOffset(key) + 8);
+        byte[] term = new byte[data.getShort(offset) & 0xFFFF];
+        data.get(offset + 2, term);
+        return term;
+    }
+
+    /**
+     * @return the postings of the key as packed longs, in id order, live or not
+     */
+    long[] postings(int key) {
+        int base = keyOffset(key);
+        int position = data.getInt(base + 12);
+        long[] postings = new long[data.getInt(base + 20)];
+        long id = 0;
+        for (int i = 0; i < postings.length; i++) {
+            long gap = 0;
+            int shift = 0;
+            byte b;
+            do {
+                b = data.get(position++);
+                gap |= (long) (b & 0x7F) << shift;
+                shift += 7;
+            } while (b < 0);
+            int weights = 0;
+            shift = 0;
+            do {
+                b = data.get(position++);
+                weights |= (b & 0x7F) << shift;
+                shift += 7;
+            } while (b < 0);
+            id += gap;
+            postings[i] = id << 16 | weights;
+        }
+        return postings;
+    }
+
+    void delete() {
+        try {
+            // Readers that still hold the mapping keep working; the pages go away with it
+            Files.deleteIfExists(path);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not delete search segment " + path, e);
+        }
+    }
+
+    private int keyOffset(int key) {
+        return keysStart + key * KEY_BYTES;
+    }
+
+    private int compare(int key, long owner, byte[] term) {
+        int base = keyOffset(key);
+        int byOwner = Long.compare(data.getLong(base), owner);
+        if (byOwner != 0) {
+            return byOwner;
+        }
+        int offset = data.getInt(base + 8);
+        int length = data.getShort(offset) & 0xFFFF;
+        int common = Math.min(length, term.length);
+        for (int i = 0; i < common; i++) {
+            int cmp = Integer.compare(data.get(offset + 2 + i) & 0xFF, term[i] & 0xFF);
+            if (cmp != 0) {
+                return cmp;
+            }
+        }
+        return Integer.compare(length, term.length);
+    }
+
+    /**
+     * Orders keys the way the key table is sorted: by owner, then term bytes unsigned.
+     */
+    static int compareKeys(long owner, byte[] term, long otherOwner, byte[] otherTerm) {
+        int byOwner = Long.compare(owner, otherOwner);
+        return byOwner != 0 ? byOwner : Arrays.compareUnsigned(term, otherTerm);
+    }
+
+    /**
+     * Writes a segment; keys must be added in {@link #compareKeys} order.
+     */
+    static final class Writer {
+        private final Path path;
+        private final int minGeneration;
+        private final int maxGeneration;
+        private final FileChannel channel;
+        private final OutputStream postingsOut;
+        private final ByteArrayOutputStream terms = new ByteArrayOutputStream();
+
+        private long position = HEADER_BYTES;
+        private long[] keyOwners = new long[256];
+        private int[] keyTerms = new int[256];
+        private long[] keyPostings = new long[256];
+        private int[] keyLengths = new int[256];
+        private int[] keyCounts = new int[256];
+        private int keyCount;
+
+        Writer(Path path, int minGeneration, int maxGeneration) throws IOException {
+            this.path = path;
+            this.minGeneration = minGeneration;
+            this.maxGeneration = maxGeneration;
+            this.channel = FileChannel.open(path, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE,
+                    StandardOpenOption.READ);
+            channel.position(HEADER_BYTES);
+            this.postingsOut = new BufferedOutputStream(Channels.newOutputStream(channel), 1 << 16);
+        }
+
+        /**
+         * Adds the first {@code count} packed postings, which must be in id order.
+         * Does nothing when {@code count} is zero.
+         */
+        void add(long owner, byte[] term, long[] postings, int count) throws IOException {
+            if (count == 0) {
+                return;
+            }
+            if (keyCount == keyOwners.length) {
+                int capacity = keyCount * 2;
+                keyOwners = Arrays.copyOf(keyOwners, capacity);
+                keyTerms = Arrays.copyOf(keyTerms, capacity);
+                keyPostings = Arrays.copyOf(keyPostings, capacity);
+                keyLengths = Arrays.copyOf(keyLengths, capacity);
+                keyCounts = Arrays.copyOf(keyCounts, capacity);
+            }
+            long start = position;
+            long previous = 0;
+            for (int i = 0; i < count; i++) {
+                long id = postings[i] >>> 16;
+                writeVarint(id - previous);
+                writeVarint(postings[i] & 0xFFFF);
+                previous = id;
+            }
+            keyOwners[keyCount] = owner;
+            keyTerms[keyCount] = terms.size();
+            keyPostings[keyCount] = start;
+            keyLengths[keyCount] = Math.toIntExact(position - start);
+            keyCounts[keyCount] = count;
+            keyCount++;
+            terms.write(term.length >>> 8);
+            terms.write(term.length);
+            terms.write(term);
+        }
+
+        SegmentFile finish() throws IOException {
+            try (channel) {
+                postingsOut.flush();
+                long termsStart = position;
+                long keysStart = termsStart + terms.size();
+                if (keysStart + (long) keyCount * KEY_BYTES > Integer.MAX_VALUE) {
+                    throw new IOException("Search segment would exceed 2 GB: " + path);
+                }
+                terms.writeTo(postingsOut);
+                ByteBuffer key = ByteBuffer.allocate(KEY_BYTES);
+                for (int i = 0; i < keyCount; i++) {
+                    key.clear();
+                    key.putLong(keyOwners[i])
+                            .putInt((int) termsStart + keyTerms[i])
+                            .putInt((int) keyPostings[i])
+                            .putInt(keyLengths[i])
+                            .putInt(keyCounts[i]);
+                    postingsOut.write(key.array());
+                }
+                postingsOut.flush();
+
+                ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES)
+                        .putInt(MAGIC)
+                        .putInt(FORMAT_VERSION)
+                        .putInt(minGeneration)
+                        .putInt(maxGeneration)
+                        .putInt(keyCount)
+                        .putInt((int) termsStart)
+                        .putInt((int) keysStart)
+                        .putInt(0)
+                        .flip();
+                channel.write(header, 0);
+                channel.force(false);
+                return new SegmentFile(path, channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+            }
+        }
+
+        /**
+         * Closes and removes a segment that will not be finished.
+         */
+        void abort() {
+            try {
+                channel.close();
+                Files.deleteIfExists(path);
+            } catch (IOException ignored) {
+                // Best effort; the directory is wiped on the next start anyway
+            }
+        }
+
+        private void writeVarint(long value) throws IOException {
+            while ((value & ~0x7FL) != 0) {
+                postingsOut.write((int) (value & 0x7F) | 0x80);
+                position++;
+                value >>>= 7;
+            }
+            postingsOut.write((int) value);
+            position++;
+        }
+    }
+}
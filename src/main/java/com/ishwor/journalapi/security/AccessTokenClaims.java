@@ -0,0 +1,23 @@
+package com.ishwor.journalapi.security;
+
+import com.ishwor.journalapi.entity.Role;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.Instant;
+
+/**
+ * Verified claims of an access token. Everything the filter needs to authenticate
+ * a request without going back to the users table.
+ */
+@Getter
+@AllArgsConstructor
+public class AccessTokenClaims {
+    private final Long userId;
+    // jti; null for tokens issued before token ids were introduced
+    private final String tokenId;
+    private final String email;
+    private final Role role;
+    private final int tokenVersion;
+    private final Instant expiresAt;
+}
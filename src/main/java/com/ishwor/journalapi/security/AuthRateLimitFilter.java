@@ -0,0 +1,135 @@
+package com.ishwor.journalapi.security;
+
+import com.ishwor.journalapi.config.RateLimitProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import tools.jackson.databind.JsonNode;
+import tools.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throttles the unauthenticated auth endpoints before any password hashing happens.
+ * Every request is charged to the client IP; login and register are also charged to the
+ * email in the body, so spreading a credential-stuffing run over many IPs does not help
+ * against a single account. Over the limit the client gets 429 with Retry-After.
+ * <p>
+ * The client IP is {@link HttpServletRequest#getRemoteAddr()}; behind a proxy enable
+ * {@code server.forward-headers-strategy} so it reflects X-Forwarded-For.
+ */
+@Component
+public class AuthRateLimitFilter extends OncePerRequestFilter {
+
+    // Login and register bodies are tiny; anything bigger is refused rather than let past the email limit
+    private static final int MAX_BUFFERED_BODY = 8 * 1024;
+
+    private final RateLimitProperties properties;
+    private final ObjectMapper objectMapper;
+    private final RateLimiter ipLimiter;
+    private final RateLimiter emailLimiter;
+    private final Counter ipRejected;
+    private final Counter emailRejected;
+    private final Counter tooLarge;
+
+    public AuthRateLimitFilter(RateLimitProperties properties, ObjectMapper objectMapper, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.objectMapper = objectMapper;
+        this.ipLimiter = new RateLimiter(properties.getIpRequestsPerMinute(), properties.getIpBurst(), properties.getMaxBuckets());
+        this.emailLimiter = new RateLimiter(properties.getEmailRequestsPerMinute(), properties.getEmailBurst(), properties.getMaxBuckets());
+        this.ipRejected = Counter.builder("auth.rate_limit.rejected").tag("key", "ip").register(meterRegistry);
+        this.emailRejected = Counter.builder("auth.rate_limit.rejected").tag("key", "email").register(meterRegistry);
+        this.tooLarge = Counter.builder("auth.rate_limit.rejected").tag("key", "body_size").register(meterRegistry);
+        Gauge.builder("auth.rate_limit.buckets", ipLimiter, RateLimiter::size).tag("key", "ip").register(meterRegistry);
+        Gauge.builder("auth.rate_limit.buckets", emailLimiter, RateLimiter::size).tag("key", "email").register(meterRegistry);
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        if (!properties.isEnabled() || !"POST".equals(request.getMethod())) {
+            return true;
+        }
+        String path = request.getServletPath();
+        return !path.equals("/auth/login") && !path.equals("/auth/register") && !path.equals("/auth/refresh");
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest req, HttpServletResponse res, FilterChain chain)
+            throws ServletException, IOException {
+
+        long wait = ipLimiter.tryAcquire(req.getRemoteAddr());
+        if (wait > 0) {
+            ipRejected.increment();
+            reject(res, wait);
+            return;
+        }
+
+        if (!req.getServletPath().equals("/auth/refresh")) {
+            // Read whatever Content-Length says, so chunked or padded bodies can't skip the email limit
+            byte[] body = req.getInputStream().readNBytes(MAX_BUFFERED_BODY + 1);
+            if (body.length > MAX_BUFFERED_BODY) {
+                tooLarge.increment();
+                error(res, HttpStatus.PAYLOAD_TOO_LARGE, "Payload too large", "Request body must not exceed " + MAX_BUFFERED_BODY + " bytes.");
+                return;
+            }
+            CachedBodyHttpServletRequest cached = new CachedBodyHttpServletRequest(req, body);
+            req = cached;
+            String email = extractEmail(cached.getBody());
+            if (email != null) {
+                wait = emailLimiter.tryAcquire(email);
+                if (wait > 0) {
+                    emailRejected.increment();
+                    reject(res, wait);
+                    return;
+                }
+            }
+        }
+
+        chain.doFilter(req, res);
+    }
+
+    @Scheduled(fixedDelay = 1, timeUnit = TimeUnit.MINUTES)
+    public void evictIdleBuckets() {
+        ipLimiter.evictIdle();
+        emailLimiter.evictIdle();
+    }
+
+    private String extractEmail(byte[] body) {
+        try {
+            JsonNode email = objectMapper.readTree(body).path("email");
+            return email.isString() ? email.asString().trim().toLowerCase(Locale.ROOT) : null;
+        } catch (RuntimeException e) {
+            // Not JSON; the controller will reject it, only the IP limit applies
+            return null;
+        }
+    }
+
+    private void reject(HttpServletResponse res, long waitNanos) throws IOException {
+        long retryAfter = Math.max(1, TimeUnit.NANOSECONDS.toSeconds(waitNanos + TimeUnit.SECONDS.toNanos(1) - 1));
+        res.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfter));
+        error(res, HttpStatus.TOO_MANY_REQUESTS, "Too many requests", "Too many authentication attempts. Try again in " + retryAfter + " seconds.");
+    }
+
+    private void error(HttpServletResponse res, HttpStatus status, String error, String message) throws IOException {
+        res.setStatus(status.value());
+        res.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        objectMapper.writeValue(res.getOutputStream(), Map.of(
+                "status", status.value(),
+                "error", error,
+                "message", message
+        ));
+    }
+}
@@ -0,0 +1,32 @@
+package com.ishwor.journalapi.security;
+
+import com.ishwor.journalapi.entity.Role;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import org.springframework.security.core.AuthenticatedPrincipal;
+
+import java.time.Instant;
+
+/**
+ * Principal stored in the SecurityContext by {@link JwtAuthFilter}. Carries the user id
+ * so services can scope queries to the caller without looking the user up again.
+ */
+@Getter
+@AllArgsConstructor
+public class AuthenticatedUser implements AuthenticatedPrincipal {
+    private final Long id;
+    private final String email;
+    private final Role role;
+    // The access token this request was authenticated with, so it alone can be revoked
+    private final String tokenId;
+    private final Instant tokenExpiresAt;
+
+    public AuthenticatedUser(Long id, String email, Role role) {
+        this(id, email, role, null, null);
+    }
+
+    @Override
+    public String getName() {
+        return email;
+    }
+}
@@ -0,0 +1,301 @@
+package com.ishwor.journalapi.security;
+
+import com.ishwor.journalapi.entity.Role;
+import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.MalformedJwtException;
+import io.jsonwebtoken.security.SignatureException;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.time.Instant;
+import java.util.Base64;
+
+/**
+ * HS256 encoder/decoder specialised for our access token claim set
+ * (sub, jti, email, role, ver, iat, exp).
+ * <p>
+ * The header segment is computed once and {@link Mac} instances are reused per thread,
+ * so issuing a token costs one HMAC and a handful of small arrays instead of a full
+ * jjwt builder chain. Output is a standard compact JWS that jjwt (or any other library)
+ * verifies with the same key. {@link #decode} returns {@code null} for tokens it did not
+ * produce so callers can fall back to a general-purpose parser.
+ */
+public class Hs256TokenCodec {
+
+    private static final Base64.Encoder B64 = Base64.getUrlEncoder().withoutPadding();
+    private static final Base64.Decoder B64_DECODER = Base64.getUrlDecoder();
+
+    // Same header jjwt writes for HS256, so tokens from both paths look identical
+    private static final byte[] HEADER = B64.encode("{\"alg\":\"HS256\"}".getBytes(StandardCharsets.US_ASCII));
+    private static final String HEADER_PREFIX = new String(HEADER, StandardCharsets.US_ASCII) + ".";
+
+    private final ThreadLocal<Mac> macs;
+
+    public Hs256TokenCodec(byte[] secret) {
+        SecretKeySpec key = new SecretKeySpec(secret, "HmacSHA256");
+        this.macs = ThreadLocal.withInitial(() -> {
+            try {
+                Mac mac = Mac.getInstance("HmacSHA256");
+                mac.init(key);
+                return mac;
+            } catch (GeneralSecurityException e) {
+                throw new IllegalStateException("HmacSHA256 not available", e);
+            }
+        });
+    }
+
+    public String encode(long userId, String tokenId, String email, Role role, int tokenVersion, long issuedAt, long expiresAt) {
+        StringBuilder json = new StringBuilder(96 + tokenId.length() + email.length())
+                .append("{\"sub\":\"").append(userId)
+                .append("\",\"jti\":\"");
+        appendEscaped(json, tokenId);
+        json.append("\",\"email\":\"");
+        appendEscaped(json, email);
+        json.append("\",\"role\":\"").append(role.name())
+                .append("\",\"ver\":").append(tokenVersion)
+                .append(",\"iat\":").append(issuedAt)
+                .append(",\"exp\":").append(expiresAt)
+                .append('}');
+
+        byte[] payload = B64.encode(json.toString().getBytes(StandardCharsets.UTF_8));
+
+        Mac mac = macs.get();
+        mac.update(HEADER);
+        mac.update((byte) '.');
+        mac.update(payload);
+        byte[] signature = B64.encode(mac.doFinal());
+
+        byte[] token = new byte[HEADER.length + 1 + payload.length + 1 + signature.length];
+        int pos = 0;
+        System.arraycopy(HEADER, 0, token, pos, HEADER.length);
+        pos += HEADER.length;
+        token[pos++] = '.';
+        System.arraycopy(payload, 0, token, pos, payload.length);
+        pos += payload.length;
+        token[pos++] = '.';
+        System.arraycopy(signature, 0, token, pos, signature.length);
+        return new String(token, StandardCharsets.ISO_8859_1);
+    }
+
+    /**
+     * Verifies and decodes a token produced by {@link #encode}.
+     *
+     * @return the claims, or {@code null} if the token uses a different header
+     * @throws io.jsonwebtoken.JwtException if the token is malformed, forged or expired
+     */
+    public AccessTokenClaims decode(String token) {
+        if (!token.startsWith(HEADER_PREFIX)) {
+            return null;
+        }
+        int signatureStart = token.lastIndexOf('.');
+        if (signatureStart <= HEADER_PREFIX.length()) {
+            throw new MalformedJwtException("JWT must have three segments");
+        }
+
+        byte[] bytes = token.getBytes(StandardCharsets.ISO_8859_1);
+        Mac mac = macs.get();
+        mac.update(bytes, 0, signatureStart);
+        byte[] expected = mac.doFinal();
+
+        byte[] actual;
+        byte[] payload;
+        try {
+            actual = B64_DECODER.decode(token.substring(signatureStart + 1));
+            payload = B64_DECODER.decode(token.substring(HEADER_PREFIX.length(), signatureStart));
+        } catch (IllegalArgumentException e) {
+            throw new MalformedJwtException("JWT is not valid base64url", e);
+        }
+        if (!MessageDigest.isEqual(expected, actual)) {
+            throw new SignatureException("JWT signature does not match");
+        }
+
+        AccessTokenClaims claims = new PayloadReader(new String(payload, StandardCharsets.UTF_8)).read();
+        if (!claims.getExpiresAt().isAfter(Instant.now())) {
+            throw new ExpiredJwtException(null, null, "JWT expired at " + claims.getExpiresAt());
+        }
+        return claims;
+    }
+
+    private static void appendEscaped(StringBuilder out, String value) {
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '"' || c == '\\') {
+                out.append('\\').append(c);
+            } else if (c < 0x20) {
+                out.append(String.format("\\u%04x", (int) c));
+            } else {
+                out.append(c);
+            }
+        }
+    }
+
+    /**
+     * Reads the flat JSON object written by {@link #encode}. Anything richer (nested
+     * values, arrays) is rejected; such tokens were not produced by this codec.
+     */
+    private static class PayloadReader {
+        private final String json;
+        private int pos;
+
+        private Long userId;
+        private String tokenId;
+        private String email;
+        private Role role;
+        private int tokenVersion;
+        private Instant expiresAt;
+
+        PayloadReader(String json) {
+            this.json = json;
+        }
+
+        AccessTokenClaims read() {
+            expect('{');
+            if (peek() != '}') {
+                do {
+                    String name = readString();
+                    expect(':');
+                    readValue(name);
+                } while (consumeIf(','));
+            }
+            expect('}');
+            if (userId == null || email == null || role == null || expiresAt == null) {
+                throw new MalformedJwtException("JWT is missing required claims");
+            }
+            return new AccessTokenClaims(userId, tokenId, email, role, tokenVersion, expiresAt);
+        }
+
+        private void readValue(String name) {
+            switch (name) {
+                case "sub" -> userId = parseLong(readString());
+                case "jti" -> tokenId = readString();
+                case "email" -> email = readString();
+                case "role" -> role = parseRole(readString());
+                case "ver" -> tokenVersion = (int) readNumber();
+                case "exp" -> expiresAt = Instant.ofEpochSecond(readNumber());
+                default -> skipValue();
+            }
+        }
+
+        private void skipValue() {
+            char c = peek();
+            if (c == '"') {
+                readString();
+            } else if (c == '-' || (c >= '0' && c <= '9')) {
+                readNumber();
+            } else {
+                int start = pos;
+                while (pos < json.length() && Character.isLetter(json.charAt(pos))) {
+                    pos++;
+                }
+                String literal = json.substring(start, pos);
+                if (!literal.equals("true") && !literal.equals("false") && !literal.equals("null")) {
+                    throw new MalformedJwtException("Unsupported JWT claim value");
+                }
+            }
+        }
+
+        private String readString() {
+            expect('"');
+            StringBuilder sb = null;
+            int start = pos;
+            while (pos < json.length()) {
+                char c = json.charAt(pos++);
+                if (c == '"') {
+                    return sb == null ? json.substring(start, pos - 1) : sb.toString();
+                }
+                if (c == '\\') {
+                    if (sb == null) {
+                        sb = new StringBuilder(json.substring(start, pos - 1));
+                    }
+                    sb.append(readEscape());
+                } else if (sb != null) {
+                    sb.append(c);
+                }
+            }
+            throw new MalformedJwtException("Unterminated string in JWT payload");
+        }
+
+        private char readEscape() {
+            if (pos >= json.length()) {
+                throw new MalformedJwtException("Unterminated escape in JWT payload");
+            }
+            char c = json.charAt(pos++);
+            return switch (c) {
+                case '"', '\\', '/' -> c;
+                case 'b' -> '\b';
+                case 'f' -> '\f';
+                case 'n' -> '\n';
+                case 'r' -> '\r';
+                case 't' -> '\t';
+                case 'u' -> {
+                    if (pos + 4 > json.length()) {
+                        throw new MalformedJwtException("Bad unicode escape in JWT payload");
+                    }
+                    char decoded = (char) Integer.parseInt(json.substring(pos, pos + 4), 16);
+                    pos += 4;
+                    yield decoded;
+                }
+                default -> throw new MalformedJwtException("Bad escape in JWT payload");
+            };
+        }
+
+        private long readNumber() {
+            skipWhitespace();
+            int start = pos;
+            if (pos < json.length() && json.charAt(pos) == '-') {
+                pos++;
+            }
+            while (pos < json.length() && Character.isDigit(json.charAt(pos))) {
+                pos++;
+            }
+            return parseLong(json.substring(start, pos));
+        }
+
+        private static long parseLong(String value) {
+            try {
+                return Long.parseLong(value);
+            } catch (NumberFormatException e) {
+                throw new MalformedJwtException("Bad number in JWT payload", e);
+            }
+        }
+
+        private static Role parseRole(String value) {
+            try {
+                return Role.valueOf(value);
+            } catch (IllegalArgumentException e) {
+                throw new MalformedJwtException("Unknown role in JWT payload", e);
+            }
+        }
+
+        private char peek() {
+            skipWhitespace();
+            if (pos >= json.length()) {
+                throw new MalformedJwtException("Unexpected end of JWT payload");
+            }
+            return json.charAt(pos);
+        }
+
+        private boolean consumeIf(char c) {
+            if (peek() == c) {
+                pos++;
+                return true;
+            }
+            return false;
+        }
+
+        private void expect(char c) {
+            if (!consumeIf(c)) {
+                throw new MalformedJwtException("Expected '" + c + "' in JWT payload");
+            }
+        }
+
+        private void skipWhitespace() {
+            while (pos < json.length() && Character.isWhitespace(json.charAt(pos))) {
+                pos++;
+            }
+        }
+    }
+}
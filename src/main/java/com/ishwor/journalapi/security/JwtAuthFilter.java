@@ -1,7 +1,10 @@
 package com.ishwor.journalapi.security;
 
+import com.ishwor.journalapi.config.JwtProperties;
 import com.ishwor.journalapi.repository.UserRepository;
+import com.ishwor.journalapi.service.AccessTokenRevocationService;
 import com.ishwor.journalapi.service.JwtService;
+import com.ishwor.journalapi.service.TokenVersionService;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -14,22 +17,33 @@ import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
 import java.util.List;
+import java.util.Set;
 
 @Component
 public class JwtAuthFilter extends OncePerRequestFilter {
 
+    private static final Set<String> PUBLIC_PATHS = Set.of("/auth/login", "/auth/register", "/auth/refresh", "/health");
+
     private final UserRepository userRepository;
     private final JwtService jwtService;
+    private final TokenVersionService tokenVersionService;
+    private final AccessTokenRevocationService revocationService;
+    private final JwtProperties jwtProperties;
 
-    public JwtAuthFilter(JwtService jwtService, UserRepository userRepository) {
+    public JwtAuthFilter(JwtService jwtService, UserRepository userRepository, TokenVersionService tokenVersionService,
+                         AccessTokenRevocationService revocationService, JwtProperties jwtProperties) {
         this.jwtService = jwtService;
         this.userRepository = userRepository;
+        this.tokenVersionService = tokenVersionService;
+        this.revocationService = revocationService;
+        this.jwtProperties = jwtProperties;
     }
 
     @Override
     protected boolean shouldNotFilter(HttpServletRequest request) {
-        String path = request.getServletPath();
-        return path.startsWith("/auth/") || path.equals("/health");
+        // Only the public endpoints; /auth/logout needs the caller's token
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        return PUBLIC_PATHS.contains(path);
     }
 
     @Override
@@ -42,16 +56,24 @@ public class JwtAuthFilter extends OncePerRequestFilter {
             String token = header.substring(7);
 
             try {
-                Long userId = Long.parseLong(jwtService.extractSubject(token));
-                var user = userRepository.findById(userId).orElse(null);
-
-                if (user != null) {
-                    var auth = new UsernamePasswordAuthenticationToken(
-                            user.getEmail(),
-                            null,
-                            List.of(new SimpleGrantedAuthority("ROLE_" + user.getRole().name()))
-                    );
-                    SecurityContextHolder.getContext().setAuthentication(auth);
+                AccessTokenClaims claims = jwtService.extractClaims(token);
+
+                // Tokens revoked one by one (single-device logout) are turned away first
+                if (!revocationService.isRevoked(claims.getTokenId())) {
+                    if (jwtProperties.isStatelessAuth()) {
+                        // Everything we need is in the signed token; only the version is checked
+                        if (claims.getTokenVersion() == tokenVersionService.currentVersion(claims.getUserId())) {
+                            authenticate(new AuthenticatedUser(claims.getUserId(), claims.getEmail(), claims.getRole(),
+                                    claims.getTokenId(), claims.getExpiresAt()));
+                        }
+                    } else {
+                        var user = userRepository.findById(claims.getUserId()).orElse(null);
+
+                        if (user != null && user.getTokenVersion() == claims.getTokenVersion()) {
+                            authenticate(new AuthenticatedUser(user.getId(), user.getEmail(), user.getRole(),
+                                    claims.getTokenId(), claims.getExpiresAt()));
+                        }
+                    }
                 }
             } catch (Exception ignored) {
                 SecurityContextHolder.clearContext();
@@ -60,4 +82,13 @@ public class JwtAuthFilter extends OncePerRequestFilter {
 
         chain.doFilter(req, res);
     }
+
+    private void authenticate(AuthenticatedUser principal) {
+        var auth = new UsernamePasswordAuthenticationToken(
+                principal,
+                null,
+                List.of(new SimpleGrantedAuthority("ROLE_" + principal.getRole().name()))
+        );
+        SecurityContextHolder.getContext().setAuthentication(auth);
+    }
 }
@@ -0,0 +1,74 @@
+package com.ishwor.journalapi.security;
+
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.security.crypto.password.Pbkdf2PasswordEncoder;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * PBKDF2-HMAC-SHA256 whose hashes carry their own iteration count and salt length, as
+ * {@code 310000$16$<hex>}. Spring's encoder stores neither, so changing either setting
+ * would break every existing hash. Hashes without parameters were written before this
+ * format and are read with the configured ones, which is what they were made with.
+ */
+public final class ParameterizedPbkdf2PasswordEncoder implements PasswordEncoder {
+
+    private final int saltLength;
+    private final int iterations;
+    private final Pbkdf2PasswordEncoder current;
+    // One encoder per parameter set seen in stored hashes; there are only ever a few
+    private final Map<Long, Pbkdf2PasswordEncoder> byParameters = new ConcurrentHashMap<>();
+
+    public ParameterizedPbkdf2PasswordEncoder(int saltLength, int iterations) {
+        this.saltLength = saltLength;
+        this.iterations = iterations;
+        this.current = encoder(saltLength, iterations);
+    }
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+        return iterations + "$" + saltLength + "$" + current.encode(rawPassword);
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        if (encodedPassword == null) {
+            return false;
+        }
+        String[] parts = encodedPassword.split("\\$", 3);
+        if (parts.length == 1) {
+            return current.matches(rawPassword, encodedPassword);
+        }
+        if (parts.length != 3) {
+            return false;
+        }
+        try {
+            int hashIterations = Integer.parseInt(parts[0]);
+            int hashSaltLength = Integer.parseInt(parts[1]);
+            return byParameters.computeIfAbsent(((long) hashIterations << 32) | hashSaltLength,
+                            key -> encoder(hashSaltLength, hashIterations))
+                    .matches(rawPassword, parts[2]);
+        } catch (NumberFormatException e) {
+            return false;
+        }
+    }
+
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        String[] parts = encodedPassword.split("\\$", 3);
+        if (parts.length != 3) {
+            return true;
+        }
+        try {
+            return Integer.parseInt(parts[0]) < iterations || Integer.parseInt(parts[1]) < saltLength;
+        } catch (NumberFormatException e) {
+            return true;
+        }
+    }
+
+    private static Pbkdf2PasswordEncoder encoder(int saltLength, int iterations) {
+        return new Pbkdf2PasswordEncoder("", saltLength, iterations,
+                Pbkdf2PasswordEncoder.SecretKeyFactoryAlgorithm.PBKDF2WithHmacSHA256);
+    }
+}
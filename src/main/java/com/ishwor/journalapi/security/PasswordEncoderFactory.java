@@ -0,0 +1,53 @@
+package com.ishwor.journalapi.security;
+
+import com.ishwor.journalapi.config.PasswordEncoderProperties;
+import org.springframework.security.crypto.argon2.Argon2PasswordEncoder;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.DelegatingPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.Map;
+
+/**
+ * Builds the password encoders from {@link PasswordEncoderProperties}. Shared by
+ * SecurityConfig and the password hashing benchmark so both measure the same thing.
+ */
+public final class PasswordEncoderFactory {
+
+    private PasswordEncoderFactory() {
+    }
+
+    /**
+     * Encoder that writes {id}-prefixed hashes with the configured algorithm and can
+     * verify all supported ones. Unprefixed hashes are the bcrypt hashes stored before
+     * the algorithm became configurable.
+     */
+    public static DelegatingPasswordEncoder create(PasswordEncoderProperties properties) {
+        String idForEncode = properties.getAlgorithm().toLowerCase();
+        Map<String, PasswordEncoder> encoders = Map.of(
+                "bcrypt", encoderFor("bcrypt", properties),
+                "argon2", encoderFor("argon2", properties),
+                "pbkdf2", encoderFor("pbkdf2", properties)
+        );
+        if (!encoders.containsKey(idForEncode)) {
+            throw new IllegalArgumentException("Unsupported password algorithm: " + properties.getAlgorithm());
+        }
+        DelegatingPasswordEncoder delegating = new DelegatingPasswordEncoder(idForEncode, encoders);
+        delegating.setDefaultPasswordEncoderForMatches(encoders.get("bcrypt"));
+        return delegating;
+    }
+
+    public static PasswordEncoder encoderFor(String algorithm, PasswordEncoderProperties properties) {
+        return switch (algorithm) {
+            case "bcrypt" -> new BCryptPasswordEncoder(properties.getBcrypt().getStrength());
+            case "argon2" -> {
+                PasswordEncoderProperties.Argon2 argon2 = properties.getArgon2();
+                yield new Argon2PasswordEncoder(argon2.getSaltLength(), argon2.getHashLength(),
+                        argon2.getParallelism(), argon2.getMemory(), argon2.getIterations());
+            }
+            case "pbkdf2" -> new ParameterizedPbkdf2PasswordEncoder(properties.getPbkdf2().getSaltLength(),
+                    properties.getPbkdf2().getIterations());
+            default -> throw new IllegalArgumentException("Unsupported password algorithm: " + algorithm);
+        };
+    }
+}
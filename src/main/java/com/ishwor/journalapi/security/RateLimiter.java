@@ -0,0 +1,173 @@
+package com.ishwor.journalapi.security;
+
+import java.security.SecureRandom;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Token buckets keyed by an arbitrary string, implemented as GCRA: each bucket is a
+ * single {@link AtomicLong} holding the "theoretical arrival time" of the next request,
+ * updated with one CAS. That is equivalent to a token bucket of {@code burst} tokens
+ * refilled at {@code requestsPerMinute}, without a refill timestamp or a lock.
+ * <p>
+ * Buckets live in a fixed number of independent stripes so that eviction only ever
+ * walks one small map. A bucket whose arrival time has passed is full again and carries
+ * no state, so it can be dropped at any time. Active buckets are never dropped: when a
+ * stripe holds its share of {@code maxBuckets} and none of them has refilled, new keys
+ * in that stripe are rejected until one has. Keys are assigned to stripes by SipHash
+ * with a random key per limiter, so clients can't pick keys that crowd one stripe.
+ */
+public class RateLimiter {
+
+    private static final int STRIPES = 64;
+
+    private final long intervalNanos;
+    private final long burstNanos;
+    private final int maxPerStripe;
+    private final LongSupplier clock;
+    private final Map<String, AtomicLong>[] stripes;
+    private final long hashKey0;
+    private final long hashKey1;
+
+    public RateLimiter(int requestsPerMinute, int burst, int maxBuckets) {
+        this(requestsPerMinute, burst, maxBuckets, System::nanoTime);
+    }
+
+    @SuppressWarnings("unchecked")
+    RateLimiter(int requestsPerMinute, int burst, int maxBuckets, LongSupplier clock) {
+        if (requestsPerMinute <= 0 || burst <= 0) {
+            throw new IllegalArgumentException("requestsPerMinute and burst must be > 0");
+        }
+        this.intervalNanos = TimeUnit.MINUTES.toNanos(1) / requestsPerMinute;
+        this.burstNanos = intervalNanos * burst;
+        this.maxPerStripe = Math.max(1, maxBuckets / STRIPES);
+        this.clock = clock;
+        this.stripes = new Map[STRIPES];
+        for (int i = 0; i < STRIPES; i++) {
+            stripes[i] = new ConcurrentHashMap<>();
+        }
+        SecureRandom random = new SecureRandom();
+        this.hashKey0 = random.nextLong();
+        this.hashKey1 = random.nextLong();
+    }
+
+    /**
+     * Takes one token from the bucket for {@code key}.
+     *
+     * @return 0 if the request is allowed, otherwise how many nanoseconds until it would be
+     */
+    public long tryAcquire(String key) {
+        long now = clock.getAsLong();
+        Map<String, AtomicLong> stripe = stripeFor(key);
+        AtomicLong bucket = stripe.get(key);
+        if (bucket == null) {
+            // Only new keys lock the stripe, so it can't be overfilled by concurrent inserts
+            synchronized (stripe) {
+                bucket = stripe.get(key);
+                if (bucket == null) {
+                    if (stripe.size() >= maxPerStripe) {
+                        long wait = evict(stripe, now);
+                        if (wait > 0) {
+                            return wait;
+                        }
+                    }
+                    bucket = new AtomicLong(now);
+                    stripe.put(key, bucket);
+                }
+            }
+        }
+
+        while (true) {
+            long tat = bucket.get();
+            long next = Math.max(tat, now) + intervalNanos;
+            long allowedAt = next - burstNanos;
+            if (allowedAt > now) {
+                return allowedAt - now;
+            }
+            if (bucket.compareAndSet(tat, next)) {
+                return 0;
+            }
+        }
+    }
+
+    /**
+     * Drops every bucket that has refilled completely.
+     */
+    public void evictIdle() {
+        long now = clock.getAsLong();
+        for (Map<String, AtomicLong> stripe : stripes) {
+            stripe.values().removeIf(bucket -> bucket.get() - now <= 0);
+        }
+    }
+
+    public int size() {
+        int size = 0;
+        for (Map<String, AtomicLong> stripe : stripes) {
+            size += stripe.size();
+        }
+        return size;
+    }
+
+    // Caller holds the stripe's lock. Returns 0 if there is room now, otherwise how long
+    // until the first bucket in the stripe has refilled.
+    private long evict(Map<String, AtomicLong> stripe, long now) {
+        stripe.values().removeIf(bucket -> bucket.get() - now <= 0);
+        if (stripe.size() < maxPerStripe) {
+            return 0;
+        }
+        // Every client in this stripe is active; forgetting one would hand it a full bucket
+        long wait = Long.MAX_VALUE;
+        for (AtomicLong bucket : stripe.values()) {
+            wait = Math.min(wait, bucket.get() - now);
+        }
+        return Math.max(1, wait);
+    }
+
+    private Map<String, AtomicLong> stripeFor(String key) {
+        return stripes[(int) sipHash(key) & (STRIPES - 1)];
+    }
+
+    // SipHash-2-4 over the key's UTF-16 code units, four to a word
+    private long sipHash(String key) {
+        long[] v = {
+                0x736f6d6570736575L ^ hashKey0,
+                0x646f72616e646f6dL ^ hashKey1,
+                0x6c7967656e657261L ^ hashKey0,
+                0x7465646279746573L ^ hashKey1
+        };
+        int length = key.length();
+        int full = length & ~3;
+        for (int i = 0; i < full; i += 4) {
+            compress(v, key.charAt(i) | (long) key.charAt(i + 1) << 16
+                    | (long) key.charAt(i + 2) << 32 | (long) key.charAt(i + 3) << 48);
+        }
+        // The last word carries the length in bytes in its top byte
+        long last = (long) (length * 2) << 56;
+        for (int i = full, shift = 0; i < length; i++, shift += 16) {
+            last |= (long) key.charAt(i) << shift;
+        }
+        compress(v, last);
+        v[2] ^= 0xff;
+        for (int r = 0; r < 4; r++) {
+            sipRound(v);
+        }
+        return v[0] ^ v[1] ^ v[2] ^ v[3];
+    }
+
+    private static void compress(long[] v, long m) {
+        v[3] ^= m;
+        sipRound(v);
+        sipRound(v);
+        v[0] ^= m;
+    }
+
+    private static void sipRound(long[] v) {
+        v[0] += v[1]; v[1] = Long.rotateLeft(v[1], 13); v[1] ^= v[0]; v[0] = Long.rotateLeft(v[0], 32);
+        v[2] += v[3]; v[3] = Long.rotateLeft(v[3], 16); v[3] ^= v[2];
+        v[0] += v[3]; v[3] = Long.rotateLeft(v[3], 21); v[3] ^= v[0];
+        v[2] += v[1]; v[1] = Long.rotateLeft(v[1], 17); v[1] ^= v[2]; v[2] = Long.rotateLeft(v[2], 32);
+    }
+}
@@ -0,0 +1,15 @@
+package com.ishwor.journalapi.security;
+
+import com.ishwor.journalapi.repository.RefreshTokenOwner;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Result of a successful rotation: the new refresh token and the user it belongs to.
+ */
+@Getter
+@AllArgsConstructor
+public class RotatedRefreshToken {
+    private final RefreshTokenOwner owner;
+    private final String refreshToken;
+}
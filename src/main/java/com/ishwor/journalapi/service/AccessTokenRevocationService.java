@@ -0,0 +1,8 @@
+package com.ishwor.journalapi.service;
+
+import java.time.Instant;
+
+public interface AccessTokenRevocationService {
+    void revoke(String tokenId, Instant expiresAt);
+    boolean isRevoked(String tokenId);
+}
@@ -1,15 +1,52 @@
 package com.ishwor.journalapi.service;
 
+import com.ishwor.journalapi.dto.BatchResponse;
+import com.ishwor.journalapi.dto.CursorPage;
+import com.ishwor.journalapi.dto.JournalBatchUpdateRequest;
+import com.ishwor.journalapi.dto.JournalImportResponse;
+import com.ishwor.journalapi.dto.JournalPatchRequest;
 import com.ishwor.journalapi.dto.JournalRequest;
 import com.ishwor.journalapi.dto.JournalResponse;
+import com.ishwor.journalapi.dto.JournalSearchResponse;
+import com.ishwor.journalapi.dto.JournalSummaryResponse;
+import com.ishwor.journalapi.dto.SliceResponse;
+import com.ishwor.journalapi.repository.JournalListingVersion;
 import org.springframework.data.domain.Page;
 
 import org.springframework.data.domain.Pageable;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.Reader;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
 public interface JournalService {
     Page<JournalResponse> getAll(Pageable pageable);
+    Page<JournalResponse> getAllWithApproximateCount(Pageable pageable);
+    SliceResponse<JournalResponse> getAllWithoutCount(Pageable pageable);
+    Page<JournalSummaryResponse> getSummaries(Pageable pageable);
+    Page<JournalSummaryResponse> getSummariesWithApproximateCount(Pageable pageable);
+    SliceResponse<JournalSummaryResponse> getSummariesWithoutCount(Pageable pageable);
+    Page<Map<String, Object>> getFields(Pageable pageable, List<String> fields);
+    Page<Map<String, Object>> getFieldsWithApproximateCount(Pageable pageable, List<String> fields);
+    SliceResponse<Map<String, Object>> getFieldsWithoutCount(Pageable pageable, List<String> fields);
+    CursorPage<JournalResponse> getAllByCursor(String cursor, int size);
+    CursorPage<JournalSearchResponse> search(String query, String cursor, int size);
     JournalResponse getById(Long id);
+    long getVersion(Long id);
+    Optional<JournalListingVersion> getListingVersion();
     JournalResponse create(JournalRequest request);
     JournalResponse update(Long id, JournalRequest request);
+    JournalResponse update(Long id, JournalRequest request, String ifMatch);
+    JournalResponse patch(Long id, JournalPatchRequest patch, String ifMatch);
     void delete(Long id);
+    BatchResponse createBatch(List<JournalRequest> requests);
+    BatchResponse updateBatch(List<JournalBatchUpdateRequest> requests);
+    BatchResponse deleteBatch(List<Long> ids);
+    void exportNdjson(OutputStream out);
+    void exportMarkdownZip(OutputStream out) throws IOException;
+    JournalImportResponse importNdjson(Reader body) throws IOException;
+    JournalImportResponse importCsv(Reader body) throws IOException;
 }
@@ -1,10 +1,12 @@
 package com.ishwor.journalapi.service;
 
 import com.ishwor.journalapi.entity.Role;
+import com.ishwor.journalapi.security.AccessTokenClaims;
 
 public interface JwtService {
-    public String generateToken(Long userId, String email, Role role);
+    public String generateToken(Long userId, String email, Role role, int tokenVersion);
     public String extractSubject(String token);
     public String extractRole(String token);
+    public AccessTokenClaims extractClaims(String token);
 
 }
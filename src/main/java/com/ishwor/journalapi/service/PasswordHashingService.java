@@ -0,0 +1,7 @@
+package com.ishwor.journalapi.service;
+
+public interface PasswordHashingService {
+    String encode(CharSequence rawPassword);
+    boolean matches(CharSequence rawPassword, String passwordHash);
+    boolean needsRehash(String passwordHash);
+}
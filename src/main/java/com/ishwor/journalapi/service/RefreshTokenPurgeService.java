@@ -0,0 +1,5 @@
+package com.ishwor.journalapi.service;
+
+public interface RefreshTokenPurgeService {
+    long purgeExpired();
+}
@@ -1,12 +1,10 @@
 package com.ishwor.journalapi.service;
 
-import com.ishwor.journalapi.entity.RefreshTokenEntity;
-
-import java.util.Optional;
+import com.ishwor.journalapi.security.RotatedRefreshToken;
 
 public interface RefreshTokenService {
-    RefreshTokenEntity createRefreshToken(String username);
-    RefreshTokenEntity verifyExpiration(RefreshTokenEntity refreshToken);
-    Optional<RefreshTokenEntity> findByToken(String token);
+    String createRefreshToken(Long userId);
+    RotatedRefreshToken rotate(String refreshToken);
+    void revoke(String refreshToken, Long userId);
     void deleteByUserId(Long userId);
 }
@@ -0,0 +1,8 @@
+package com.ishwor.journalapi.service;
+
+public interface TokenVersionService {
+    int currentVersion(Long userId);
+    void revokeAllTokens(Long userId);
+    void evict(Long userId);
+    void evictAll();
+}
@@ -0,0 +1,110 @@
+package com.ishwor.journalapi.service.impl;
+
+import com.ishwor.journalapi.config.AccessTokenRevocationProperties;
+import com.ishwor.journalapi.config.JwtProperties;
+import com.ishwor.journalapi.entity.RevokedAccessTokenEntity;
+import com.ishwor.journalapi.repository.RevokedAccessTokenRepository;
+import com.ishwor.journalapi.security.BloomFilter;
+import com.ishwor.journalapi.service.AccessTokenRevocationService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.Instant;
+
+/**
+ * Denylist of revoked access tokens (by jti). The revoked_access_tokens table is the
+ * source of truth; an in-memory Bloom filter in front of it answers "definitely not
+ * revoked" for almost every request without leaving the JVM, so only revoked tokens and
+ * the occasional false positive cost a query.
+ * <p>
+ * Entries age out with two filter generations: revocations go into the current one, and
+ * every {@code window} the current one becomes the previous one and the previous one is
+ * dropped. An entry therefore survives at least one full window, which is at least the
+ * lifetime of the token it blocks. Revocations made by other instances are pulled in
+ * every {@code syncInterval}.
+ */
+@Service
+public class AccessTokenRevocationServiceImpl implements AccessTokenRevocationService {
+
+    // Re-read a little before the last sync so rows that committed late are not missed
+    private static final Duration SYNC_OVERLAP = Duration.ofMinutes(1);
+
+    private record Generations(BloomFilter current, BloomFilter previous) {}
+
+    private final RevokedAccessTokenRepository repository;
+    private final AccessTokenRevocationProperties properties;
+    private final Counter revokedHits;
+    private final Counter falsePositives;
+
+    private volatile Generations generations;
+    // Until the first sync has loaded existing revocations a negative answer can't be trusted
+    private volatile boolean loaded;
+    private volatile Instant lastSync = Instant.EPOCH;
+
+    public AccessTokenRevocationServiceImpl(RevokedAccessTokenRepository repository, AccessTokenRevocationProperties properties,
+                                            JwtProperties jwtProperties, MeterRegistry meterRegistry){
+        // A shorter window would drop revocations while their tokens are still valid
+        Duration lifetime = Duration.ofMillis(jwtProperties.getExpiration());
+        if (properties.getWindow().compareTo(lifetime) < 0) {
+            throw new IllegalArgumentException("auth.revocation.window (" + properties.getWindow()
+                    + ") must be at least the access token lifetime jwt.expiration (" + lifetime + ")");
+        }
+        this.repository = repository;
+        this.properties = properties;
+        this.generations = new Generations(newFilter(), newFilter());
+        this.revokedHits = Counter.builder("auth.revocation.lookups").tag("result", "revoked").register(meterRegistry);
+        this.falsePositives = Counter.builder("auth.revocation.lookups").tag("result", "false_positive").register(meterRegistry);
+    }
+
+    @Override
+    public void revoke(String tokenId, Instant expiresAt) {
+        // Filter first, so this instance rejects the token even before the insert commits
+        generations.current().put(tokenId);
+        repository.insertIfAbsent(tokenId, expiresAt, Instant.now());
+    }
+
+    @Override
+    public boolean isRevoked(String tokenId) {
+        if (tokenId == null) {
+            // Issued before tokens carried an id; only the token version can revoke these
+            return false;
+        }
+        if (loaded) {
+            Generations g = generations;
+            if (!g.current().mightContain(tokenId) && !g.previous().mightContain(tokenId)) {
+                return false;
+            }
+        }
+        boolean revoked = repository.existsByJtiAndExpiresAtAfter(tokenId, Instant.now());
+        (revoked ? revokedHits : falsePositives).increment();
+        return revoked;
+    }
+
+    @Scheduled(fixedDelayString = "${auth.revocation.sync-interval:PT5S}")
+    public void sync() {
+        Instant now = Instant.now();
+        Instant since = loaded ? lastSync.minus(SYNC_OVERLAP) : Instant.EPOCH;
+
+        BloomFilter current = generations.current();
+        for (RevokedAccessTokenEntity revoked : repository.findActiveRevokedSince(since, now)) {
+            current.put(revoked.getJti());
+        }
+        lastSync = now;
+        loaded = true;
+    }
+
+    @Scheduled(initialDelayString = "${auth.revocation.window:PT15M}",
+            fixedRateString = "${auth.revocation.window:PT15M}")
+    public void rotate() {
+        generations = new Generations(newFilter(), generations.current());
+        // Expired tokens are rejected by their signature check anyway
+        repository.deleteExpired(Instant.now());
+    }
+
+    private BloomFilter newFilter() {
+        return BloomFilter.create(properties.getExpectedRevocations(), properties.getFalsePositiveRate());
+    }
+}
@@ -3,31 +3,35 @@ package com.ishwor.journalapi.service.impl;
 
 import com.ishwor.journalapi.dto.AuthResponse;
 import com.ishwor.journalapi.dto.LoginRequest;
+import com.ishwor.journalapi.dto.RefreshTokenRequest;
+import com.ishwor.journalapi.dto.RefreshTokenResponse;
 import com.ishwor.journalapi.dto.RegisterRequest;
-import com.ishwor.journalapi.entity.RefreshTokenEntity;
 import com.ishwor.journalapi.entity.Role;
 import com.ishwor.journalapi.entity.UserEntity;
+import com.ishwor.journalapi.exception.AuthOverloadedException;
 import com.ishwor.journalapi.exception.EmailAlreadyExistsException;
+import com.ishwor.journalapi.repository.RefreshTokenOwner;
 import com.ishwor.journalapi.repository.UserRepository;
+import com.ishwor.journalapi.security.RotatedRefreshToken;
 import com.ishwor.journalapi.service.AuthService;
 import com.ishwor.journalapi.service.JwtService;
+import com.ishwor.journalapi.service.PasswordHashingService;
 import com.ishwor.journalapi.service.RefreshTokenService;
 import org.springframework.security.authentication.BadCredentialsException;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 
 @Service
 public class AuthServiceImpl implements AuthService {
 
     private final UserRepository userRepository;
-    private final PasswordEncoder passwordEncoder;
+    private final PasswordHashingService passwordHashingService;
     private final JwtService jwtService;
     private final RefreshTokenService refreshTokenService;
 
-    public AuthServiceImpl(UserRepository userRepository, PasswordEncoder passwordEncoder, JwtService jwtService, RefreshTokenService refreshTokenService){
+    public AuthServiceImpl(UserRepository userRepository, PasswordHashingService passwordHashingService, JwtService jwtService, RefreshTokenService refreshTokenService){
         this.userRepository = userRepository;
         this.jwtService = jwtService;
-        this.passwordEncoder = passwordEncoder;
+        this.passwordHashingService = passwordHashingService;
         this.refreshTokenService = refreshTokenService;
     }
 
@@ -42,35 +46,65 @@ public class AuthServiceImpl implements AuthService {
         }
         UserEntity userEntity = new UserEntity();
         userEntity.setEmail(request.getEmail());
-        userEntity.setPasswordHash(passwordEncoder.encode(request.getPassword()));
+        userEntity.setPasswordHash(passwordHashingService.encode(request.getPassword()));
         userEntity.setRole(role);
 
         UserEntity saved = userRepository.save(userEntity);
 
         // Generate short-lived access token (15 minutes)
-        String accessToken = jwtService.generateToken(saved.getId(), saved.getEmail(), saved.getRole());
+        String accessToken = jwtService.generateToken(saved.getId(), saved.getEmail(), saved.getRole(), saved.getTokenVersion());
 
         // Create and save long-lived refresh token (24 hours)
-        RefreshTokenEntity refreshTokenEntity = refreshTokenService.createRefreshToken(saved.getEmail());
+        String refreshToken = refreshTokenService.createRefreshToken(saved.getId());
 
-        return new AuthResponse(accessToken, refreshTokenEntity.getToken());
+        return new AuthResponse(accessToken, refreshToken);
     }
 
     @Override
     public AuthResponse login(LoginRequest request) {
         UserEntity userEntity = userRepository.findByEmail(request.getEmail())
                 .orElseThrow(() -> new BadCredentialsException("Invalid email or password"));
-        if(!passwordEncoder.matches(request.getPassword(),userEntity.getPasswordHash())){
+        if(!passwordHashingService.matches(request.getPassword(),userEntity.getPasswordHash())){
             throw new BadCredentialsException("Invalid email or password");
         }
+        upgradePasswordHash(userEntity, request.getPassword());
 
         // Generate short-lived access token (15 minutes)
-        String accessToken = jwtService.generateToken(userEntity.getId(), userEntity.getEmail(), userEntity.getRole());
+        String accessToken = jwtService.generateToken(userEntity.getId(), userEntity.getEmail(), userEntity.getRole(), userEntity.getTokenVersion());
 
         // Create and save long-lived refresh token (24 hours)
-        // Note: This will replace any existing refresh token due to @OneToOne relationship
-        RefreshTokenEntity refreshTokenEntity = refreshTokenService.createRefreshToken(userEntity.getEmail());
+        // Each login gets its own token family; sessions on other devices are left alone
+        String refreshToken = refreshTokenService.createRefreshToken(userEntity.getId());
 
-        return new AuthResponse(accessToken, refreshTokenEntity.getToken());
+        return new AuthResponse(accessToken, refreshToken);
+    }
+
+    @Override
+    public RefreshTokenResponse refresh(RefreshTokenRequest request) {
+        // TOKEN ROTATION: the old refresh token is swapped for a new one in a single UPDATE
+        // that also returns the user, so the user is never loaded separately
+        RotatedRefreshToken rotated = refreshTokenService.rotate(request.getRefreshToken());
+        RefreshTokenOwner owner = rotated.getOwner();
+
+        // Generate new access token (15 minutes)
+        String accessToken = jwtService.generateToken(owner.getUserId(), owner.getEmail(), owner.getRole(), owner.getTokenVersion());
+
+        return new RefreshTokenResponse(accessToken, rotated.getRefreshToken());
+    }
+
+    // The plain password is only available right after a successful login, so this is
+    // where hashes made with an old algorithm or cost get replaced
+    private void upgradePasswordHash(UserEntity userEntity, String rawPassword) {
+        String oldHash = userEntity.getPasswordHash();
+        if (!passwordHashingService.needsRehash(oldHash)) {
+            return;
+        }
+        try {
+            String newHash = passwordHashingService.encode(rawPassword);
+            // Conditional on the old hash so a concurrent password change isn't overwritten
+            userRepository.replacePasswordHash(userEntity.getId(), oldHash, newHash);
+        } catch (AuthOverloadedException e) {
+            // The login itself succeeded; the hash is upgraded on a later login instead
+        }
     }
 }
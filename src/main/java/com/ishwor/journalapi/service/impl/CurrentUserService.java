@@ -1,8 +1,8 @@
 package com.ishwor.journalapi.service.impl;
 
 
-import com.ishwor.journalapi.entity.UserEntity;
 import com.ishwor.journalapi.repository.UserRepository;
+import com.ishwor.journalapi.security.AuthenticatedUser;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
@@ -15,14 +15,20 @@ public class CurrentUserService {
         this.userRepository = userRepository;
     }
 
-    public UserEntity getCurrentUser(){
+    public AuthenticatedUser getCurrentUser(){
         Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
 
         if(authentication == null || !authentication.isAuthenticated() || authentication.getName() == null){
             throw new RuntimeException("Unauthenticated.");
         }
+        // JwtAuthFilter already put the id, email and role in the context - no query needed
+        if(authentication.getPrincipal() instanceof AuthenticatedUser user){
+            return user;
+        }
+        // Any other kind of authentication only gives us a name, so resolve it once
         String email = authentication.getName();
         return userRepository.findByEmail(email)
+                .map(user -> new AuthenticatedUser(user.getId(), user.getEmail(), user.getRole()))
                 .orElseThrow(() -> new RuntimeException("Authenticated user not found."));
     }
 
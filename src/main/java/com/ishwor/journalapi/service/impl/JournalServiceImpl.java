@@ -1,33 +1,120 @@
 package com.ishwor.journalapi.service.impl;
 
 
+import com.ishwor.journalapi.cache.JournalCache;
+import com.ishwor.journalapi.config.JournalProperties;
+import com.ishwor.journalapi.dto.BatchItemResult;
+import com.ishwor.journalapi.dto.BatchResponse;
+import com.ishwor.journalapi.dto.CursorPage;
+import com.ishwor.journalapi.dto.ImportChunkResult;
+import com.ishwor.journalapi.dto.ImportRejection;
+import com.ishwor.journalapi.dto.JournalBatchUpdateRequest;
+import com.ishwor.journalapi.dto.JournalImportRequest;
+import com.ishwor.journalapi.dto.JournalImportResponse;
+import com.ishwor.journalapi.dto.JournalPatchRequest;
 import com.ishwor.journalapi.dto.JournalRequest;
 import com.ishwor.journalapi.dto.JournalResponse;
+import com.ishwor.journalapi.dto.JournalSearchResponse;
+import com.ishwor.journalapi.dto.JournalSummaryResponse;
+import com.ishwor.journalapi.dto.SliceResponse;
 import com.ishwor.journalapi.entity.JournalEntity;
+import com.ishwor.journalapi.entity.UserEntity;
+import com.ishwor.journalapi.event.JournalChangedEvent;
+import com.ishwor.journalapi.exception.BadRequestException;
 import com.ishwor.journalapi.exception.JournalNotFoundException;
+import com.ishwor.journalapi.exception.PreconditionFailedException;
+import com.ishwor.journalapi.repository.JournalCursor;
+import com.ishwor.journalapi.repository.JournalInsert;
+import com.ishwor.journalapi.repository.JournalListingVersion;
 import com.ishwor.journalapi.repository.JournalRepository;
+import com.ishwor.journalapi.repository.JournalRow;
+import com.ishwor.journalapi.repository.JournalSearchCursor;
+import com.ishwor.journalapi.repository.JournalSearchResult;
+import com.ishwor.journalapi.repository.JournalSummary;
+import com.ishwor.journalapi.repository.JournalUpdate;
+import com.ishwor.journalapi.repository.UserRepository;
+import com.ishwor.journalapi.search.JournalSearchEngine;
 import com.ishwor.journalapi.service.JournalService;
+import com.ishwor.journalapi.mapper.JournalETags;
+import com.ishwor.journalapi.mapper.JournalImportReader;
 import com.ishwor.journalapi.mapper.JournalMapper;
+import com.ishwor.journalapi.mapper.JournalMarkdown;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Slice;
 import org.springframework.security.access.expression.SecurityExpressionHandler;
+import org.springframework.data.support.PageableExecutionUtils;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import tools.jackson.core.JsonGenerator;
+import tools.jackson.core.StreamWriteFeature;
+import tools.jackson.databind.ObjectMapper;
+import tools.jackson.databind.ObjectWriter;
+import tools.jackson.databind.SerializationFeature;
 
 import org.springframework.data.domain.Pageable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.OptionalLong;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
 
 @Service
 public class JournalServiceImpl implements JournalService {
 
+    // Planner statistics only change on ANALYZE, so there is no point asking more often
+    private static final long ESTIMATE_TTL_NANOS = TimeUnit.SECONDS.toNanos(30);
+
+    // Keeps the import response small however many lines are rejected
+    private static final int MAX_REPORTED_REJECTIONS = 100;
+
     private final JournalRepository repository;
     private final CurrentUserService currentUserService;
     private final JournalRepository journalRepository;
     private final SecurityExpressionHandler securityExpressionHandler;
+    private final UserRepository userRepository;
+    private final JournalProperties journalProperties;
+    private final Validator validator;
+    private final ObjectMapper objectMapper;
+    private final JournalSearchEngine searchEngine;
+    private final ApplicationEventPublisher eventPublisher;
+    private final JournalCache journalCache;
+
+    private volatile long cachedEstimate = -1;
+    private volatile long estimatedAt;
 
-    public JournalServiceImpl(JournalRepository journalRepository, CurrentUserService currentUserService, SecurityExpressionHandler securityExpressionHandler){
+    public JournalServiceImpl(JournalRepository journalRepository, CurrentUserService currentUserService, SecurityExpressionHandler securityExpressionHandler, UserRepository userRepository,
+                              JournalProperties journalProperties, Validator validator, ObjectMapper objectMapper,
+                              JournalSearchEngine searchEngine, ApplicationEventPublisher eventPublisher, JournalCache journalCache){
         this.repository = journalRepository;
         this.currentUserService = currentUserService;
         this.journalRepository = journalRepository;
         this.securityExpressionHandler = securityExpressionHandler;
+        this.userRepository = userRepository;
+        this.journalProperties = journalProperties;
+        this.validator = validator;
+        this.objectMapper = objectMapper;
+        this.searchEngine = searchEngine;
+        this.eventPublisher = eventPublisher;
+        this.journalCache = journalCache;
     }
 
     @Override
@@ -40,63 +127,517 @@ public class JournalServiceImpl implements JournalService {
 
     }
 
+    @Override
+    public Page<JournalResponse> getAllWithApproximateCount(Pageable pageable) {
+        Slice<JournalEntity> slice;
+        long total;
+        if (currentUserService.isAdmin()) {
+            slice = repository.findAllAsSlice(pageable);
+            total = estimateTotal();
+        } else {
+            Long userId = currentUserService.getCurrentUser().getId();
+            slice = journalRepository.findAllAsSliceByOwnerId(userId, pageable);
+            total = ownerTotal(userId);
+        }
+        // PageImpl raises the total if the page itself proves it too low
+        return new PageImpl<>(slice.getContent(), pageable, total).map(JournalMapper::toResponse);
+    }
+
+    @Override
+    public SliceResponse<JournalResponse> getAllWithoutCount(Pageable pageable) {
+        Slice<JournalEntity> slice;
+        if (currentUserService.isAdmin()) {
+            slice = repository.findAllAsSlice(pageable);
+        } else {
+            Long userId = currentUserService.getCurrentUser().getId();
+            slice = journalRepository.findAllAsSliceByOwnerId(userId, pageable);
+        }
+        return new SliceResponse<>(slice.getContent().stream().map(JournalMapper::toResponse).toList(),
+                slice.getNumber(), slice.getSize(), slice.hasNext());
+    }
+
+    @Override
+    public Page<JournalSummaryResponse> getSummaries(Pageable pageable) {
+        int excerptLength = journalProperties.getExcerptLength();
+        if (currentUserService.isAdmin()) {
+            return repository.findAllSummaries(excerptLength, pageable).map(JournalMapper::toSummaryResponse);
+        }
+        Long userId = currentUserService.getCurrentUser().getId();
+        return repository.findAllSummariesByOwnerId(userId, excerptLength, pageable).map(JournalMapper::toSummaryResponse);
+    }
+
+    @Override
+    public Page<JournalSummaryResponse> getSummariesWithApproximateCount(Pageable pageable) {
+        int excerptLength = journalProperties.getExcerptLength();
+        Slice<JournalSummary> slice;
+        long total;
+        if (currentUserService.isAdmin()) {
+            slice = repository.findAllSummariesAsSlice(excerptLength, pageable);
+            total = estimateTotal();
+        } else {
+            Long userId = currentUserService.getCurrentUser().getId();
+            slice = repository.findAllSummariesAsSliceByOwnerId(userId, excerptLength, pageable);
+            total = ownerTotal(userId);
+        }
+        return new PageImpl<>(slice.getContent(), pageable, total).map(JournalMapper::toSummaryResponse);
+    }
+
+    @Override
+    public SliceResponse<JournalSummaryResponse> getSummariesWithoutCount(Pageable pageable) {
+        int excerptLength = journalProperties.getExcerptLength();
+        Slice<JournalSummary> slice;
+        if (currentUserService.isAdmin()) {
+            slice = repository.findAllSummariesAsSlice(excerptLength, pageable);
+        } else {
+            Long userId = currentUserService.getCurrentUser().getId();
+            slice = repository.findAllSummariesAsSliceByOwnerId(userId, excerptLength, pageable);
+        }
+        return new SliceResponse<>(slice.getContent().stream().map(JournalMapper::toSummaryResponse).toList(),
+                slice.getNumber(), slice.getSize(), slice.hasNext());
+    }
+
+    @Override
+    public Page<Map<String, Object>> getFields(Pageable pageable, List<String> fields) {
+        Long ownerId = ownerFilter();
+        Slice<Map<String, Object>> slice = repository.findFields(fields, ownerId, pageable);
+        // Skips the count when this page already shows where the listing ends
+        return PageableExecutionUtils.getPage(slice.getContent(), pageable,
+                () -> ownerId == null ? repository.count() : repository.countByOwnerId(ownerId));
+    }
+
+    @Override
+    public Page<Map<String, Object>> getFieldsWithApproximateCount(Pageable pageable, List<String> fields) {
+        Long ownerId = ownerFilter();
+        Slice<Map<String, Object>> slice = repository.findFields(fields, ownerId, pageable);
+        long total = ownerId == null ? estimateTotal() : ownerTotal(ownerId);
+        return new PageImpl<>(slice.getContent(), pageable, total);
+    }
+
+    @Override
+    public SliceResponse<Map<String, Object>> getFieldsWithoutCount(Pageable pageable, List<String> fields) {
+        Slice<Map<String, Object>> slice = repository.findFields(fields, ownerFilter(), pageable);
+        return new SliceResponse<>(slice.getContent(), slice.getNumber(), slice.getSize(), slice.hasNext());
+    }
+
+    // Admins list every journal; everyone else only their own
+    private Long ownerFilter() {
+        return currentUserService.isAdmin() ? null : currentUserService.getCurrentUser().getId();
+    }
+
+    // Kept up to date by triggers, so this is a primary key lookup rather than a count
+    private long ownerTotal(Long userId) {
+        return userRepository.findJournalCountById(userId).orElse(0L);
+    }
+
+    private long estimateTotal() {
+        long now = System.nanoTime();
+        if (cachedEstimate >= 0 && now - estimatedAt < ESTIMATE_TTL_NANOS) {
+            return cachedEstimate;
+        }
+        long estimate = repository.estimateRowCount();
+        if (estimate < 0) {
+            // Never analyzed (e.g. a fresh database): small enough that counting is cheap
+            estimate = repository.count();
+        }
+        cachedEstimate = estimate;
+        estimatedAt = now;
+        return estimate;
+    }
+
+    @Override
+    public CursorPage<JournalResponse> getAllByCursor(String cursor, int size) {
+        JournalCursor after = cursor == null || cursor.isEmpty() ? null : JournalCursor.decode(cursor);
+        // One extra row tells us whether there is a next page, so no count query is needed
+        int limit = size + 1;
+
+        List<JournalEntity> rows;
+        if (currentUserService.isAdmin()) {
+            rows = after == null
+                    ? repository.findFirst(limit)
+                    : repository.findNext(after.getCreatedAt(), after.getId(), limit);
+        } else {
+            Long userId = currentUserService.getCurrentUser().getId();
+            rows = after == null
+                    ? repository.findFirstByOwner(userId, limit)
+                    : repository.findNextByOwner(userId, after.getCreatedAt(), after.getId(), limit);
+        }
+
+        boolean hasNext = rows.size() > size;
+        List<JournalEntity> page = hasNext ? rows.subList(0, size) : rows;
+        String nextCursor = null;
+        if (hasNext) {
+            JournalEntity last = page.get(page.size() - 1);
+            nextCursor = new JournalCursor(last.getCreatedAt(), last.getId()).encode();
+        }
+        return new CursorPage<>(page.stream().map(JournalMapper::toResponse).toList(), size, nextCursor, hasNext);
+    }
+
+    @Override
+    public CursorPage<JournalSearchResponse> search(String query, String cursor, int size) {
+        if (query == null || query.isBlank()) {
+            throw new BadRequestException("q is required");
+        }
+        JournalSearchCursor after = cursor == null || cursor.isEmpty() ? null : JournalSearchCursor.decode(cursor);
+        // Always the caller's own journals, admins included
+        Long userId = currentUserService.getCurrentUser().getId();
+        List<JournalSearchResult> rows = searchEngine.search(userId, query, after, size + 1);
+
+        boolean hasNext = rows.size() > size;
+        List<JournalSearchResult> page = hasNext ? rows.subList(0, size) : rows;
+        String nextCursor = null;
+        if (hasNext) {
+            JournalSearchResult last = page.get(page.size() - 1);
+            nextCursor = new JournalSearchCursor(last.getRank(), last.getId()).encode();
+        }
+        return new CursorPage<>(page.stream().map(JournalMapper::toSearchResponse).toList(), size, nextCursor, hasNext);
+    }
+
     @Override
     public JournalResponse getById(Long id) {
+        // Admins read straight from the table, so their reads neither fill nor skew the cache
         if(currentUserService.isAdmin()){
             JournalEntity entity = repository.findById(id)
                     .orElseThrow(() -> new JournalNotFoundException(id));
             return JournalMapper.toResponse(entity);
         }
         Long userId = currentUserService.getCurrentUser().getId();
-        var entity = repository.findByIdAndOwnerId(id,userId)
-                .orElseThrow(() -> new JournalNotFoundException(id));
-        return JournalMapper.toResponse(entity);
+        JournalRow row = journalCache.get(userId, id,
+                () -> repository.findRows(userId, List.of(id)).stream().findFirst().orElse(null));
+        if (row == null) {
+            throw new JournalNotFoundException(id);
+        }
+        return JournalMapper.toResponse(row);
+    }
+
+    @Override
+    public long getVersion(Long id) {
+        Long ownerId = ownerFilter();
+        if (ownerId != null) {
+            OptionalLong cached = journalCache.version(ownerId, id);
+            if (cached.isPresent()) {
+                return cached.getAsLong();
+            }
+        }
+        return findVersion(id, ownerId).orElseThrow(() -> new JournalNotFoundException(id));
+    }
+
+    @Override
+    public Optional<JournalListingVersion> getListingVersion() {
+        // Admins list every journal, and nothing short of count(*) over the table versions that
+        if (currentUserService.isAdmin()) {
+            return Optional.empty();
+        }
+        return repository.findListingVersion(currentUserService.getCurrentUser().getId());
     }
 
     @Override
     public JournalResponse create(JournalRequest request) {
-        var user = currentUserService.getCurrentUser();
+        Long userId = currentUserService.getCurrentUser().getId();
 
         JournalEntity journalEntity = JournalMapper.toEntity(request);
-        journalEntity.setOwner(user);
+        // Only the owner_id is written, so a reference is enough - no SELECT on users
+        journalEntity.setOwner(userRepository.getReferenceById(userId));
 
         JournalEntity saved = repository.save(journalEntity);
+        eventPublisher.publishEvent(JournalChangedEvent.saved(userId, List.of(changed(saved))));
         return JournalMapper.toResponse(saved);
     }
 
     @Override
     public JournalResponse update(Long id, JournalRequest request) {
-        if (currentUserService.isAdmin()){
-            JournalEntity existing = repository.findById(id)
-                    .orElseThrow(() -> new JournalNotFoundException(id));
-            existing.setTitle(request.getTitle());
-            existing.setContent(request.getContent());
-            JournalEntity saved = repository.save(existing);
-            return JournalMapper.toResponse(saved);
+        return write(id, request.getTitle(), request.getContent(), null);
+    }
+
+    @Override
+    public JournalResponse update(Long id, JournalRequest request, String ifMatch) {
+        return write(id, request.getTitle(), request.getContent(), JournalETags.versions(ifMatch));
+    }
+
+    @Override
+    public JournalResponse patch(Long id, JournalPatchRequest patch, String ifMatch) {
+        return write(id, patch.getTitle(), patch.getContent(), ifMatch == null ? null : JournalETags.versions(ifMatch));
+    }
+
+    // One UPDATE for every kind of edit. With versions set it is an optimistic
+    // compare-and-set: whoever writes first wins and the other gets a 412.
+    private JournalResponse write(Long id, String title, String content, List<Long> versions) {
+        Long ownerId = ownerFilter();
+        // Same clock and precision Hibernate uses for @UpdateTimestamp
+        LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.MICROS);
+        JournalRow row = repository.updateColumns(id, ownerId, title, content, versions, now)
+                .orElseThrow(() -> versions != null && findVersion(id, ownerId).isPresent()
+                        ? new PreconditionFailedException(id)
+                        : new JournalNotFoundException(id));
+        eventPublisher.publishEvent(JournalChangedEvent.saved(ownerId,
+                List.of(new JournalChangedEvent.Journal(row.getId(), row.getTitle(), row.getContent()))));
+        return JournalMapper.toResponse(row);
+    }
+
+    private Optional<Long> findVersion(Long id, Long ownerId) {
+        return ownerId == null
+                ? repository.findVersionById(id)
+                : repository.findVersionByIdAndOwnerId(id, ownerId);
+    }
+
+    @Override
+    public void delete(Long id) {
+        Long ownerId = ownerFilter();
+        int deleted = ownerId == null
+                ? repository.deleteAnyById(id)
+                : repository.deleteByIdAndOwnerId(id, ownerId);
+        if (deleted == 0) {
+            throw new JournalNotFoundException(id);
         }
+        eventPublisher.publishEvent(JournalChangedEvent.deleted(ownerId, List.of(id)));
+    }
+
+    @Override
+    @Transactional
+    public BatchResponse createBatch(List<JournalRequest> requests) {
+        checkBatchSize(requests.size());
         Long userId = currentUserService.getCurrentUser().getId();
-        JournalEntity existing = repository.findByIdAndOwnerId(id,userId)
-                .orElseThrow(() -> new JournalNotFoundException(id));
-        existing.setTitle(request.getTitle());
-        existing.setContent(request.getContent());
-        JournalEntity saved = repository.save(existing);
-        return JournalMapper.toResponse(saved);
+        UserEntity owner = userRepository.getReferenceById(userId);
 
+        BatchItemResult[] results = new BatchItemResult[requests.size()];
+        List<Integer> positions = new ArrayList<>();
+        List<JournalEntity> entities = new ArrayList<>();
+        for (int i = 0; i < results.length; i++) {
+            String violations = violations(requests.get(i));
+            if (violations != null) {
+                results[i] = BatchItemResult.failure(i, null, 400, violations);
+                continue;
+            }
+            JournalEntity entity = JournalMapper.toEntity(requests.get(i));
+            entity.setOwner(owner);
+            entities.add(entity);
+            positions.add(i);
+        }
+
+        // Ids come from the pooled sequence, so the INSERTs are only sent on flush,
+        // grouped into JDBC batches of hibernate.jdbc.batch_size
+        repository.saveAll(entities);
+        repository.flush();
+        for (int k = 0; k < entities.size(); k++) {
+            int i = positions.get(k);
+            results[i] = BatchItemResult.success(i, entities.get(k).getId(), 201);
+        }
+        if (!entities.isEmpty()) {
+            eventPublisher.publishEvent(JournalChangedEvent.saved(userId,
+                    entities.stream().map(JournalServiceImpl::changed).toList()));
+        }
+        return new BatchResponse(Arrays.asList(results));
     }
 
     @Override
-    public void delete(Long id) {
-        if(currentUserService.isAdmin()){
-            if(!repository.existsById(id)){
-                throw new JournalNotFoundException(id);
+    @Transactional
+    public BatchResponse updateBatch(List<JournalBatchUpdateRequest> requests) {
+        checkBatchSize(requests.size());
+        Long ownerId = ownerFilter();
+
+        BatchItemResult[] results = new BatchItemResult[requests.size()];
+        List<Integer> positions = new ArrayList<>();
+        List<JournalUpdate> updates = new ArrayList<>();
+        for (int i = 0; i < results.length; i++) {
+            JournalBatchUpdateRequest request = requests.get(i);
+            String violations = violations(request);
+            if (violations != null) {
+                results[i] = BatchItemResult.failure(i, request.getId(), 400, violations);
+                continue;
+            }
+            updates.add(new JournalUpdate(request.getId(), request.getTitle(), request.getContent(), request.getVersion()));
+            positions.add(i);
+        }
+
+        LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.MICROS);
+        int[] counts = updates.isEmpty() ? new int[0] : repository.updateBatch(updates, ownerId, now);
+
+        // Only misses need a second look: a row that is still there failed its version check
+        List<Long> missed = new ArrayList<>();
+        for (int k = 0; k < counts.length; k++) {
+            if (counts[k] == 0) {
+                missed.add(updates.get(k).getId());
+            }
+        }
+        Set<Long> existing = missed.isEmpty() ? Set.of() : new HashSet<>(ownerId == null
+                ? repository.findExistingIds(missed)
+                : repository.findExistingIdsByOwner(missed, ownerId));
+
+        List<JournalChangedEvent.Journal> saved = new ArrayList<>();
+        for (int k = 0; k < counts.length; k++) {
+            int i = positions.get(k);
+            JournalUpdate update = updates.get(k);
+            Long id = update.getId();
+            if (counts[k] != 0) {
+                results[i] = BatchItemResult.success(i, id, 200);
+                saved.add(new JournalChangedEvent.Journal(id, update.getTitle(), update.getContent()));
+            } else if (existing.contains(id)) {
+                results[i] = BatchItemResult.failure(i, id, 412, new PreconditionFailedException(id).getMessage());
+            } else {
+                results[i] = BatchItemResult.failure(i, id, 404, new JournalNotFoundException(id).getMessage());
             }
-            repository.deleteById(id);
         }
+        if (!saved.isEmpty()) {
+            eventPublisher.publishEvent(JournalChangedEvent.saved(ownerId, saved));
+        }
+        return new BatchResponse(Arrays.asList(results));
+    }
+
+    @Override
+    @Transactional
+    public BatchResponse deleteBatch(List<Long> ids) {
+        checkBatchSize(ids.size());
+        List<Long> present = ids.stream().filter(Objects::nonNull).toList();
+        Long ownerId = ownerFilter();
+        Set<Long> deleted = new HashSet<>(repository.deleteBatch(present, ownerId));
+        if (!deleted.isEmpty()) {
+            eventPublisher.publishEvent(JournalChangedEvent.deleted(ownerId, List.copyOf(deleted)));
+        }
+
+        List<BatchItemResult> results = new ArrayList<>(ids.size());
+        for (int i = 0; i < ids.size(); i++) {
+            Long id = ids.get(i);
+            if (id == null) {
+                results.add(BatchItemResult.failure(i, null, 400, "id is required"));
+            } else if (deleted.contains(id)) {
+                results.add(BatchItemResult.success(i, id, 204));
+            } else {
+                results.add(BatchItemResult.failure(i, id, 404, new JournalNotFoundException(id).getMessage()));
+            }
+        }
+        return new BatchResponse(results);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public void exportNdjson(OutputStream out) {
+        Long userId = currentUserService.getCurrentUser().getId();
+        // One generator for the whole export, flushed only when its buffer fills,
+        // so each row costs a serialization and no syscall
+        ObjectWriter writer = objectMapper.writer()
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE)
+                .without(StreamWriteFeature.AUTO_CLOSE_TARGET)
+                .withRootValueSeparator("");
+        try (JsonGenerator generator = writer.createGenerator(out)) {
+            repository.streamByOwner(userId, journalProperties.getExportFetchSize(), row -> {
+                writer.writeValue(generator, JournalMapper.toResponse(row));
+                generator.writeRaw('\n');
+            });
+        }
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public void exportMarkdownZip(OutputStream out) throws IOException {
         Long userId = currentUserService.getCurrentUser().getId();
-        if(!repository.existsByIdAndOwnerId(id,userId)){
-            throw new JournalNotFoundException(id);
+        ZipOutputStream zip = new ZipOutputStream(out, StandardCharsets.UTF_8);
+        repository.streamByOwner(userId, journalProperties.getExportFetchSize(), row -> {
+            try {
+                ZipEntry entry = new ZipEntry(JournalMarkdown.fileName(row));
+                entry.setTimeLocal(row.getUpdatedAt());
+                zip.putNextEntry(entry);
+                zip.write(JournalMarkdown.render(row).getBytes(StandardCharsets.UTF_8));
+                zip.closeEntry();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+        // Writes the central directory; the response stream itself is left open
+        zip.finish();
+    }
+
+    @Override
+    public JournalImportResponse importNdjson(Reader body) throws IOException {
+        return importJournals(JournalImportReader.ndjson(body, objectMapper.reader()));
+    }
+
+    @Override
+    public JournalImportResponse importCsv(Reader body) throws IOException {
+        return importJournals(JournalImportReader.csv(body));
+    }
+
+    // Not @Transactional: every chunk is a single COPY that commits on its own, so a
+    // large import never holds one long transaction and earlier chunks stay imported
+    private JournalImportResponse importJournals(JournalImportReader reader) throws IOException {
+        Long userId = currentUserService.getCurrentUser().getId();
+        int chunkSize = journalProperties.getImportChunkSize();
+        LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.MICROS);
+
+        List<JournalInsert> chunk = new ArrayList<>(chunkSize);
+        List<ImportChunkResult> chunks = new ArrayList<>();
+        List<ImportRejection> rejections = new ArrayList<>();
+        long imported = 0;
+        long rejected = 0;
+        long lastLine = 0;
+
+        JournalImportReader.Record record;
+        while ((record = reader.next()) != null) {
+            String error = record.getError() != null ? record.getError() : importViolations(record.getRequest());
+            if (error != null) {
+                rejected++;
+                if (rejections.size() < MAX_REPORTED_REJECTIONS) {
+                    rejections.add(new ImportRejection(record.getLine(), error));
+                }
+                continue;
+            }
+            JournalImportRequest request = record.getRequest();
+            // Only created_at takes the client's date; updated_at is when the row was written here
+            LocalDateTime createdAt = request.getCreatedAt() != null ? request.getCreatedAt() : now;
+            chunk.add(new JournalInsert(request.getTitle(), request.getContent(), createdAt, now));
+            lastLine = record.getLine();
+            if (chunk.size() == chunkSize) {
+                imported += copyChunk(userId, chunk, chunks, lastLine);
+            }
+        }
+        if (!chunk.isEmpty()) {
+            imported += copyChunk(userId, chunk, chunks, lastLine);
+        }
+        return new JournalImportResponse(imported, rejected, chunks, rejections);
+    }
+
+    private long copyChunk(Long userId, List<JournalInsert> chunk, List<ImportChunkResult> chunks, long lastLine) {
+        List<Long> ids = repository.copyIn(userId, chunk);
+        chunks.add(new ImportChunkResult(chunks.size() + 1, ids.size(), lastLine));
+        List<JournalChangedEvent.Journal> imported = new ArrayList<>(ids.size());
+        for (int i = 0; i < ids.size(); i++) {
+            imported.add(new JournalChangedEvent.Journal(ids.get(i), chunk.get(i).getTitle(), chunk.get(i).getContent()));
+        }
+        eventPublisher.publishEvent(JournalChangedEvent.saved(userId, imported));
+        chunk.clear();
+        return ids.size();
+    }
+
+    private String importViolations(JournalImportRequest request) {
+        String violations = violations(request);
+        if (violations == null && (request.getTitle().indexOf('\0') >= 0 || request.getContent().indexOf('\0') >= 0)) {
+            // PostgreSQL text cannot hold NUL, and one such row would fail its whole COPY
+            return "title and content must not contain NUL characters";
         }
-        repository.deleteByIdAndOwnerId(id,userId);
+        return violations;
+    }
+
+    private void checkBatchSize(int size) {
+        int max = journalProperties.getBatchMaxItems();
+        if (size == 0 || size > max) {
+            throw new BadRequestException("A batch must contain 1 to " + max + " items");
+        }
+    }
 
+    private static JournalChangedEvent.Journal changed(JournalEntity entity) {
+        return new JournalChangedEvent.Journal(entity.getId(), entity.getTitle(), entity.getContent());
+    }
+
+    // Items are validated one by one so a bad item fails on its own instead of failing the batch
+    private String violations(Object item) {
+        if (item == null) {
+            return "item is required";
+        }
+        Set<ConstraintViolation<Object>> violations = validator.validate(item);
+        if (violations.isEmpty()) {
+            return null;
+        }
+        return violations.stream()
+                .map(ConstraintViolation::getMessage)
+                .sorted()
+                .collect(Collectors.joining("; "));
     }
 }
@@ -1,68 +1,162 @@
 package com.ishwor.journalapi.service.impl;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
 import com.ishwor.journalapi.config.JwtProperties;
 import com.ishwor.journalapi.entity.Role;
+import com.ishwor.journalapi.security.AccessTokenClaims;
+import com.ishwor.journalapi.security.Hs256TokenCodec;
 import com.ishwor.journalapi.service.JwtService;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
 import org.springframework.stereotype.Service;
 
 import javax.crypto.SecretKey;
+import java.nio.ByteBuffer;
 import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.time.Duration;
 import java.time.Instant;
+import java.util.Base64;
 import java.util.Date;
 import java.util.Map;
 
 
 @Service
 public class JwtServiceImpl implements JwtService {
+    private static final SecureRandom RANDOM = new SecureRandom();
+    private static final Base64.Encoder TOKEN_ID_ENCODER = Base64.getUrlEncoder().withoutPadding();
+
     private final JwtProperties jwtProperties;
+    private final SecretKey signingKey;
+    private final JwtParser parser;
+    private final Hs256TokenCodec codec;
 
-    public JwtServiceImpl(JwtProperties jwtProperties) {
-        this.jwtProperties = jwtProperties;
-    }
+    // Verified claims keyed by the SHA-256 of the token, so raw tokens are never kept in memory.
+    // Each entry expires together with its token.
+    private final Cache<ByteBuffer, AccessTokenClaims> claimsCache;
 
-    private SecretKey getSigningKey(){
-        return Keys.hmacShaKeyFor(
-                jwtProperties.getSecret().getBytes(StandardCharsets.UTF_8)
-        );
+    public JwtServiceImpl(JwtProperties jwtProperties, MeterRegistry meterRegistry) {
+        this.jwtProperties = jwtProperties;
+        byte[] secret = jwtProperties.getSecret().getBytes(StandardCharsets.UTF_8);
+        this.signingKey = Keys.hmacShaKeyFor(secret);
+        this.codec = new Hs256TokenCodec(secret);
+        this.parser = Jwts.parser()
+                .verifyWith(signingKey)
+                .build();
+        this.claimsCache = Caffeine.newBuilder()
+                .maximumSize(jwtProperties.getClaimsCacheSize())
+                .expireAfter(new UntilTokenExpiry())
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, claimsCache, "jwt.claims");
     }
 
     @Override
-    public String generateToken(Long userId, String email, Role role) {
+    public String generateToken(Long userId, String email, Role role, int tokenVersion) {
         Instant now = Instant.now();
-        Instant exp = now.plusSeconds(15 * 60); //15 min
+        Instant exp = now.plusMillis(jwtProperties.getExpiration());
+        // Random id so a single token can be revoked without touching the user's other tokens
+        String tokenId = newTokenId();
 
+        if (jwtProperties.isFastCodec()) {
+            return codec.encode(userId, tokenId, email, role, tokenVersion, now.getEpochSecond(), exp.getEpochSecond());
+        }
         return Jwts.builder()
                 .subject(String.valueOf(userId))
+                .id(tokenId)
                 .claims(Map.of(
                         "email",email,
-                        "role",role
+                        "role",role,
+                        "ver",tokenVersion
                 ))
                 .issuedAt(Date.from(now))
                 .expiration(Date.from(exp))
-                .signWith(getSigningKey())
+                .signWith(signingKey)
                 .compact();
     }
 
     @Override
     public String extractSubject(String token) {
-        return Jwts.parser()
-                .verifyWith(getSigningKey())
-                .build()
-                .parseSignedClaims(token)
-                .getPayload()
-                .getSubject();
+        return String.valueOf(extractClaims(token).getUserId());
     }
 
     @Override
     public String extractRole(String token) {
-        Object role = Jwts.parser()
-                .verifyWith(getSigningKey())
-                .build()
-                .parseSignedClaims(token)
-                .getPayload()
-                .get("role");
-        return role == null ? null : role.toString();
+        Role role = extractClaims(token).getRole();
+        return role == null ? null : role.name();
+    }
+
+    @Override
+    public AccessTokenClaims extractClaims(String token) {
+        ByteBuffer key = digest(token);
+        AccessTokenClaims cached = claimsCache.getIfPresent(key);
+        if (cached != null && cached.getExpiresAt().isAfter(Instant.now())) {
+            return cached;
+        }
+        // Parse outside the cache loader so invalid tokens throw to the caller and are never cached
+        AccessTokenClaims claims = parse(token);
+        claimsCache.put(key, claims);
+        return claims;
+    }
+
+    private AccessTokenClaims parse(String token) {
+        if (jwtProperties.isFastCodec()) {
+            AccessTokenClaims claims = codec.decode(token);
+            if (claims != null) {
+                return claims;
+            }
+            // Not one of ours (e.g. signed with a different algorithm) - let jjwt handle it
+        }
+        Claims claims = parser.parseSignedClaims(token).getPayload();
+        // Tokens minted before versioning carry no "ver" claim; they belong to version 0
+        Integer version = claims.get("ver", Integer.class);
+        return new AccessTokenClaims(
+                Long.parseLong(claims.getSubject()),
+                claims.getId(),
+                claims.get("email", String.class),
+                Role.valueOf(claims.get("role", String.class)),
+                version == null ? 0 : version,
+                claims.getExpiration().toInstant()
+        );
+    }
+
+    private static String newTokenId() {
+        byte[] bytes = new byte[16];
+        RANDOM.nextBytes(bytes);
+        return TOKEN_ID_ENCODER.encodeToString(bytes);
+    }
+
+    private static ByteBuffer digest(String token) {
+        try {
+            return ByteBuffer.wrap(MessageDigest.getInstance("SHA-256")
+                    .digest(token.getBytes(StandardCharsets.US_ASCII)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    private static class UntilTokenExpiry implements Expiry<ByteBuffer, AccessTokenClaims> {
+        @Override
+        public long expireAfterCreate(ByteBuffer key, AccessTokenClaims claims, long currentTime) {
+            return Math.max(0, Duration.between(Instant.now(), claims.getExpiresAt()).toNanos());
+        }
+
+        @Override
+        public long expireAfterUpdate(ByteBuffer key, AccessTokenClaims claims, long currentTime, long currentDuration) {
+            return expireAfterCreate(key, claims, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(ByteBuffer key, AccessTokenClaims claims, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
     }
 }
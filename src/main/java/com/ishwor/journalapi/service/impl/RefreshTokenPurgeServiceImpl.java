@@ -0,0 +1,124 @@
+package com.ishwor.journalapi.service.impl;
+
+import com.ishwor.journalapi.config.RefreshTokenProperties;
+import com.ishwor.journalapi.repository.RefreshTokenEntityRepository;
+import com.ishwor.journalapi.repository.UsedRefreshTokenRepository;
+import com.ishwor.journalapi.service.RefreshTokenPurgeService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.time.Instant;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.ToIntBiFunction;
+
+/**
+ * Deletes expired refresh tokens in the background. Work is split into small batches,
+ * each its own short transaction, with a pause in between, so a large backlog never
+ * turns into one long-running DELETE holding locks on the table.
+ * <p>
+ * Runs on a thread of its own rather than Spring's scheduler, which has a single thread
+ * shared by every {@code @Scheduled} job; the pauses would hold up revocation syncs and
+ * rate-limit eviction for as long as the purge lasts.
+ */
+@Service
+public class RefreshTokenPurgeServiceImpl implements RefreshTokenPurgeService {
+
+    private static final Logger log = LoggerFactory.getLogger(RefreshTokenPurgeServiceImpl.class);
+
+    private final RefreshTokenEntityRepository refreshTokenEntityRepository;
+    private final UsedRefreshTokenRepository usedRefreshTokenRepository;
+    private final RefreshTokenProperties properties;
+    private final Counter purged;
+    private final Counter usedPurged;
+    private final DistributionSummary purgedPerRun;
+    private final Timer runTimer;
+    private final ScheduledExecutorService scheduler;
+
+    public RefreshTokenPurgeServiceImpl(RefreshTokenEntityRepository refreshTokenEntityRepository,
+                                        UsedRefreshTokenRepository usedRefreshTokenRepository,
+                                        RefreshTokenProperties properties, MeterRegistry meterRegistry){
+        this.refreshTokenEntityRepository = refreshTokenEntityRepository;
+        this.usedRefreshTokenRepository = usedRefreshTokenRepository;
+        this.properties = properties;
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "refresh-token-purge");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.purged = Counter.builder("auth.refresh_tokens.purged").register(meterRegistry);
+        this.usedPurged = Counter.builder("auth.refresh_tokens.used.purged").register(meterRegistry);
+        this.purgedPerRun = DistributionSummary.builder("auth.refresh_tokens.purged.per_run").register(meterRegistry);
+        this.runTimer = Timer.builder("auth.refresh_tokens.purge.duration").register(meterRegistry);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if (!properties.isPurgeEnabled()) {
+            return;
+        }
+        long interval = properties.getPurgeInterval().toMillis();
+        scheduler.scheduleWithFixedDelay(this::scheduledPurge, interval, interval, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        // Interrupts the pause between batches; the loop stops after the last committed one
+        scheduler.shutdownNow();
+    }
+
+    private void scheduledPurge() {
+        try {
+            long deleted = runTimer.recordCallable(this::purgeExpired);
+            if (deleted > 0) {
+                log.info("Purged {} expired refresh tokens", deleted);
+            }
+        } catch (Exception e) {
+            // Keep the schedule alive; whatever is left is picked up next run
+            log.warn("Refresh token purge failed", e);
+        }
+    }
+
+    @Override
+    public long purgeExpired() {
+        // Fixed cutoff so tokens expiring while we run don't keep the loop going
+        Instant cutoff = Instant.now();
+        long total = purgeBatches(cutoff, refreshTokenEntityRepository::deleteExpiredBatch, purged);
+        // Used tokens only matter while the token that replaced them is valid
+        if (!Thread.currentThread().isInterrupted()) {
+            purgeBatches(cutoff, usedRefreshTokenRepository::deleteExpiredBatch, usedPurged);
+        }
+        purgedPerRun.record(total);
+        return total;
+    }
+
+    private long purgeBatches(Instant cutoff, ToIntBiFunction<Instant, Integer> deleteBatch, Counter counter) {
+        int batchSize = properties.getPurgeBatchSize();
+        long total = 0;
+
+        try {
+            int deleted;
+            do {
+                deleted = deleteBatch.applyAsInt(cutoff, batchSize);
+                total += deleted;
+                counter.increment(deleted);
+                if (deleted == batchSize) {
+                    Thread.sleep(properties.getPurgePause().toMillis());
+                }
+            } while (deleted == batchSize);
+        } catch (InterruptedException e) {
+            // Shutting down; stop after the last committed batch
+            Thread.currentThread().interrupt();
+        }
+        return total;
+    }
+}
@@ -1,63 +1,90 @@
 package com.ishwor.journalapi.service.impl;
 
+import com.ishwor.journalapi.config.RefreshTokenProperties;
 import com.ishwor.journalapi.entity.RefreshTokenEntity;
 import com.ishwor.journalapi.exception.RefreshTokenException;
 import com.ishwor.journalapi.repository.RefreshTokenEntityRepository;
+import com.ishwor.journalapi.repository.UsedRefreshTokenRepository;
 import com.ishwor.journalapi.repository.UserRepository;
+import com.ishwor.journalapi.security.RotatedRefreshToken;
 import com.ishwor.journalapi.service.RefreshTokenService;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
 import java.time.Instant;
-import java.util.Optional;
+import java.util.Base64;
+import java.util.HexFormat;
 import java.util.UUID;
 
 @Service
 public class RefreshTokenServiceImpl implements RefreshTokenService {
 
+   private static final SecureRandom RANDOM = new SecureRandom();
+
    private final RefreshTokenEntityRepository refreshTokenEntityRepository;
+   private final UsedRefreshTokenRepository usedRefreshTokenRepository;
    private final UserRepository userRepository;
+   private final RefreshTokenProperties refreshTokenProperties;
 
-   public RefreshTokenServiceImpl(RefreshTokenEntityRepository refreshTokenEntityRepository, UserRepository userRepository){
+   public RefreshTokenServiceImpl(RefreshTokenEntityRepository refreshTokenEntityRepository, UsedRefreshTokenRepository usedRefreshTokenRepository,
+                                  UserRepository userRepository, RefreshTokenProperties refreshTokenProperties){
        this.refreshTokenEntityRepository = refreshTokenEntityRepository;
+       this.usedRefreshTokenRepository = usedRefreshTokenRepository;
        this.userRepository = userRepository;
+       this.refreshTokenProperties = refreshTokenProperties;
    }
 
     @Override
     @Transactional
-    public RefreshTokenEntity createRefreshToken(String email) {
-       // Find the user
-       var user = userRepository.findByEmail(email)
-               .orElseThrow(() -> new RefreshTokenException("User not found"));
-
-       // Delete any existing refresh token for this user (because of @OneToOne relationship)
-       // This prevents database constraint violations when user logs in multiple times
-       refreshTokenEntityRepository.deleteByUser(user);
+    public String createRefreshToken(Long userId) {
+       // Every login starts a new family, so other devices stay signed in
+       String token = newToken();
 
-       // Flush to ensure delete is committed before insert
-       refreshTokenEntityRepository.flush();
-
-       // Create new refresh token
        RefreshTokenEntity refreshToken = new RefreshTokenEntity();
-       refreshToken.setUser(user);
-       refreshToken.setExpiryDate(Instant.now().plusSeconds(86400)); // 24 hours
-       refreshToken.setToken(UUID.randomUUID().toString());
+       refreshToken.setUser(userRepository.getReferenceById(userId));
+       refreshToken.setTokenHash(hash(token));
+       refreshToken.setFamilyId(UUID.randomUUID().toString());
+       refreshToken.setExpiryDate(Instant.now().plus(refreshTokenProperties.getValidity()));
 
-       return refreshTokenEntityRepository.save(refreshToken);
+       refreshTokenEntityRepository.save(refreshToken);
+       return token;
     }
 
     @Override
-    public RefreshTokenEntity verifyExpiration(RefreshTokenEntity refreshToken) {
-        if(refreshToken.getExpiryDate().compareTo(Instant.now()) < 0){
-            refreshTokenEntityRepository.delete(refreshToken);
+    @Transactional(noRollbackFor = RefreshTokenException.class)
+    public RotatedRefreshToken rotate(String refreshToken) {
+        String oldHash = hash(refreshToken);
+        String newToken = newToken();
+        Instant now = Instant.now();
+
+        // Happy path: one conditional UPDATE that also returns the owner
+        var owner = refreshTokenEntityRepository.rotate(oldHash, hash(newToken),
+                now.plus(refreshTokenProperties.getValidity()), now);
+        if (owner.isPresent()) {
+            return new RotatedRefreshToken(owner.get(), newToken);
+        }
+
+        // Failure paths are rare, so working out why costs extra statements only here
+        if (refreshTokenEntityRepository.deleteByTokenHash(oldHash) > 0) {
             throw new RefreshTokenException("Refresh token expired. Please login again.");
         }
-        return refreshToken;
+        var family = usedRefreshTokenRepository.findFamilyIdByTokenHash(oldHash);
+        if (family.isPresent()) {
+            // A token from any earlier rotation came back: someone else holds a copy, end the session
+            refreshTokenEntityRepository.deleteByFamilyId(family.get());
+            throw new RefreshTokenException("Refresh token reuse detected. Please login again.");
+        }
+        throw new RefreshTokenException("Invalid refresh token. Please login again.");
     }
 
     @Override
-    public Optional<RefreshTokenEntity> findByToken(String token){
-       return refreshTokenEntityRepository.findByToken(token);
+    @Transactional
+    public void revoke(String refreshToken, Long userId) {
+        refreshTokenEntityRepository.deleteByTokenHashAndUserId(hash(refreshToken), userId);
     }
 
     @Override
@@ -65,4 +92,19 @@ public class RefreshTokenServiceImpl implements RefreshTokenService {
     public void deleteByUserId(Long userId) {
         refreshTokenEntityRepository.deleteByUserId(userId);
     }
+
+    private static String newToken() {
+        byte[] bytes = new byte[32];
+        RANDOM.nextBytes(bytes);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+    }
+
+    private static String hash(String token) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
 }
@@ -0,0 +1,99 @@
+package com.ishwor.journalapi.service.impl;
+
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.ishwor.journalapi.config.TokenVersionCacheProperties;
+import com.ishwor.journalapi.event.UserChangedEvent;
+import com.ishwor.journalapi.repository.UserRepository;
+import com.ishwor.journalapi.service.TokenVersionService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+/**
+ * Keeps the per-user token version ("epoch") in memory so the auth filter can reject
+ * tokens minted before a logout or role change without a query per request.
+ * The users table stays the source of truth; a user's version is read once and then
+ * served from memory until it is bumped, evicted, or the user goes quiet for
+ * {@code expireAfterAccess}. At most {@code maximumSize} users are kept.
+ * <p>
+ * Entries are futures so the query runs outside the cache's lock. Concurrent requests for
+ * the same user still wait on one query, and an eviction that arrives meanwhile removes
+ * the future, so the version it was loading is never cached.
+ */
+@Service
+public class TokenVersionServiceImpl implements TokenVersionService {
+
+    static final String NAME = "token_versions";
+
+    private final UserRepository userRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final AsyncCache<Long, Integer> versions;
+
+    public TokenVersionServiceImpl(UserRepository userRepository, ApplicationEventPublisher eventPublisher,
+                                   TokenVersionCacheProperties properties, MeterRegistry meterRegistry){
+        this.userRepository = userRepository;
+        this.eventPublisher = eventPublisher;
+        this.versions = Caffeine.newBuilder()
+                .maximumSize(properties.getMaximumSize())
+                .expireAfterAccess(properties.getExpireAfterAccess())
+                .recordStats()
+                .buildAsync();
+        CaffeineCacheMetrics.monitor(meterRegistry, versions, NAME, List.of());
+    }
+
+    @Override
+    public int currentVersion(Long userId) {
+        CompletableFuture<Integer> loading = new CompletableFuture<>();
+        CompletableFuture<Integer> version = versions.get(userId, (id, executor) -> loading);
+        if (version == loading) {
+            try {
+                // -1 never matches a token, so deleted users are rejected
+                loading.complete(userRepository.findTokenVersionById(userId).orElse(-1));
+            } catch (RuntimeException e) {
+                // Failed futures are dropped by the cache, so the next request tries again
+                loading.completeExceptionally(e);
+                throw e;
+            }
+        }
+        try {
+            return version.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw e;
+        }
+    }
+
+    @Override
+    @Transactional
+    public void revokeAllTokens(Long userId) {
+        userRepository.incrementTokenVersion(userId);
+        // The cache is updated by onUserChanged once this commits; until then the old
+        // version is still the one in the database
+        eventPublisher.publishEvent(new UserChangedEvent(userId));
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onUserChanged(UserChangedEvent event) {
+        evict(event.getUserId());
+    }
+
+    @Override
+    public void evict(Long userId) {
+        versions.synchronous().invalidate(userId);
+    }
+
+    @Override
+    public void evictAll() {
+        versions.synchronous().invalidateAll();
+    }
+}
@@ -0,0 +1,261 @@
+package com.ishwor.journalapi.benchmark;
+
+import com.ishwor.journalapi.repository.JournalInsert;
+import com.ishwor.journalapi.repository.JournalRepositoryCustomImpl;
+import com.ishwor.journalapi.repository.JournalRow;
+import com.ishwor.journalapi.repository.JournalSearchResult;
+import com.ishwor.journalapi.search.InvertedIndex;
+import liquibase.command.CommandScope;
+import liquibase.command.core.UpdateCommandStep;
+import liquibase.command.core.helpers.DbUrlConnectionArgumentsCommandStep;
+import liquibase.database.Database;
+import liquibase.database.DatabaseFactory;
+import liquibase.database.jvm.JdbcConnection;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.datasource.SingleConnectionDataSource;
+import org.testcontainers.postgresql.PostgreSQLContainer;
+
+import java.nio.file.Files;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Time per search page (10 hits) for the Postgres tsvector path and the in-process
+ * {@link InvertedIndex}, over a synthetic corpus of a million journals spread across
+ * 100 owners. Words follow a Zipf distribution over a 20,000-word vocabulary.
+ * {@code common} searches one frequent word, so thousands of an owner's journals must be
+ * ranked; {@code selective} searches a frequent and a rarer word together.
+ * {@code indexWithRows} adds the primary-key lookup the index engine makes for the page.
+ * <p>
+ * Every trial starts a Postgres container and seeds it, which takes a few minutes. Against an
+ * existing database ({@code -Dbenchmark.jdbc-url=... -Dbenchmark.username=... -Dbenchmark.password=...})
+ * the changelog is applied, rows are seeded once under dedicated users and later trials reuse them:
+ * <pre>
+ * mvn test-compile exec:java -Dexec.classpathScope=test \
+ *     -Dexec.mainClass=com.ishwor.journalapi.benchmark.JournalSearchBenchmark
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JournalSearchBenchmark {
+
+    private static final int VOCABULARY = 20_000;
+    private static final int PAGE = 10;
+    private static final int QUERIES = 256;
+    private static final String[] SYLLABLES = {
+            "ba", "ko", "mi", "ra", "tu", "ve", "lo", "sa", "pi", "do", "ne", "fa", "gu", "hi", "ja",
+            "ze", "wo", "qui", "bra", "tro", "ple", "sku", "gri", "fle", "dro", "mar", "lin", "tor",
+            "vul", "pen", "dak", "rom", "sil", "tav", "nor", "bel", "kip", "mog", "zan", "fer"};
+
+    @Param({"1000000"})
+    public int journals;
+
+    @Param({"100"})
+    public int owners;
+
+    @Param({"common", "selective"})
+    public String query;
+
+    private PostgreSQLContainer postgres;
+    private SingleConnectionDataSource dataSource;
+    private JournalRepositoryCustomImpl repository;
+    private InvertedIndex index;
+
+    private long[] ownerIds;
+    private String[] words;
+    private double[] cumulative;
+    private long[] queryOwners;
+    private String[] queryTexts;
+    private int next;
+
+    @Setup
+    public void setUp() throws Exception {
+        String url = System.getProperty("benchmark.jdbc-url");
+        String username = System.getProperty("benchmark.username", "postgres");
+        String password = System.getProperty("benchmark.password", "postgres");
+        if (url == null) {
+            postgres = new PostgreSQLContainer("postgres:16-alpine");
+            postgres.start();
+            url = postgres.getJdbcUrl();
+            username = postgres.getUsername();
+            password = postgres.getPassword();
+        }
+        dataSource = new SingleConnectionDataSource(url, username, password, true);
+        repository = new JournalRepositoryCustomImpl(null, new NamedParameterJdbcTemplate(dataSource));
+        index = new InvertedIndex(Files.createTempDirectory("journal-search-benchmark"), 10_000, 8);
+
+        words = new String[VOCABULARY];
+        cumulative = new double[VOCABULARY];
+        double total = 0;
+        for (int rank = 0; rank < VOCABULARY; rank++) {
+            words[rank] = word(rank);
+            total += 1.0 / (rank + 1);
+            cumulative[rank] = total;
+        }
+
+        Connection connection = dataSource.getConnection();
+        migrate(connection);
+        ownerIds = createOwners(connection);
+        if (countJournals(connection) == (long) journals / owners * owners) {
+            load(connection);
+        } else {
+            try (PreparedStatement statement = connection.prepareStatement("DELETE FROM journals WHERE owner_id = ANY (?)")) {
+                statement.setArray(1, connection.createArrayOf("bigint", Arrays.stream(ownerIds).boxed().toArray()));
+                statement.executeUpdate();
+            }
+            seed();
+            try (Statement statement = connection.createStatement()) {
+                statement.execute("ANALYZE journals");
+            }
+        }
+        // Measure searches against the settled segments, not a merge still running
+        index.awaitMaintenance();
+
+        Random random = new Random(7);
+        queryOwners = new long[QUERIES];
+        queryTexts = new String[QUERIES];
+        for (int i = 0; i < QUERIES; i++) {
+            queryOwners[i] = ownerIds[random.nextInt(ownerIds.length)];
+            queryTexts[i] = query.equals("common")
+                    ? words[5 + random.nextInt(45)]
+                    : words[10 + random.nextInt(90)] + " " + words[100 + random.nextInt(900)];
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        index.close();
+        dataSource.destroy();
+        if (postgres != null) {
+            postgres.stop();
+        }
+    }
+
+    @Benchmark
+    public List<JournalSearchResult> sql() {
+        int i = next++ & (QUERIES - 1);
+        return repository.search(queryOwners[i], queryTexts[i], null, PAGE);
+    }
+
+    @Benchmark
+    public List<InvertedIndex.Hit> index() {
+        int i = next++ & (QUERIES - 1);
+        return index.search(queryOwners[i], queryTexts[i], null, PAGE);
+    }
+
+    @Benchmark
+    public List<JournalRow> indexWithRows() {
+        int i = next++ & (QUERIES - 1);
+        List<InvertedIndex.Hit> hits = index.search(queryOwners[i], queryTexts[i], null, PAGE);
+        return repository.findRows(queryOwners[i], hits.stream().map(InvertedIndex.Hit::id).toList());
+    }
+
+    private static void migrate(Connection connection) throws Exception {
+        Database database = DatabaseFactory.getInstance().findCorrectDatabaseImplementation(new JdbcConnection(connection));
+        new CommandScope(UpdateCommandStep.COMMAND_NAME)
+                .addArgumentValue(DbUrlConnectionArgumentsCommandStep.DATABASE_ARG, database)
+                .addArgumentValue(UpdateCommandStep.CHANGELOG_FILE_ARG, "db/changelog/db.changelog-master.yml")
+                .execute();
+        // Liquibase leaves auto-commit off; the COPYs below must commit on their own
+        connection.setAutoCommit(true);
+    }
+
+    // Users are named after the corpus size, so a later trial against the same database finds its rows
+    private long[] createOwners(Connection connection) throws Exception {
+        long[] ids = new long[owners];
+        try (PreparedStatement insert = connection.prepareStatement(
+                "INSERT INTO users (email, password_hash, role) VALUES (?, 'x', 'USER') ON CONFLICT (email) DO NOTHING");
+             PreparedStatement select = connection.prepareStatement("SELECT id FROM users WHERE email = ?")) {
+            for (int i = 0; i < owners; i++) {
+                String email = "search-benchmark-" + journals + "-" + i + "@example.com";
+                insert.setString(1, email);
+                insert.executeUpdate();
+                select.setString(1, email);
+                try (ResultSet rs = select.executeQuery()) {
+                    rs.next();
+                    ids[i] = rs.getLong(1);
+                }
+            }
+        }
+        return ids;
+    }
+
+    private long countJournals(Connection connection) throws Exception {
+        try (PreparedStatement statement = connection.prepareStatement("SELECT count(*) FROM journals WHERE owner_id = ANY (?)")) {
+            statement.setArray(1, connection.createArrayOf("bigint", Arrays.stream(ownerIds).boxed().toArray()));
+            try (ResultSet rs = statement.executeQuery()) {
+                rs.next();
+                return rs.getLong(1);
+            }
+        }
+    }
+
+    // Indexes rows seeded by an earlier trial; streaming needs a transaction for the fetch size
+    private void load(Connection connection) throws Exception {
+        connection.setAutoCommit(false);
+        for (long ownerId : ownerIds) {
+            repository.streamByOwner(ownerId, 1000, row -> index.upsert(ownerId, row.getId(), row.getTitle(), row.getContent()));
+        }
+        connection.commit();
+        connection.setAutoCommit(true);
+    }
+
+    // Same rows into Postgres and the index, one COPY per owner and chunk
+    private void seed() {
+        Random random = new Random(42);
+        int perOwner = journals / owners;
+        LocalDateTime now = LocalDateTime.now();
+        for (long ownerId : ownerIds) {
+            for (int done = 0; done < perOwner; done += 10_000) {
+                List<JournalInsert> rows = new ArrayList<>();
+                for (int k = 0; k < Math.min(10_000, perOwner - done); k++) {
+                    LocalDateTime createdAt = now.minusMinutes(random.nextInt(1_000_000));
+                    rows.add(new JournalInsert(text(random, 3 + random.nextInt(4)), text(random, 40 + random.nextInt(41)),
+                            createdAt, createdAt));
+                }
+                List<Long> ids = repository.copyIn(ownerId, rows);
+                for (int k = 0; k < ids.size(); k++) {
+                    index.upsert(ownerId, ids.get(k), rows.get(k).getTitle(), rows.get(k).getContent());
+                }
+            }
+        }
+    }
+
+    private String text(Random random, int length) {
+        StringBuilder text = new StringBuilder();
+        for (int i = 0; i < length; i++) {
+            int rank = Arrays.binarySearch(cumulative, random.nextDouble() * cumulative[VOCABULARY - 1]);
+            text.append(i == 0 ? "" : " ").append(words[rank < 0 ? -rank - 1 : rank]);
+        }
+        return text.toString();
+    }
+
+    // Distinct made-up words of two or three syllables, none of them stop words
+    private static String word(int rank) {
+        int n = SYLLABLES.length;
+        String word = SYLLABLES[rank % n] + SYLLABLES[(rank / n) % n];
+        return rank < n * n ? word : word + SYLLABLES[(rank / (n * n)) % n];
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(JournalSearchBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
@@ -0,0 +1,92 @@
+package com.ishwor.journalapi.benchmark;
+
+import com.ishwor.journalapi.entity.Role;
+import com.ishwor.journalapi.security.Hs256TokenCodec;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Date;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares issuing and verifying access tokens with the jjwt builder/parser (the path
+ * JwtServiceImpl used before) against {@link Hs256TokenCodec}. Run with the GC profiler
+ * to see allocations per operation:
+ * <pre>
+ * mvn test-compile exec:java -Dexec.classpathScope=test \
+ *     -Dexec.mainClass=com.ishwor.journalapi.benchmark.JwtCodecBenchmark
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwtCodecBenchmark {
+
+    private static final byte[] SECRET = "benchmark-secret-key-that-is-at-least-32-bytes".getBytes(StandardCharsets.UTF_8);
+
+    private Hs256TokenCodec codec;
+    private JwtParser parser;
+    private String codecToken;
+    private String jjwtToken;
+
+    @Setup
+    public void setUp() {
+        codec = new Hs256TokenCodec(SECRET);
+        parser = Jwts.parser().verifyWith(Keys.hmacShaKeyFor(SECRET)).build();
+        codecToken = codecIssue();
+        jjwtToken = jjwtIssue();
+    }
+
+    @Benchmark
+    public String jjwtIssue() {
+        // Mirrors the original generateToken: new key, Map.of claims, full builder chain
+        Instant now = Instant.now();
+        return Jwts.builder()
+                .subject("12345")
+                .claims(Map.of(
+                        "email", "user@example.com",
+                        "role", Role.USER,
+                        "ver", 0
+                ))
+                .issuedAt(Date.from(now))
+                .expiration(Date.from(now.plusSeconds(900)))
+                .signWith(Keys.hmacShaKeyFor(SECRET), Jwts.SIG.HS256)
+                .compact();
+    }
+
+    @Benchmark
+    public String codecIssue() {
+        long now = Instant.now().getEpochSecond();
+        return codec.encode(12345L, "q3Rk1v9XbJ0yL8mN2pA7cw", "user@example.com", Role.USER, 0, now, now + 900);
+    }
+
+    @Benchmark
+    public Claims jjwtVerify() {
+        return parser.parseSignedClaims(jjwtToken).getPayload();
+    }
+
+    @Benchmark
+    public Object codecVerify() {
+        return codec.decode(codecToken);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(JwtCodecBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build()).run();
+    }
+}
@@ -0,0 +1,67 @@
+package com.ishwor.journalapi.benchmark;
+
+import com.ishwor.journalapi.config.PasswordEncoderProperties;
+import com.ishwor.journalapi.security.PasswordEncoderFactory;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Reports how long one password verification takes for each hashing profile on the
+ * machine it runs on. Divide auth.hashing.pool-size by the result to get the login
+ * rate a node can sustain before the hashing queue starts filling up.
+ * <pre>
+ * mvn test-compile exec:java -Dexec.classpathScope=test \
+ *     -Dexec.mainClass=com.ishwor.journalapi.benchmark.PasswordEncoderBenchmark
+ * </pre>
+ * Profiles are {@code algorithm:cost} where cost is the bcrypt strength, the argon2
+ * memory in KiB or the pbkdf2 iteration count. Override them with
+ * {@code -p profile=bcrypt:11,argon2:65536} when running through the JMH command line.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 3, time = 3)
+@Fork(1)
+public class PasswordEncoderBenchmark {
+
+    @Param({"bcrypt:10", "bcrypt:12", "argon2:16384", "argon2:65536", "pbkdf2:310000", "pbkdf2:600000"})
+    public String profile;
+
+    private PasswordEncoder encoder;
+    private String hash;
+
+    @Setup
+    public void setUp() {
+        String[] parts = profile.split(":");
+        String algorithm = parts[0];
+        int cost = Integer.parseInt(parts[1]);
+
+        PasswordEncoderProperties properties = new PasswordEncoderProperties();
+        properties.setAlgorithm(algorithm);
+        switch (algorithm) {
+            case "bcrypt" -> properties.getBcrypt().setStrength(cost);
+            case "argon2" -> properties.getArgon2().setMemory(cost);
+            case "pbkdf2" -> properties.getPbkdf2().setIterations(cost);
+            default -> throw new IllegalArgumentException("Unknown algorithm: " + algorithm);
+        }
+        encoder = PasswordEncoderFactory.create(properties);
+        hash = encoder.encode("correct horse battery staple");
+    }
+
+    @Benchmark
+    public boolean matches() {
+        return encoder.matches("correct horse battery staple", hash);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(PasswordEncoderBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
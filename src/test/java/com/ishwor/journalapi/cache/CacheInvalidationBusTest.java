@@ -0,0 +1,89 @@
+package com.ishwor.journalapi.cache;
+
+import com.ishwor.journalapi.config.CacheInvalidationProperties;
+import com.ishwor.journalapi.config.JournalCacheProperties;
+import com.ishwor.journalapi.event.JournalChangedEvent;
+import com.ishwor.journalapi.event.UserChangedEvent;
+import com.ishwor.journalapi.repository.JournalRow;
+import com.ishwor.journalapi.search.JournalSearchEngine;
+import com.ishwor.journalapi.service.TokenVersionService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.jdbc.autoconfigure.DataSourceProperties;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Two nodes on one database: the application's bus and a second one with caches of its own.
+ */
+@SpringBootTest(properties = {
+        "journal.cache.invalidation.enabled=true",
+        "journal.cache.invalidation.channel=cache_invalidation_test"
+})
+public class CacheInvalidationBusTest {
+
+    @Autowired
+    private CacheInvalidationBus bus;
+
+    @Autowired
+    private DataSourceProperties dataSourceProperties;
+
+    @Autowired
+    private CacheInvalidationProperties properties;
+
+    private JournalCache otherCache;
+    private JournalSearchEngine otherSearch;
+    private TokenVersionService otherVersions;
+    private CacheInvalidationBus other;
+
+    @BeforeEach
+    public void setUp() throws InterruptedException {
+        otherCache = new JournalCache(new JournalCacheProperties(), new SimpleMeterRegistry());
+        otherSearch = Mockito.mock(JournalSearchEngine.class);
+        otherVersions = Mockito.mock(TokenVersionService.class);
+        other = new CacheInvalidationBus(dataSourceProperties, properties, otherCache, otherSearch, otherVersions,
+                new SimpleMeterRegistry());
+        other.start();
+        await(() -> bus.isListening() && other.isListening());
+    }
+
+    @AfterEach
+    public void tearDown() {
+        other.stop();
+    }
+
+    @Test
+    public void shouldDropJournalOnOtherNode_WhenChangedHere() throws InterruptedException {
+        otherCache.get(1L, 10L, () -> new JournalRow(10L, "Title", "Content", LocalDateTime.now(), LocalDateTime.now(), 0));
+        assertTrue(otherCache.version(1L, 10L).isPresent());
+
+        bus.onJournalChanged(JournalChangedEvent.deleted(1L, List.of(10L)));
+
+        await(() -> otherCache.version(1L, 10L).isEmpty());
+        Mockito.verify(otherSearch, Mockito.timeout(5000)).invalidate(List.of(10L));
+    }
+
+    @Test
+    public void shouldEvictTokenVersionOnOtherNode_WhenUserChangedHere() {
+        bus.onUserChanged(new UserChangedEvent(5L));
+
+        Mockito.verify(otherVersions, Mockito.timeout(5000)).evict(5L);
+    }
+
+    private static void await(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5000;
+        while (!condition.getAsBoolean() && System.currentTimeMillis() < deadline) {
+            Thread.sleep(20);
+        }
+        assertTrue(condition.getAsBoolean());
+    }
+}
@@ -0,0 +1,57 @@
+package com.ishwor.journalapi.cache;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class InvalidationMessageTest {
+
+    @Test
+    public void shouldRoundTripIds() {
+        List<String> payloads = InvalidationMessage.encode("node1", InvalidationMessage.Kind.JOURNALS, List.of(12L, 40L, 41L));
+
+        assertEquals(List.of("node1 j 12,40,41"), payloads);
+        assertEquals(new InvalidationMessage("node1", InvalidationMessage.Kind.JOURNALS, List.of(12L, 40L, 41L)),
+                InvalidationMessage.parse(payloads.get(0)));
+    }
+
+    @Test
+    public void shouldSplitIdsAcrossPayloadsUnderTheLimit() {
+        List<Long> ids = LongStream.range(1_000_000_000L, 1_000_002_000L).boxed().toList();
+
+        List<String> payloads = InvalidationMessage.encode("node1", InvalidationMessage.Kind.USERS, ids);
+
+        assertTrue(payloads.size() > 1);
+        List<Long> decoded = new ArrayList<>();
+        for (String payload : payloads) {
+            assertTrue(payload.length() <= InvalidationMessage.MAX_PAYLOAD);
+            decoded.addAll(InvalidationMessage.parse(payload).ids());
+        }
+        assertEquals(ids, decoded);
+    }
+
+    @Test
+    public void shouldEncodeNothing_WhenThereAreNoIds() {
+        assertTrue(InvalidationMessage.encode("node1", InvalidationMessage.Kind.JOURNALS, List.of()).isEmpty());
+    }
+
+    @Test
+    public void shouldParseFlushAll() {
+        InvalidationMessage message = InvalidationMessage.parse(InvalidationMessage.all("node1"));
+
+        assertEquals(InvalidationMessage.Kind.ALL, message.kind());
+        assertTrue(message.ids().isEmpty());
+    }
+
+    @Test
+    public void shouldRejectMalformedPayloads() {
+        assertThrows(IllegalArgumentException.class, () -> InvalidationMessage.parse("node1"));
+        assertThrows(IllegalArgumentException.class, () -> InvalidationMessage.parse("node1 x 1"));
+        assertThrows(IllegalArgumentException.class, () -> InvalidationMessage.parse("node1 j"));
+        assertThrows(IllegalArgumentException.class, () -> InvalidationMessage.parse("node1 j 1,two"));
+    }
+}
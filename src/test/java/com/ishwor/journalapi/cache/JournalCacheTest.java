@@ -0,0 +1,101 @@
+package com.ishwor.journalapi.cache;
+
+import com.ishwor.journalapi.config.JournalCacheProperties;
+import com.ishwor.journalapi.event.JournalChangedEvent;
+import com.ishwor.journalapi.repository.JournalRow;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.util.unit.DataSize;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.OptionalLong;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class JournalCacheTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private JournalCache cache;
+    private final AtomicInteger loads = new AtomicInteger();
+
+    @BeforeEach
+    public void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        cache = new JournalCache(new JournalCacheProperties(), meterRegistry);
+    }
+
+    @Test
+    public void shouldLoadOnceAndServeRepeatReadsFromCache() {
+        JournalRow first = cache.get(1L, 10L, () -> load(10L, 3));
+        JournalRow second = cache.get(1L, 10L, () -> load(10L, 3));
+
+        assertSame(first, second);
+        assertEquals(1, loads.get());
+        assertEquals(OptionalLong.of(3), cache.version(1L, 10L));
+        assertEquals(0.5, meterRegistry.get("cache.hit.ratio").tag("cache", JournalCache.NAME).gauge().value());
+    }
+
+    @Test
+    public void shouldNotServeAnotherOwnersJournal_WhenCached() {
+        cache.get(1L, 10L, () -> load(10L, 1));
+
+        assertNull(cache.get(2L, 10L, () -> load(10L, 1)));
+        assertTrue(cache.version(2L, 10L).isEmpty());
+        assertEquals(1, loads.get());
+    }
+
+    @Test
+    public void shouldNotCacheMissingJournal() {
+        assertNull(cache.get(1L, 10L, () -> null));
+
+        assertNotNull(cache.get(1L, 10L, () -> load(10L, 1)));
+        assertEquals(1, loads.get());
+    }
+
+    @Test
+    public void shouldReloadAfterUpdateOrDelete() {
+        cache.get(1L, 10L, () -> load(10L, 1));
+        cache.get(1L, 11L, () -> load(11L, 1));
+
+        // Admin edits carry no owner; the id alone is enough
+        cache.onJournalChanged(JournalChangedEvent.saved(null, List.of(new JournalChangedEvent.Journal(10L, "t", "c"))));
+        cache.onJournalChanged(JournalChangedEvent.deleted(1L, List.of(11L)));
+
+        assertTrue(cache.version(1L, 10L).isEmpty());
+        assertEquals(2, cache.get(1L, 10L, () -> load(10L, 2)).getVersion());
+        assertNull(cache.get(1L, 11L, () -> null));
+    }
+
+    @Test
+    public void shouldEvictByContentSize() {
+        JournalCacheProperties properties = new JournalCacheProperties();
+        properties.setMaximumSize(DataSize.ofKilobytes(64));
+        // A fresh registry, since meters stay bound to the first cache registered under a name
+        meterRegistry = new SimpleMeterRegistry();
+        cache = new JournalCache(properties, meterRegistry);
+
+        // Each journal weighs about 10 KB, so only a handful fit
+        for (long id = 1; id <= 50; id++) {
+            long journalId = id;
+            cache.get(1L, journalId, () -> new JournalRow(journalId, "t", "x".repeat(5_000), LocalDateTime.now(), LocalDateTime.now(), 0));
+        }
+        cache.cleanUp();
+        long cached = 0;
+        for (long id = 1; id <= 50; id++) {
+            if (cache.version(1L, id).isPresent()) {
+                cached++;
+            }
+        }
+
+        assertTrue(cached > 0 && cached <= 6, "cached: " + cached);
+        assertTrue(meterRegistry.get("cache.evictions").tag("cache", JournalCache.NAME).functionCounter().count() > 0);
+    }
+
+    private JournalRow load(long id, long version) {
+        loads.incrementAndGet();
+        return new JournalRow(id, "Title", "Content", LocalDateTime.now(), LocalDateTime.now(), version);
+    }
+}
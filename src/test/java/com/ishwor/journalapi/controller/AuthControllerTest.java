@@ -3,13 +3,15 @@ package com.ishwor.journalapi.controller;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.ishwor.journalapi.dto.*;
-import com.ishwor.journalapi.entity.RefreshTokenEntity;
-import com.ishwor.journalapi.entity.UserEntity;
 import com.ishwor.journalapi.entity.Role;
+import com.ishwor.journalapi.exception.AuthOverloadedException;
 import com.ishwor.journalapi.exception.RefreshTokenException;
+import com.ishwor.journalapi.security.AuthenticatedUser;
+import com.ishwor.journalapi.service.AccessTokenRevocationService;
 import com.ishwor.journalapi.service.AuthService;
 import com.ishwor.journalapi.service.JwtService;
 import com.ishwor.journalapi.service.RefreshTokenService;
+import com.ishwor.journalapi.service.TokenVersionService;
 import com.ishwor.journalapi.service.impl.CurrentUserService;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mockito;
@@ -21,8 +23,8 @@ import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.web.servlet.MockMvc;
 
+
 import java.time.Instant;
-import java.util.Optional;
 
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
@@ -47,6 +49,12 @@ public class AuthControllerTest {
     @MockitoBean
     private CurrentUserService currentUserService;
 
+    @MockitoBean
+    private TokenVersionService tokenVersionService;
+
+    @MockitoBean
+    private AccessTokenRevocationService accessTokenRevocationService;
+
     @Test
     public void shouldRegisterUser_WithValidRequest() throws Exception {
         RegisterRequest request = new RegisterRequest();
@@ -138,6 +146,23 @@ public class AuthControllerTest {
                 .andExpect(jsonPath("$.refreshToken").value("admin-refresh-token"));
     }
 
+    @Test
+    public void shouldReturnServiceUnavailable_WhenPasswordHashingIsSaturated() throws Exception {
+        LoginRequest request = new LoginRequest();
+        request.setEmail("user@example.com");
+        request.setPassword("password123");
+
+        Mockito.when(authService.login(Mockito.any(LoginRequest.class)))
+                .thenThrow(new AuthOverloadedException(2));
+
+        mockMvc.perform(post("/auth/login")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(header().string("Retry-After", "2"))
+                .andExpect(jsonPath("$.status").value(503));
+    }
+
     // ============ REFRESH TOKEN TESTS ============
 
     @Test
@@ -145,29 +170,8 @@ public class AuthControllerTest {
         RefreshTokenRequest request = new RefreshTokenRequest();
         request.setRefreshToken("valid-refresh-token");
 
-        UserEntity user = new UserEntity();
-        user.setId(1L);
-        user.setEmail("user@example.com");
-        user.setRole(Role.USER);
-
-        RefreshTokenEntity refreshToken = new RefreshTokenEntity();
-        refreshToken.setToken("valid-refresh-token");
-        refreshToken.setUser(user);
-        refreshToken.setExpiryDate(Instant.now().plusSeconds(86400));
-
-        RefreshTokenEntity newRefreshToken = new RefreshTokenEntity();
-        newRefreshToken.setToken("new-refresh-token");
-        newRefreshToken.setUser(user);
-        newRefreshToken.setExpiryDate(Instant.now().plusSeconds(86400));
-
-        Mockito.when(refreshTokenService.findByToken("valid-refresh-token"))
-                .thenReturn(Optional.of(refreshToken));
-        Mockito.when(refreshTokenService.verifyExpiration(refreshToken))
-                .thenReturn(refreshToken);
-        Mockito.when(jwtService.generateToken(1L, "user@example.com", Role.USER))
-                .thenReturn("new-access-token");
-        Mockito.when(refreshTokenService.createRefreshToken("user@example.com"))
-                .thenReturn(newRefreshToken);
+        Mockito.when(authService.refresh(Mockito.any(RefreshTokenRequest.class)))
+                .thenReturn(new RefreshTokenResponse("new-access-token", "new-refresh-token"));
 
         mockMvc.perform(post("/auth/refresh")
                         .contentType(MediaType.APPLICATION_JSON)
@@ -182,8 +186,8 @@ public class AuthControllerTest {
         RefreshTokenRequest request = new RefreshTokenRequest();
         request.setRefreshToken("invalid-token");
 
-        Mockito.when(refreshTokenService.findByToken("invalid-token"))
-                .thenReturn(Optional.empty());
+        Mockito.when(authService.refresh(Mockito.any(RefreshTokenRequest.class)))
+                .thenThrow(new RefreshTokenException("Invalid refresh token"));
 
         mockMvc.perform(post("/auth/refresh")
                         .contentType(MediaType.APPLICATION_JSON)
@@ -196,19 +200,22 @@ public class AuthControllerTest {
         RefreshTokenRequest request = new RefreshTokenRequest();
         request.setRefreshToken("expired-token");
 
-        UserEntity user = new UserEntity();
-        user.setId(1L);
-        user.setEmail("user@example.com");
+        Mockito.when(authService.refresh(Mockito.any(RefreshTokenRequest.class)))
+                .thenThrow(new RefreshTokenException("Refresh token expired. Please login again."));
 
-        RefreshTokenEntity expiredToken = new RefreshTokenEntity();
-        expiredToken.setToken("expired-token");
-        expiredToken.setUser(user);
-        expiredToken.setExpiryDate(Instant.now().minusSeconds(1000));
+        mockMvc.perform(post("/auth/refresh")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isUnauthorized());
+    }
 
-        Mockito.when(refreshTokenService.findByToken("expired-token"))
-                .thenReturn(Optional.of(expiredToken));
-        Mockito.when(refreshTokenService.verifyExpiration(expiredToken))
-                .thenThrow(new RefreshTokenException("Refresh token expired. Please login again."));
+    @Test
+    public void shouldReturnError_WhenRefreshTokenReused() throws Exception {
+        RefreshTokenRequest request = new RefreshTokenRequest();
+        request.setRefreshToken("already-rotated-token");
+
+        Mockito.when(authService.refresh(Mockito.any(RefreshTokenRequest.class)))
+                .thenThrow(new RefreshTokenException("Refresh token reuse detected. Please login again."));
 
         mockMvc.perform(post("/auth/refresh")
                         .contentType(MediaType.APPLICATION_JSON)
@@ -221,8 +228,8 @@ public class AuthControllerTest {
         RefreshTokenRequest request = new RefreshTokenRequest();
         request.setRefreshToken("some-token");
 
-        Mockito.when(refreshTokenService.findByToken("some-token"))
-                .thenReturn(Optional.empty());
+        Mockito.when(authService.refresh(Mockito.any(RefreshTokenRequest.class)))
+                .thenThrow(new RefreshTokenException("Invalid refresh token"));
 
         // Should not return 401 due to missing auth, but due to invalid token
         mockMvc.perform(post("/auth/refresh")
@@ -236,9 +243,7 @@ public class AuthControllerTest {
     @Test
     @WithMockUser
     public void shouldLogout_WhenAuthenticated() throws Exception {
-        UserEntity user = new UserEntity();
-        user.setId(1L);
-        user.setEmail("user@example.com");
+        AuthenticatedUser user = new AuthenticatedUser(1L, "user@example.com", Role.USER);
 
         Mockito.when(currentUserService.getCurrentUser()).thenReturn(user);
         Mockito.doNothing().when(refreshTokenService).deleteByUserId(1L);
@@ -248,6 +253,29 @@ public class AuthControllerTest {
                 .andExpect(jsonPath("$.message").value("Logged out successfully"));
 
         Mockito.verify(refreshTokenService, Mockito.times(1)).deleteByUserId(1L);
+        Mockito.verify(tokenVersionService, Mockito.times(1)).revokeAllTokens(1L);
+    }
+
+    @Test
+    @WithMockUser
+    public void shouldRevokeOnlyGivenSession_WhenLogoutWithRefreshToken() throws Exception {
+        Instant expiresAt = Instant.now().plusSeconds(600);
+        AuthenticatedUser user = new AuthenticatedUser(1L, "user@example.com", Role.USER, "access-token-id", expiresAt);
+        RefreshTokenRequest request = new RefreshTokenRequest();
+        request.setRefreshToken("device-refresh-token");
+
+        Mockito.when(currentUserService.getCurrentUser()).thenReturn(user);
+
+        mockMvc.perform(post("/auth/logout")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.message").value("Logged out successfully"));
+
+        Mockito.verify(refreshTokenService, Mockito.times(1)).revoke("device-refresh-token", 1L);
+        Mockito.verify(refreshTokenService, Mockito.never()).deleteByUserId(1L);
+        Mockito.verify(accessTokenRevocationService, Mockito.times(1)).revoke("access-token-id", expiresAt);
+        Mockito.verify(tokenVersionService, Mockito.never()).revokeAllTokens(1L);
     }
 
     @Test
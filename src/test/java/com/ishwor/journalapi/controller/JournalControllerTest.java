@@ -2,11 +2,27 @@ package com.ishwor.journalapi.controller;
 
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ishwor.journalapi.dto.BatchItemResult;
+import com.ishwor.journalapi.dto.BatchResponse;
+import com.ishwor.journalapi.dto.CursorPage;
+import com.ishwor.journalapi.dto.ImportChunkResult;
+import com.ishwor.journalapi.dto.ImportRejection;
+import com.ishwor.journalapi.dto.JournalBatchUpdateRequest;
+import com.ishwor.journalapi.dto.JournalImportResponse;
+import com.ishwor.journalapi.dto.JournalPatchRequest;
 import com.ishwor.journalapi.dto.JournalRequest;
 import com.ishwor.journalapi.dto.JournalResponse;
+import com.ishwor.journalapi.dto.JournalSearchResponse;
+import com.ishwor.journalapi.dto.JournalSummaryResponse;
+import com.ishwor.journalapi.dto.SliceResponse;
 import com.ishwor.journalapi.entity.Role;
 import com.ishwor.journalapi.entity.UserEntity;
+import com.ishwor.journalapi.exception.BadRequestException;
+import com.ishwor.journalapi.exception.InvalidCursorException;
 import com.ishwor.journalapi.exception.JournalNotFoundException;
+import com.ishwor.journalapi.exception.PreconditionFailedException;
+import com.ishwor.journalapi.mapper.JournalETags;
+import com.ishwor.journalapi.repository.JournalListingVersion;
 import com.ishwor.journalapi.service.JournalService;
 import com.ishwor.journalapi.service.impl.CurrentUserService;
 import org.junit.jupiter.api.Test;
@@ -19,17 +35,28 @@ import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.web.servlet.MockMvc;
 
+import java.io.BufferedReader;
+import java.io.OutputStream;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
 import java.util.Arrays;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
 
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.mockito.ArgumentCaptor;
 
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.junit.jupiter.api.Assertions.assertEquals;
 
 @SpringBootTest
 @AutoConfigureMockMvc
@@ -74,6 +101,158 @@ public class JournalControllerTest {
                 .andExpect(jsonPath("$.totalElements").value(2));
     }
 
+    @Test
+    @WithMockUser
+    public void shouldAppendIdTiebreaker_WhenSortingByWhitelistedField() throws Exception {
+        Mockito.when(journalService.getAll(any(Pageable.class))).thenReturn(Page.empty());
+
+        mockMvc.perform(get("/journal").param("sort", "title,asc"))
+                .andExpect(status().isOk());
+
+        ArgumentCaptor<Pageable> captor = ArgumentCaptor.forClass(Pageable.class);
+        Mockito.verify(journalService).getAll(captor.capture());
+        assertEquals(
+                Sort.by(Sort.Direction.ASC, "title", "id"), captor.getValue().getSort());
+    }
+
+    @Test
+    @WithMockUser
+    public void shouldReturnBadRequest_WhenSortingByUnindexedField() throws Exception {
+        mockMvc.perform(get("/journal").param("sort", "content,desc"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("sort must be a single field out of createdAt, updatedAt, title"));
+
+        Mockito.verifyNoInteractions(journalService);
+    }
+
+    @Test
+    @WithMockUser
+    public void shouldGetJournalsWithoutCount_WhenCountIsNone() throws Exception {
+        JournalResponse journal = new JournalResponse();
+        journal.setId(1L);
+        journal.setTitle("First Journal");
+
+        Mockito.when(journalService.getAllWithoutCount(any(Pageable.class)))
+                .thenReturn(new SliceResponse<>(List.of(journal), 0, 10, true));
+
+        mockMvc.perform(get("/journal").param("count", "none"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[0].id").value(1))
+                .andExpect(jsonPath("$.hasNext").value(true))
+                .andExpect(jsonPath("$.totalElements").doesNotExist());
+
+        Mockito.verify(journalService, Mockito.never()).getAll(any(Pageable.class));
+    }
+
+    @Test
+    @WithMockUser
+    public void shouldGetJournalsWithApproximateCount() throws Exception {
+        JournalResponse journal = new JournalResponse();
+        journal.setId(1L);
+
+        Mockito.when(journalService.getAllWithApproximateCount(any(Pageable.class)))
+                .thenReturn(new PageImpl<>(List.of(journal), PageRequest.of(0, 10), 12345));
+
+        mockMvc.perform(get("/journal").param("count", "approximate"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.totalElements").value(12345));
+    }
+
+    @Test
+    @WithMockUser
+    public void shouldReturnBadRequest_WhenCountModeIsUnknown() throws Exception {
+        mockMvc.perform(get("/journal").param("count", "sometimes"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @WithMockUser
+    public void shouldGetJournalSummaries_WhenViewIsSummary() throws Exception {
+        JournalSummaryResponse journal = new JournalSummaryResponse();
+        journal.setId(1L);
+        journal.setTitle("First Journal");
+        journal.setExcerpt("Today was");
+
+        Mockito.when(journalService.getSummaries(any(Pageable.class)))
+                .thenReturn(new PageImpl<>(List.of(journal), PageRequest.of(0, 10), 1));
+
+        mockMvc.perform(get("/journal").param("view", "summary"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[0].excerpt").value("Today was"))
+                .andExpect(jsonPath("$.content[0].content").doesNotExist())
+                .andExpect(jsonPath("$.totalElements").value(1));
+
+        Mockito.verify(journalService, Mockito.never()).getAll(any(Pageable.class));
+    }
+
+    @Test
+    @WithMockUser
+    public void shouldReturnBadRequest_WhenViewIsUnknown() throws Exception {
+        mockMvc.perform(get("/journal").param("view", "compact"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @WithMockUser
+    public void shouldGetOnlyRequestedFields_WhenFieldsAreGiven() throws Exception {
+        Map<String, Object> journal = new LinkedHashMap<>();
+        journal.put("id", 1L);
+        journal.put("title", "First Journal");
+
+        Mockito.when(journalService.getFields(any(Pageable.class), Mockito.eq(List.of("id", "title"))))
+                .thenReturn(new PageImpl<>(List.of(journal), PageRequest.of(0, 10), 1));
+
+        mockMvc.perform(get("/journal").param("fields", "id, title,id"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[0].id").value(1))
+                .andExpect(jsonPath("$.content[0].title").value("First Journal"))
+                .andExpect(jsonPath("$.content[0].content").doesNotExist());
+    }
+
+    @Test
+    @WithMockUser
+    public void shouldReturnBadRequest_WhenFieldIsUnknown() throws Exception {
+        mockMvc.perform(get("/journal").param("fields", "id,owner"))
+                .andExpect(status().isBadRequest());
+
+        Mockito.verifyNoInteractions(journalService);
+    }
+
+    @Test
+    @WithMockUser
+    public void shouldReturnBadRequest_WhenFieldsAreCombinedWithSummaryView() throws Exception {
+        mockMvc.perform(get("/journal").param("fields", "id").param("view", "summary"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @WithMockUser
+    public void shouldGetJournalsByCursor_WithoutTotalCount() throws Exception {
+        JournalResponse journal = new JournalResponse();
+        journal.setId(3L);
+        journal.setTitle("Latest Journal");
+
+        Mockito.when(journalService.getAllByCursor("", 1))
+                .thenReturn(new CursorPage<>(List.of(journal), 1, "next-cursor", true));
+
+        mockMvc.perform(get("/journal").param("cursor", "").param("size", "1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[0].id").value(3))
+                .andExpect(jsonPath("$.nextCursor").value("next-cursor"))
+                .andExpect(jsonPath("$.hasNext").value(true))
+                .andExpect(jsonPath("$.totalElements").doesNotExist());
+    }
+
+    @Test
+    @WithMockUser
+    public void shouldReturnBadRequest_WhenCursorIsInvalid() throws Exception {
+        Mockito.when(journalService.getAllByCursor("garbage", 10)).thenThrow(new InvalidCursorException());
+
+        mockMvc.perform(get("/journal").param("cursor", "garbage"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("Invalid pagination cursor"));
+    }
+
     @Test
     @WithMockUser
     public void shouldCreateJournal_WithValidRequest() throws Exception {
@@ -137,6 +316,143 @@ public class JournalControllerTest {
                 .andExpect(jsonPath("$.content").value("Updated content"));
     }
 
+    @Test
+    @WithMockUser
+    public void shouldReturnETag_WhenGettingJournalById() throws Exception {
+        JournalResponse response = new JournalResponse();
+        response.setId(1L);
+        response.setVersion(4L);
+
+        Mockito.when(journalService.getById(1L)).thenReturn(response);
+
+        mockMvc.perform(get("/journal/1"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"4\""))
+                .andExpect(jsonPath("$.version").doesNotExist());
+    }
+
+    @Test
+    @WithMockUser
+    public void shouldReturnNotModified_WhenJournalETagMatches() throws Exception {
+        Mockito.when(journalService.getVersion(1L)).thenReturn(4L);
+
+        mockMvc.perform(get("/journal/1").header("If-None-Match", JournalETags.of(4L)))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+
+        Mockito.verify(journalService, Mockito.never()).getById(1L);
+    }
+
+    @Test
+    @WithMockUser
+    public void shouldReturnJournal_WhenETagIsStale() throws Exception {
+        JournalResponse response = new JournalResponse();
+        response.setId(1L);
+        response.setTitle("Changed");
+        response.setVersion(5L);
+
+        Mockito.when(journalService.getVersion(1L)).thenReturn(5L);
+        Mockito.when(journalService.getById(1L)).thenReturn(response);
+
+        mockMvc.perform(get("/journal/1").header("If-None-Match", JournalETags.of(4L)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.title").value("Changed"));
+    }
+
+    @Test
+    @WithMockUser
+    public void shouldReturnNotModified_WhenListingETagMatches() throws Exception {
+        JournalListingVersion version = new JournalListingVersion(7L, 3, LocalDateTime.of(2026, 2, 5, 15, 45));
+        Mockito.when(journalService.getListingVersion()).thenReturn(Optional.of(version));
+
+        mockMvc.perform(get("/journal?page=0").header("If-None-Match", JournalETags.ofListing(version, "page=0")))
+                .andExpect(status().isNotModified());
+
+        Mockito.verify(journalService, Mockito.never()).getAll(any(Pageable.class));
+    }
+
+    @Test
+    @WithMockUser
+    public void shouldPassIfMatchToUpdate() throws Exception {
+        JournalRequest request = new JournalRequest();
+        request.setTitle("Updated Journal");
+        request.setContent("Updated content");
+
+        JournalResponse response = new JournalResponse();
+        response.setId(1L);
+        response.setVersion(5L);
+
+        Mockito.when(journalService.update(Mockito.eq(1L), Mockito.any(JournalRequest.class), Mockito.eq("\"4\"")))
+                .thenReturn(response);
+
+        mockMvc.perform(put("/journal/1")
+                        .header("If-Match", "\"4\"")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", JournalETags.of(response)));
+
+        Mockito.verify(journalService, Mockito.never()).update(Mockito.eq(1L), Mockito.any(JournalRequest.class));
+    }
+
+    @Test
+    @WithMockUser
+    public void shouldReturnPreconditionFailed_WhenIfMatchIsStale() throws Exception {
+        JournalRequest request = new JournalRequest();
+        request.setTitle("Updated Journal");
+        request.setContent("Updated content");
+
+        Mockito.when(journalService.update(Mockito.eq(1L), Mockito.any(JournalRequest.class), Mockito.anyString()))
+                .thenThrow(new PreconditionFailedException(1L));
+
+        mockMvc.perform(put("/journal/1")
+                        .header("If-Match", "\"3\"")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isPreconditionFailed());
+    }
+
+    @Test
+    @WithMockUser
+    public void shouldPatchOnlyGivenMembers() throws Exception {
+        JournalResponse response = new JournalResponse();
+        response.setId(1L);
+        response.setTitle("New title");
+        response.setContent("Unchanged content");
+        response.setVersion(6L);
+
+        ArgumentCaptor<JournalPatchRequest> patch = ArgumentCaptor.forClass(JournalPatchRequest.class);
+        Mockito.when(journalService.patch(Mockito.eq(1L), patch.capture(), Mockito.eq("\"5\"")))
+                .thenReturn(response);
+
+        mockMvc.perform(patch("/journal/1")
+                        .header("If-Match", "\"5\"")
+                        .contentType("application/merge-patch+json")
+                        .content("{\"title\":\"New title\"}"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"6\""))
+                .andExpect(jsonPath("$.content").value("Unchanged content"));
+
+        assertEquals("New title", patch.getValue().getTitle());
+        assertEquals(null, patch.getValue().getContent());
+    }
+
+    @Test
+    @WithMockUser
+    public void shouldReturnBadRequest_WhenPatchRemovesRequiredMember() throws Exception {
+        mockMvc.perform(patch("/journal/1")
+                        .contentType("application/merge-patch+json")
+                        .content("{\"title\":null}"))
+                .andExpect(status().isBadRequest());
+
+        mockMvc.perform(patch("/journal/1")
+                        .contentType("application/merge-patch+json")
+                        .content("{}"))
+                .andExpect(status().isBadRequest());
+
+        Mockito.verifyNoInteractions(journalService);
+    }
+
     @Test
     @WithMockUser
     public void shouldDeleteJournal() throws Exception {
@@ -361,4 +677,233 @@ public class JournalControllerTest {
                 .andExpect(jsonPath("$.id").value(1))
                 .andExpect(jsonPath("$.title").value("My New Journal"));
     }
+
+    @Test
+    @WithMockUser
+    public void shouldCreateJournalsInBatch() throws Exception {
+        Mockito.when(journalService.createBatch(any())).thenReturn(new BatchResponse(List.of(
+                BatchItemResult.success(0, 1L, 201),
+                BatchItemResult.failure(1, null, 400, "title is required."))));
+
+        mockMvc.perform(post("/journal/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[{\"title\":\"A\",\"content\":\"a\"},{\"content\":\"b\"}]"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.succeeded").value(1))
+                .andExpect(jsonPath("$.failed").value(1))
+                .andExpect(jsonPath("$.results[0].id").value(1))
+                .andExpect(jsonPath("$.results[0].status").value(201))
+                .andExpect(jsonPath("$.results[1].status").value(400))
+                .andExpect(jsonPath("$.results[1].message").value("title is required."));
+
+        ArgumentCaptor<List<JournalRequest>> captor = ArgumentCaptor.forClass(List.class);
+        Mockito.verify(journalService).createBatch(captor.capture());
+        assertEquals(2, captor.getValue().size());
+        assertEquals("A", captor.getValue().get(0).getTitle());
+    }
+
+    @Test
+    @WithMockUser
+    public void shouldUpdateJournalsInBatch() throws Exception {
+        Mockito.when(journalService.updateBatch(any())).thenReturn(new BatchResponse(List.of(
+                BatchItemResult.success(0, 1L, 200),
+                BatchItemResult.failure(1, 2L, 412, "Journal with id:2 has changed since it was read"))));
+
+        mockMvc.perform(put("/journal/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[{\"id\":1,\"title\":\"A\",\"content\":\"a\"},{\"id\":2,\"version\":3,\"title\":\"B\",\"content\":\"b\"}]"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.results[0].status").value(200))
+                .andExpect(jsonPath("$.results[1].id").value(2))
+                .andExpect(jsonPath("$.results[1].status").value(412));
+
+        ArgumentCaptor<List<JournalBatchUpdateRequest>> captor = ArgumentCaptor.forClass(List.class);
+        Mockito.verify(journalService).updateBatch(captor.capture());
+        assertEquals(3L, captor.getValue().get(1).getVersion());
+        assertEquals("B", captor.getValue().get(1).getTitle());
+    }
+
+    @Test
+    @WithMockUser
+    public void shouldDeleteJournalsInBatch() throws Exception {
+        Mockito.when(journalService.deleteBatch(List.of(1L, 999L))).thenReturn(new BatchResponse(List.of(
+                BatchItemResult.success(0, 1L, 204),
+                BatchItemResult.failure(1, 999L, 404, "Journal not found with id:999"))));
+
+        mockMvc.perform(post("/journal/batch/delete")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[1,999]"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.succeeded").value(1))
+                .andExpect(jsonPath("$.results[1].status").value(404));
+    }
+
+    @Test
+    @WithMockUser
+    public void shouldReturnBadRequest_WhenBatchIsTooLarge() throws Exception {
+        Mockito.when(journalService.deleteBatch(any()))
+                .thenThrow(new BadRequestException("A batch must contain 1 to 500 items"));
+
+        mockMvc.perform(post("/journal/batch/delete")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[]"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("A batch must contain 1 to 500 items"));
+    }
+
+    @Test
+    public void shouldReturnUnauthorized_WhenNotAuthenticated_Batch() throws Exception {
+        mockMvc.perform(post("/journal/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[]"))
+                .andExpect(status().isUnauthorized());
+    }
+
+    @Test
+    @WithMockUser
+    public void shouldExportJournalsAsNdjson() throws Exception {
+        Mockito.doAnswer(invocation -> {
+            OutputStream out = invocation.getArgument(0);
+            out.write("{\"id\":2}\n{\"id\":1}\n".getBytes(StandardCharsets.UTF_8));
+            return null;
+        }).when(journalService).exportNdjson(any());
+
+        mockMvc.perform(get("/journal/export"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Content-Type", "application/x-ndjson"))
+                .andExpect(header().string("Content-Disposition", "attachment; filename=\"journals.ndjson\""))
+                .andExpect(content().string("{\"id\":2}\n{\"id\":1}\n"));
+
+        Mockito.verify(journalService, Mockito.never()).exportMarkdownZip(any());
+    }
+
+    @Test
+    @WithMockUser
+    public void shouldExportJournalsAsZip() throws Exception {
+        mockMvc.perform(get("/journal/export?format=zip"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Content-Type", "application/zip"))
+                .andExpect(header().string("Content-Disposition", "attachment; filename=\"journals.zip\""));
+
+        Mockito.verify(journalService).exportMarkdownZip(any());
+    }
+
+    @Test
+    @WithMockUser
+    public void shouldReturnBadRequest_WhenExportFormatIsUnknown() throws Exception {
+        mockMvc.perform(get("/journal/export?format=csv"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("format must be ndjson or zip"));
+
+        Mockito.verifyNoInteractions(journalService);
+    }
+
+    @Test
+    public void shouldReturnUnauthorized_WhenNotAuthenticated_Export() throws Exception {
+        mockMvc.perform(get("/journal/export"))
+                .andExpect(status().isUnauthorized());
+    }
+
+    @Test
+    @WithMockUser
+    public void shouldImportNdjson() throws Exception {
+        Mockito.when(journalService.importNdjson(any())).thenAnswer(invocation -> {
+            Reader body = invocation.getArgument(0);
+            assertEquals("{\"title\":\"A\",\"content\":\"a\"}\n", new BufferedReader(body).readLine() + "\n");
+            return new JournalImportResponse(1, 1,
+                    List.of(new ImportChunkResult(1, 1, 1)),
+                    List.of(new ImportRejection(2, "title is required.")));
+        });
+
+        mockMvc.perform(post("/journal/import")
+                        .contentType("application/x-ndjson")
+                        .content("{\"title\":\"A\",\"content\":\"a\"}\n{\"content\":\"b\"}\n"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.imported").value(1))
+                .andExpect(jsonPath("$.rejected").value(1))
+                .andExpect(jsonPath("$.chunks[0].imported").value(1))
+                .andExpect(jsonPath("$.rejections[0].line").value(2))
+                .andExpect(jsonPath("$.rejections[0].message").value("title is required."));
+
+        Mockito.verify(journalService, Mockito.never()).importCsv(any());
+    }
+
+    @Test
+    @WithMockUser
+    public void shouldImportCsv() throws Exception {
+        Mockito.when(journalService.importCsv(any()))
+                .thenReturn(new JournalImportResponse(2, 0, List.of(new ImportChunkResult(1, 2, 3)), List.of()));
+
+        mockMvc.perform(post("/journal/import")
+                        .contentType("text/csv; charset=UTF-8")
+                        .content("title,content\nA,a\nB,b\n"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.imported").value(2));
+
+        Mockito.verify(journalService, Mockito.never()).importNdjson(any());
+    }
+
+    @Test
+    @WithMockUser
+    public void shouldReturnUnsupportedMediaType_WhenImportIsNotNdjsonOrCsv() throws Exception {
+        mockMvc.perform(post("/journal/import")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[]"))
+                .andExpect(status().isUnsupportedMediaType());
+
+        Mockito.verifyNoInteractions(journalService);
+    }
+
+    @Test
+    public void shouldReturnUnauthorized_WhenNotAuthenticated_Import() throws Exception {
+        mockMvc.perform(post("/journal/import")
+                        .contentType("application/x-ndjson")
+                        .content("{}"))
+                .andExpect(status().isUnauthorized());
+    }
+
+    @Test
+    @WithMockUser
+    public void shouldSearchJournals() throws Exception {
+        JournalSearchResponse hit = new JournalSearchResponse();
+        hit.setId(3L);
+        hit.setTitle("Hiking plans");
+        hit.setSnippet("Next weekend we go <mark>hiking</mark>");
+        hit.setRank(1.4f);
+        Mockito.when(journalService.search("hike", "abc", 5))
+                .thenReturn(new CursorPage<>(List.of(hit), 5, "next", true));
+
+        mockMvc.perform(get("/journal/search?q=hike&cursor=abc&size=5"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[0].id").value(3))
+                .andExpect(jsonPath("$.content[0].snippet").value("Next weekend we go <mark>hiking</mark>"))
+                .andExpect(jsonPath("$.content[0].content").doesNotExist())
+                .andExpect(jsonPath("$.nextCursor").value("next"))
+                .andExpect(jsonPath("$.hasNext").value(true));
+    }
+
+    @Test
+    @WithMockUser
+    public void shouldReturnBadRequest_WhenSearchQueryIsMissing() throws Exception {
+        Mockito.when(journalService.search("", null, 10)).thenThrow(new BadRequestException("q is required"));
+
+        mockMvc.perform(get("/journal/search"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("q is required"));
+    }
+
+    @Test
+    @WithMockUser
+    public void shouldReturnBadRequest_WhenSearchPageSizeIsOutOfRange() throws Exception {
+        mockMvc.perform(get("/journal/search?q=hike&size=500"))
+                .andExpect(status().isBadRequest());
+
+        Mockito.verifyNoInteractions(journalService);
+    }
+
+    @Test
+    public void shouldReturnUnauthorized_WhenNotAuthenticated_Search() throws Exception {
+        mockMvc.perform(get("/journal/search?q=hike"))
+                .andExpect(status().isUnauthorized());
+    }
 }
@@ -0,0 +1,83 @@
+package com.ishwor.journalapi.controller;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ishwor.journalapi.dto.RefreshTokenRequest;
+import com.ishwor.journalapi.dto.RegisterRequest;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.webmvc.test.autoconfigure.AutoConfigureMockMvc;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import java.util.UUID;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Logout with real signed tokens through the whole filter chain, nothing mocked. Requests
+ * carry the servlet path a container gives them, which MockMvc leaves empty by default.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+public class LogoutFlowTest {
+    @Autowired
+    private MockMvc mockMvc;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    public void shouldRejectAccessToken_AfterLogoutOfEverySession() throws Exception {
+        JsonNode tokens = register();
+        String bearer = "Bearer " + tokens.get("accessToken").asText();
+
+        mockMvc.perform(asDispatched(get("/me")).header("Authorization", bearer))
+                .andExpect(status().isOk());
+        mockMvc.perform(asDispatched(post("/auth/logout")).header("Authorization", bearer))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(asDispatched(get("/me")).header("Authorization", bearer))
+                .andExpect(status().isUnauthorized());
+    }
+
+    @Test
+    public void shouldRejectAccessToken_AfterLogoutOfOneSession() throws Exception {
+        JsonNode tokens = register();
+        String bearer = "Bearer " + tokens.get("accessToken").asText();
+        RefreshTokenRequest request = new RefreshTokenRequest();
+        request.setRefreshToken(tokens.get("refreshToken").asText());
+
+        mockMvc.perform(asDispatched(post("/auth/logout"))
+                        .header("Authorization", bearer)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(asDispatched(get("/me")).header("Authorization", bearer))
+                .andExpect(status().isUnauthorized());
+    }
+
+    // DispatcherServlet is mapped to "/", so the whole path is the servlet path
+    private static MockHttpServletRequestBuilder asDispatched(MockHttpServletRequestBuilder request) {
+        return request.with(r -> {
+            r.setServletPath(r.getRequestURI());
+            return r;
+        });
+    }
+
+    private JsonNode register() throws Exception {
+        RegisterRequest request = new RegisterRequest();
+        request.setEmail("logout-" + UUID.randomUUID() + "@example.com");
+        request.setPassword("password123");
+        String body = mockMvc.perform(asDispatched(post("/auth/register"))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        return objectMapper.readTree(body);
+    }
+}
@@ -2,7 +2,7 @@ package com.ishwor.journalapi.controller;
 
 
 import com.ishwor.journalapi.entity.Role;
-import com.ishwor.journalapi.entity.UserEntity;
+import com.ishwor.journalapi.security.AuthenticatedUser;
 import com.ishwor.journalapi.service.impl.CurrentUserService;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mockito;
@@ -29,10 +29,7 @@ public class UserControllerTest {
     @Test
     @WithMockUser
     public void shouldReturnUser_WhenAuthenticated() throws Exception{
-        UserEntity mockUser = new UserEntity();
-        mockUser.setId(1L);
-        mockUser.setEmail("test@example.com");
-        mockUser.setRole(Role.USER);
+        AuthenticatedUser mockUser = new AuthenticatedUser(1L, "test@example.com", Role.USER);
 
         Mockito.when(currentUserService.getCurrentUser()).thenReturn(mockUser);
 
@@ -47,10 +44,7 @@ public class UserControllerTest {
     @Test
     @WithMockUser
     public void shouldReturnAdminUser_WhenAuthenticatedAsAdmin() throws Exception{
-        UserEntity mockAdminUser = new UserEntity();
-        mockAdminUser.setId(2L);
-        mockAdminUser.setEmail("admin@example.com");
-        mockAdminUser.setRole(Role.ADMIN);
+        AuthenticatedUser mockAdminUser = new AuthenticatedUser(2L, "admin@example.com", Role.ADMIN);
 
         Mockito.when(currentUserService.getCurrentUser()).thenReturn(mockAdminUser);
 
@@ -72,10 +66,7 @@ public class UserControllerTest {
     @Test
     @WithMockUser
     public void shouldReturnCorrectJsonStructure() throws Exception{
-        UserEntity mockUser = new UserEntity();
-        mockUser.setId(3L);
-        mockUser.setEmail("structure@test.com");
-        mockUser.setRole(Role.USER);
+        AuthenticatedUser mockUser = new AuthenticatedUser(3L, "structure@test.com", Role.USER);
 
         Mockito.when(currentUserService.getCurrentUser()).thenReturn(mockUser);
 
@@ -92,10 +83,7 @@ public class UserControllerTest {
     @Test
     @WithMockUser
     public void shouldHandleDifferentEmailFormats() throws Exception{
-        UserEntity mockUser = new UserEntity();
-        mockUser.setId(4L);
-        mockUser.setEmail("user.name+tag@subdomain.example.com");
-        mockUser.setRole(Role.USER);
+        AuthenticatedUser mockUser = new AuthenticatedUser(4L, "user.name+tag@subdomain.example.com", Role.USER);
 
         Mockito.when(currentUserService.getCurrentUser()).thenReturn(mockUser);
 
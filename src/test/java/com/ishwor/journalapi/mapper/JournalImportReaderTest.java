@@ -0,0 +1,104 @@
+package com.ishwor.journalapi.mapper;
+
+import com.ishwor.journalapi.exception.BadRequestException;
+import org.junit.jupiter.api.Test;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class JournalImportReaderTest {
+
+    private final JsonMapper mapper = JsonMapper.builder().build();
+
+    @Test
+    public void shouldReadNdjsonLinesAndSkipBlankOnes() throws IOException {
+        JournalImportReader reader = JournalImportReader.ndjson(new StringReader(
+                "{\"title\":\"A\",\"content\":\"a\",\"createdAt\":\"2020-01-01T10:00:00\"}\r\n\n{\"title\":\"B\",\"content\":\"b\"}"),
+                mapper.reader());
+
+        JournalImportReader.Record first = reader.next();
+        assertEquals(1, first.getLine());
+        assertEquals("A", first.getRequest().getTitle());
+        assertEquals(LocalDateTime.of(2020, 1, 1, 10, 0), first.getRequest().getCreatedAt());
+
+        JournalImportReader.Record second = reader.next();
+        assertEquals(3, second.getLine());
+        assertEquals("b", second.getRequest().getContent());
+        assertNull(second.getRequest().getCreatedAt());
+
+        assertNull(reader.next());
+    }
+
+    @Test
+    public void shouldRejectMalformedAndOverlongNdjsonLines() throws IOException {
+        String longLine = "{\"title\":\"" + "x".repeat(JournalImportReader.MAX_LINE_LENGTH) + "\"}";
+        JournalImportReader reader = JournalImportReader.ndjson(
+                new StringReader("{not json\n" + longLine + "\n{\"title\":\"C\",\"content\":\"c\"}\n"), mapper.reader());
+
+        JournalImportReader.Record malformed = reader.next();
+        assertNull(malformed.getRequest());
+        assertTrue(malformed.getError().startsWith("not a JSON journal"));
+
+        JournalImportReader.Record overlong = reader.next();
+        assertEquals(2, overlong.getLine());
+        assertEquals("line is longer than 65536 characters", overlong.getError());
+
+        assertEquals("C", reader.next().getRequest().getTitle());
+    }
+
+    @Test
+    public void shouldReadQuotedCsvFieldsSpanningLines() throws IOException {
+        JournalImportReader reader = JournalImportReader.csv(new StringReader(
+                "Content,title,createdAt\r\n\"multi\nline, \"\"quoted\"\"\",First,2021-05-05T05:05\r\nplain,Second,\n"));
+
+        JournalImportReader.Record first = reader.next();
+        assertEquals(2, first.getLine());
+        assertEquals("First", first.getRequest().getTitle());
+        assertEquals("multi\nline, \"quoted\"", first.getRequest().getContent());
+        assertEquals(LocalDateTime.of(2021, 5, 5, 5, 5), first.getRequest().getCreatedAt());
+
+        JournalImportReader.Record second = reader.next();
+        assertEquals(4, second.getLine());
+        assertEquals("plain", second.getRequest().getContent());
+        assertNull(second.getRequest().getCreatedAt());
+
+        assertNull(reader.next());
+    }
+
+    @Test
+    public void shouldRejectBadCsvRecordsAndKeepGoing() throws IOException {
+        JournalImportReader reader = JournalImportReader.csv(new StringReader(
+                "title,content,createdAt\nonly,two\nx,y,yesterday\nok,fine,\n\"open,quote\n"));
+
+        assertEquals("expected 3 fields but found 2", reader.next().getError());
+        assertEquals("createdAt must be an ISO-8601 date-time", reader.next().getError());
+        assertEquals("ok", reader.next().getRequest().getTitle());
+        assertEquals("unterminated quoted field", reader.next().getError());
+        assertNull(reader.next());
+    }
+
+    @Test
+    public void shouldRejectOverlongCsvRecords() throws IOException {
+        String manyFields = "a,b" + ",".repeat(JournalImportReader.MAX_LINE_LENGTH);
+        String longFields = ("\"" + "x".repeat(1000) + "\",").repeat(70) + "y";
+        JournalImportReader reader = JournalImportReader.csv(new StringReader(
+                "title,content\n" + manyFields + "\n" + longFields + "\nok,fine\n"));
+
+        JournalImportReader.Record commas = reader.next();
+        assertEquals(2, commas.getLine());
+        assertEquals("record is longer than 65536 characters", commas.getError());
+        assertEquals("record is longer than 65536 characters", reader.next().getError());
+        assertEquals("ok", reader.next().getRequest().getTitle());
+        assertNull(reader.next());
+    }
+
+    @Test
+    public void shouldRequireTitleAndContentColumns() {
+        assertThrows(BadRequestException.class, () -> JournalImportReader.csv(new StringReader("title,body\na,b\n")));
+        assertThrows(BadRequestException.class, () -> JournalImportReader.csv(new StringReader("")));
+    }
+}
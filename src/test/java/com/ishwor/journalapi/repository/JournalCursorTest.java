@@ -0,0 +1,28 @@
+package com.ishwor.journalapi.repository;
+
+import com.ishwor.journalapi.exception.InvalidCursorException;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class JournalCursorTest {
+
+    @Test
+    public void shouldRoundTrip() {
+        LocalDateTime createdAt = LocalDateTime.of(2026, 2, 5, 10, 30, 0, 123_456_000);
+
+        JournalCursor decoded = JournalCursor.decode(new JournalCursor(createdAt, 42L).encode());
+
+        assertEquals(createdAt, decoded.getCreatedAt());
+        assertEquals(42L, decoded.getId());
+    }
+
+    @Test
+    public void shouldRejectGarbage() {
+        assertThrows(InvalidCursorException.class, () -> JournalCursor.decode("not*base64"));
+        assertThrows(InvalidCursorException.class, () -> JournalCursor.decode("bm8tc2VwYXJhdG9y"));
+        assertThrows(InvalidCursorException.class, () -> JournalCursor.decode("MjAyNi0wMi0wNXx4"));
+    }
+}
@@ -0,0 +1,152 @@
+package com.ishwor.journalapi.repository;
+
+import liquibase.command.CommandScope;
+import liquibase.command.core.UpdateCommandStep;
+import liquibase.command.core.helpers.DbUrlConnectionArgumentsCommandStep;
+import liquibase.database.Database;
+import liquibase.database.DatabaseFactory;
+import liquibase.database.jvm.JdbcConnection;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import org.testcontainers.postgresql.PostgreSQLContainer;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.Statement;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs the changelog against a real Postgres, loads enough rows for the planner to prefer
+ * indexes, and checks the plans of the journal listing and lookup queries. The SQL mirrors
+ * what Hibernate generates for the derived queries and is copied verbatim for the native ones.
+ */
+@Testcontainers(disabledWithoutDocker = true)
+public class JournalQueryPlanTest {
+
+    @Container
+    static final PostgreSQLContainer postgres = new PostgreSQLContainer("postgres:16-alpine");
+
+    @BeforeAll
+    static void migrateAndSeed() throws Exception {
+        try (Connection connection = connect()) {
+            Database database = DatabaseFactory.getInstance()
+                    .findCorrectDatabaseImplementation(new JdbcConnection(connection));
+            new CommandScope(UpdateCommandStep.COMMAND_NAME)
+                    .addArgumentValue(DbUrlConnectionArgumentsCommandStep.DATABASE_ARG, database)
+                    .addArgumentValue(UpdateCommandStep.CHANGELOG_FILE_ARG, "db/changelog/db.changelog-master.yml")
+                    .execute();
+
+            try (Statement statement = connection.createStatement()) {
+                statement.execute("""
+                        INSERT INTO users (email, password_hash, role)
+                        SELECT 'user' || g || '@example.com', 'x', 'USER' FROM generate_series(1, 500) g
+                        """);
+                statement.execute("""
+                        INSERT INTO journals (title, content, owner_id, created_at, updated_at)
+                        SELECT 'title ' || g, 'content ' || g, 1 + g % 500,
+                               now() - g * interval '1 minute', now() - g * interval '1 minute'
+                        FROM generate_series(1, 50000) g
+                        """);
+                // One heavy owner, so that searching their journals is worth the GIN index
+                statement.execute("""
+                        INSERT INTO journals (title, content, owner_id, created_at, updated_at)
+                        SELECT 'note ' || g, 'diary entry ' || g, 1,
+                               now() - g * interval '1 minute', now() - g * interval '1 minute'
+                        FROM generate_series(1, 20000) g
+                        """);
+                statement.execute("ANALYZE journals");
+            }
+        }
+    }
+
+    @Test
+    public void findAllByOwnerId_ShouldUseOwnerCreatedAtIndexWithoutSort() throws Exception {
+        String plan = explain("""
+                SELECT * FROM journals j WHERE j.owner_id = 42
+                ORDER BY j.created_at DESC, j.id DESC OFFSET 0 ROWS FETCH FIRST 10 ROWS ONLY
+                """);
+
+        assertUsesIndex(plan, "ix_journals_owner_created_at_id");
+    }
+
+    @Test
+    public void findAllByOwnerId_ShouldUseMatchingIndexForEveryWhitelistedSort() throws Exception {
+        assertUsesIndex(explain("""
+                SELECT * FROM journals j WHERE j.owner_id = 42
+                ORDER BY j.updated_at ASC, j.id ASC OFFSET 0 ROWS FETCH FIRST 10 ROWS ONLY
+                """), "ix_journals_owner_updated_at_id");
+        assertUsesIndex(explain("""
+                SELECT * FROM journals j WHERE j.owner_id = 42
+                ORDER BY j.title DESC, j.id DESC OFFSET 0 ROWS FETCH FIRST 10 ROWS ONLY
+                """), "ix_journals_owner_title_id");
+    }
+
+    @Test
+    public void findAll_ShouldUseCreatedAtIndexWithoutSort() throws Exception {
+        String plan = explain("""
+                SELECT * FROM journals j
+                ORDER BY j.created_at DESC, j.id DESC OFFSET 0 ROWS FETCH FIRST 10 ROWS ONLY
+                """);
+
+        assertUsesIndex(plan, "ix_journals_created_at_id");
+    }
+
+    @Test
+    public void findByIdAndOwnerId_ShouldUsePrimaryKey() throws Exception {
+        String plan = explain("SELECT * FROM journals j WHERE j.id = 1234 AND j.owner_id = 235");
+
+        assertTrue(plan.contains("journals_pkey"), plan);
+        assertFalse(plan.contains("Seq Scan"), plan);
+    }
+
+    @Test
+    public void keysetPage_ShouldStartIndexScanAtCursor() throws Exception {
+        String plan = explain("""
+                SELECT * FROM journals
+                WHERE owner_id = 42
+                  AND (created_at, id) < (now() - interval '20 days', 9999)
+                ORDER BY created_at DESC, id DESC
+                LIMIT 11
+                """);
+
+        assertUsesIndex(plan, "ix_journals_owner_created_at_id");
+        assertTrue(plan.contains("Index Cond"), plan);
+    }
+
+    @Test
+    public void search_ShouldUseSearchVectorIndex() throws Exception {
+        String plan = explain("""
+                SELECT j.id, ts_rank_cd(j.search_vector, q) AS rank
+                FROM journals j, websearch_to_tsquery('english', '4242') q
+                WHERE j.owner_id = 1 AND j.search_vector @@ q
+                ORDER BY rank DESC, j.id DESC
+                LIMIT 11
+                """);
+
+        assertTrue(plan.contains("ix_journals_search_vector"), plan);
+        assertFalse(plan.contains("Seq Scan"), plan);
+    }
+
+    private static void assertUsesIndex(String plan, String index) {
+        assertTrue(plan.contains(index), plan);
+        assertFalse(plan.contains("Seq Scan"), plan);
+        assertFalse(plan.contains("\"Node Type\": \"Sort\""), plan);
+    }
+
+    private static String explain(String sql) throws Exception {
+        try (Connection connection = connect();
+             Statement statement = connection.createStatement();
+             ResultSet rs = statement.executeQuery("EXPLAIN (FORMAT JSON) " + sql)) {
+            rs.next();
+            return rs.getString(1);
+        }
+    }
+
+    private static Connection connect() throws Exception {
+        return DriverManager.getConnection(postgres.getJdbcUrl(), postgres.getUsername(), postgres.getPassword());
+    }
+}
@@ -0,0 +1,27 @@
+package com.ishwor.journalapi.repository;
+
+import com.ishwor.journalapi.exception.InvalidCursorException;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class JournalSearchCursorTest {
+
+    @Test
+    public void shouldRoundTripRankExactly() {
+        float rank = 0.1f / 3;
+
+        JournalSearchCursor decoded = JournalSearchCursor.decode(new JournalSearchCursor(rank, 42L).encode());
+
+        assertEquals(Float.floatToIntBits(rank), Float.floatToIntBits(decoded.getRank()));
+        assertEquals(42L, decoded.getId());
+    }
+
+    @Test
+    public void shouldRejectGarbage() {
+        assertThrows(InvalidCursorException.class, () -> JournalSearchCursor.decode("not*base64"));
+        assertThrows(InvalidCursorException.class, () -> JournalSearchCursor.decode("bm9wZQ"));
+        assertThrows(InvalidCursorException.class, () -> JournalSearchCursor.decode("MC41fHg"));
+        assertThrows(InvalidCursorException.class, () -> JournalSearchCursor.decode("TmFOfDM"));
+    }
+}
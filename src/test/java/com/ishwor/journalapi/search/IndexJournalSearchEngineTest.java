@@ -0,0 +1,90 @@
+package com.ishwor.journalapi.search;
+
+import com.ishwor.journalapi.entity.UserEntity;
+import com.ishwor.journalapi.repository.JournalInsert;
+import com.ishwor.journalapi.repository.JournalRepository;
+import com.ishwor.journalapi.repository.JournalSearchResult;
+import com.ishwor.journalapi.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Journals written by another instance, simulated by writing around the service so no
+ * change event is published here.
+ */
+@SpringBootTest(properties = {
+        "journal.search.engine=index",
+        "journal.search.index-directory=target/search-index-test"
+})
+public class IndexJournalSearchEngineTest {
+
+    @Autowired
+    private IndexJournalSearchEngine engine;
+
+    @Autowired
+    private JournalRepository journalRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private Long ownerId;
+
+    @BeforeEach
+    public void setUp() throws InterruptedException {
+        UserEntity user = new UserEntity();
+        user.setEmail("search-" + UUID.randomUUID() + "@example.com");
+        user.setPasswordHash("unused");
+        ownerId = userRepository.save(user).getId();
+
+        long deadline = System.currentTimeMillis() + 120_000;
+        while (!engine.isReady() && System.currentTimeMillis() < deadline) {
+            Thread.sleep(20);
+        }
+        assertTrue(engine.isReady());
+    }
+
+    @Test
+    public void shouldIndexJournalsChangedElsewhere_WhenInvalidated() {
+        LocalDateTime now = LocalDateTime.now();
+        Long id = journalRepository.copyIn(ownerId, List.of(new JournalInsert("Glacier walk", "Cold morning", now, now))).get(0);
+        assertTrue(search("glacier").isEmpty());
+
+        engine.invalidate(List.of(id));
+        assertEquals(List.of(id), search("glacier").stream().map(JournalSearchResult::getId).toList());
+
+        jdbcTemplate.update("UPDATE journals SET title = 'Desert walk' WHERE id = ?", id);
+        engine.invalidate(List.of(id));
+        assertTrue(search("glacier").isEmpty());
+        assertEquals(List.of(id), search("desert").stream().map(JournalSearchResult::getId).toList());
+    }
+
+    @Test
+    public void shouldServeRebuiltIndex_WhenEverythingIsInvalidated() throws InterruptedException {
+        LocalDateTime now = LocalDateTime.now();
+        Long id = journalRepository.copyIn(ownerId, List.of(new JournalInsert("Harbour", "Fog", now, now))).get(0);
+
+        engine.invalidateAll();
+
+        long deadline = System.currentTimeMillis() + 120_000;
+        while (search("harbour").isEmpty() && System.currentTimeMillis() < deadline) {
+            Thread.sleep(20);
+        }
+        assertEquals(List.of(id), search("harbour").stream().map(JournalSearchResult::getId).toList());
+    }
+
+    private List<JournalSearchResult> search(String query) {
+        return engine.search(ownerId, query, null, 10);
+    }
+}
@@ -0,0 +1,117 @@
+package com.ishwor.journalapi.search;
+
+import com.ishwor.journalapi.repository.JournalSearchCursor;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class InvertedIndexTest {
+
+    @TempDir
+    Path directory;
+
+    private InvertedIndex index;
+
+    @AfterEach
+    public void tearDown() {
+        if (index != null) {
+            index.close();
+        }
+    }
+
+    @Test
+    public void shouldRequireEveryTermAndHonourExclusions() {
+        index = new InvertedIndex(directory, 100, 4);
+        index.upsert(1, 1, "Morning run", "Ran along the river before work");
+        index.upsert(1, 2, "Evening walk", "Walked along the river");
+        index.upsert(1, 3, "Groceries", "Bought bread");
+
+        assertEquals(List.of(1L, 2L), ids(index.search(1, "river", null, 10)).stream().sorted().toList());
+        assertEquals(List.of(1L), ids(index.search(1, "RIVER ran", null, 10)));
+        assertEquals(List.of(2L), ids(index.search(1, "river -ran", null, 10)));
+        assertTrue(index.search(1, "river bread", null, 10).isEmpty());
+        assertTrue(index.search(1, "the", null, 10).isEmpty());
+    }
+
+    @Test
+    public void shouldOnlySearchTheOwnersJournals() {
+        index = new InvertedIndex(directory, 100, 4);
+        index.upsert(1, 1, "Mine", "secret plans");
+        index.upsert(2, 2, "Theirs", "secret plans");
+
+        assertEquals(List.of(1L), ids(index.search(1, "secret", null, 10)));
+        assertEquals(List.of(2L), ids(index.search(2, "secret", null, 10)));
+        assertTrue(index.search(3, "secret", null, 10).isEmpty());
+    }
+
+    @Test
+    public void shouldRankTitleMatchesFirst() {
+        index = new InvertedIndex(directory, 100, 4);
+        index.upsert(1, 1, "Notes", "a short note about coffee");
+        index.upsert(1, 2, "Coffee", "tasting notes");
+
+        assertEquals(List.of(2L, 1L), ids(index.search(1, "coffee", null, 10)));
+    }
+
+    @Test
+    public void shouldFollowUpdatesAndDeletesAcrossFlushesAndMerges() {
+        // Tiny thresholds so postings end up spread over buffer, segments and merged segments
+        index = new InvertedIndex(directory, 3, 2);
+        for (long id = 1; id <= 20; id++) {
+            index.upsert(1, id, "Entry " + id, id % 2 == 0 ? "even day" : "odd day");
+        }
+        index.upsert(1, 4, "Entry 4", "odd after all");
+        index.delete(6);
+        index.upsert(1, 8, "Entry 8", "even again");
+
+        List<Long> even = ids(index.search(1, "even", null, 100));
+        assertEquals(List.of(2L, 8L, 10L, 12L, 14L, 16L, 18L, 20L), even.stream().sorted().toList());
+        assertTrue(ids(index.search(1, "odd", null, 100)).contains(4L));
+        assertEquals(19, index.size());
+
+        index.awaitMaintenance();
+        assertEquals(even.stream().sorted().toList(), ids(index.search(1, "even", null, 100)).stream().sorted().toList());
+        assertTrue(index.segmentCount() <= 3, "segments: " + index.segmentCount());
+    }
+
+    @Test
+    public void shouldPageWithCursorWithoutGapsOrRepeats() {
+        index = new InvertedIndex(directory, 7, 3);
+        for (long id = 1; id <= 25; id++) {
+            // Only three distinct ranks, so most of the paging is on id ties
+            index.upsert(1, id, "Hike", "trail ".repeat((int) (id % 3) + 1));
+        }
+
+        List<Long> seen = new ArrayList<>();
+        JournalSearchCursor after = null;
+        while (true) {
+            List<InvertedIndex.Hit> page = index.search(1, "trail", after, 4);
+            if (page.isEmpty()) {
+                break;
+            }
+            page.forEach(hit -> seen.add(hit.id()));
+            InvertedIndex.Hit last = page.get(page.size() - 1);
+            after = new JournalSearchCursor(last.rank(), last.id());
+        }
+
+        assertEquals(25, seen.size());
+        assertEquals(25, seen.stream().distinct().count());
+    }
+
+    @Test
+    public void shouldHighlightMatchesInSnippet() {
+        String snippet = Highlighter.snippet("Walked to the River, then the river path home.", List.of("river"));
+
+        assertEquals("Walked to the <mark>River</mark>, then the <mark>river</mark> path home", snippet);
+    }
+
+    private static List<Long> ids(List<InvertedIndex.Hit> hits) {
+        return hits.stream().map(InvertedIndex.Hit::id).toList();
+    }
+}
@@ -0,0 +1,137 @@
+package com.ishwor.journalapi.security;
+
+import com.ishwor.journalapi.config.RateLimitProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class AuthRateLimitFilterTest {
+
+    private AuthRateLimitFilter filter(int ipBurst, int emailBurst) {
+        RateLimitProperties properties = new RateLimitProperties();
+        properties.setIpBurst(ipBurst);
+        properties.setEmailBurst(emailBurst);
+        return new AuthRateLimitFilter(properties, JsonMapper.builder().build(), new SimpleMeterRegistry());
+    }
+
+    private MockHttpServletRequest login(String ip, String email) {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/auth/login");
+        request.setServletPath("/auth/login");
+        request.setRemoteAddr(ip);
+        request.setContentType("application/json");
+        request.setContent(("{\"email\":\"" + email + "\",\"password\":\"secret\"}").getBytes(StandardCharsets.UTF_8));
+        return request;
+    }
+
+    @Test
+    public void shouldRejectWith429_WhenIpExceedsBurst() throws Exception {
+        AuthRateLimitFilter filter = filter(2, 100);
+
+        for (int i = 0; i < 2; i++) {
+            MockHttpServletResponse response = new MockHttpServletResponse();
+            filter.doFilter(login("10.0.0.1", "user" + i + "@example.com"), response, new MockFilterChain());
+            assertEquals(200, response.getStatus());
+        }
+
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(login("10.0.0.1", "other@example.com"), response, new MockFilterChain());
+
+        assertEquals(429, response.getStatus());
+        assertNotNull(response.getHeader("Retry-After"));
+        assertTrue(response.getContentAsString().contains("\"status\":429"));
+    }
+
+    @Test
+    public void shouldRejectSameEmail_FromDifferentIps() throws Exception {
+        AuthRateLimitFilter filter = filter(100, 1);
+
+        MockHttpServletResponse first = new MockHttpServletResponse();
+        filter.doFilter(login("10.0.0.1", "victim@example.com"), first, new MockFilterChain());
+        MockHttpServletResponse second = new MockHttpServletResponse();
+        filter.doFilter(login("10.0.0.2", "Victim@Example.com"), second, new MockFilterChain());
+
+        assertEquals(200, first.getStatus());
+        assertEquals(429, second.getStatus());
+    }
+
+    @Test
+    public void shouldPassBufferedBodyDownstream() throws Exception {
+        AuthRateLimitFilter filter = filter(100, 100);
+        MockFilterChain chain = new MockFilterChain();
+
+        filter.doFilter(login("10.0.0.1", "user@example.com"), new MockHttpServletResponse(), chain);
+
+        String body = new String(chain.getRequest().getInputStream().readAllBytes(), StandardCharsets.UTF_8);
+        assertTrue(body.contains("user@example.com"));
+    }
+
+    @Test
+    public void shouldLimitEmail_WhenBodyIsChunked() throws Exception {
+        AuthRateLimitFilter filter = filter(100, 1);
+
+        MockHttpServletResponse first = new MockHttpServletResponse();
+        filter.doFilter(chunked(login("10.0.0.1", "victim@example.com")), first, new MockFilterChain());
+        MockHttpServletResponse second = new MockHttpServletResponse();
+        filter.doFilter(chunked(login("10.0.0.2", "victim@example.com")), second, new MockFilterChain());
+
+        assertEquals(200, first.getStatus());
+        assertEquals(429, second.getStatus());
+    }
+
+    @Test
+    public void shouldRejectWith413_WhenBodyIsPaddedPastLimit() throws Exception {
+        AuthRateLimitFilter filter = filter(100, 100);
+        MockHttpServletRequest request = login("10.0.0.1", "victim@example.com");
+        String padded = " ".repeat(8 * 1024) + "{\"email\":\"victim@example.com\",\"password\":\"secret\"}";
+        request.setContent(padded.getBytes(StandardCharsets.UTF_8));
+        MockFilterChain chain = new MockFilterChain();
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        filter.doFilter(request, response, chain);
+
+        assertEquals(413, response.getStatus());
+        assertTrue(response.getContentAsString().contains("\"status\":413"));
+        assertNull(chain.getRequest());
+    }
+
+    // A chunked body has no Content-Length
+    private static MockHttpServletRequest chunked(MockHttpServletRequest request) {
+        MockHttpServletRequest chunked = new MockHttpServletRequest(request.getMethod(), request.getRequestURI()) {
+            @Override
+            public int getContentLength() {
+                return -1;
+            }
+
+            @Override
+            public long getContentLengthLong() {
+                return -1;
+            }
+        };
+        chunked.setServletPath(request.getServletPath());
+        chunked.setRemoteAddr(request.getRemoteAddr());
+        chunked.setContentType(request.getContentType());
+        chunked.addHeader("Transfer-Encoding", "chunked");
+        chunked.setContent(request.getContentAsByteArray());
+        return chunked;
+    }
+
+    @Test
+    public void shouldIgnoreOtherEndpoints() throws Exception {
+        AuthRateLimitFilter filter = filter(1, 1);
+
+        for (int i = 0; i < 5; i++) {
+            MockHttpServletRequest request = new MockHttpServletRequest("GET", "/journal");
+            request.setServletPath("/journal");
+            MockHttpServletResponse response = new MockHttpServletResponse();
+            filter.doFilter(request, response, new MockFilterChain());
+            assertEquals(200, response.getStatus());
+        }
+    }
+}
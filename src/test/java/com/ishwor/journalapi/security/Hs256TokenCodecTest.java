@@ -0,0 +1,104 @@
+package com.ishwor.journalapi.security;
+
+import com.ishwor.journalapi.entity.Role;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import io.jsonwebtoken.security.SignatureException;
+import org.junit.jupiter.api.Test;
+
+import javax.crypto.SecretKey;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Date;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class Hs256TokenCodecTest {
+
+    private static final byte[] SECRET = "test-secret-key-that-is-at-least-32-bytes-long".getBytes(StandardCharsets.UTF_8);
+
+    private final Hs256TokenCodec codec = new Hs256TokenCodec(SECRET);
+    private final SecretKey key = Keys.hmacShaKeyFor(SECRET);
+
+    @Test
+    public void shouldProduceTokensThatJjwtVerifies() {
+        long now = Instant.now().getEpochSecond();
+        String token = codec.encode(42L, "token-42", "user@example.com", Role.ADMIN, 3, now, now + 900);
+
+        Claims claims = Jwts.parser().verifyWith(key).build().parseSignedClaims(token).getPayload();
+
+        assertEquals("42", claims.getSubject());
+        assertEquals("token-42", claims.getId());
+        assertEquals("user@example.com", claims.get("email", String.class));
+        assertEquals("ADMIN", claims.get("role", String.class));
+        assertEquals(3, claims.get("ver", Integer.class));
+        assertEquals(now + 900, claims.getExpiration().toInstant().getEpochSecond());
+    }
+
+    @Test
+    public void shouldRoundTripClaims_WithCharactersThatNeedEscaping() {
+        long now = Instant.now().getEpochSecond();
+        String email = "quote\"back\\slashé@example.com";
+        String token = codec.encode(7L, "token-7", email, Role.USER, 0, now, now + 900);
+
+        AccessTokenClaims claims = codec.decode(token);
+
+        assertEquals(7L, claims.getUserId());
+        assertEquals("token-7", claims.getTokenId());
+        assertEquals(email, claims.getEmail());
+        assertEquals(Role.USER, claims.getRole());
+        assertEquals(0, claims.getTokenVersion());
+    }
+
+    @Test
+    public void shouldDecodeTokensIssuedByJjwt_WithTheSameHeader() {
+        Instant now = Instant.now();
+        String token = Jwts.builder()
+                .subject("5")
+                .claim("email", "jjwt@example.com")
+                .claim("role", Role.USER)
+                .claim("ver", 2)
+                .issuedAt(Date.from(now))
+                .expiration(Date.from(now.plusSeconds(900)))
+                .signWith(key, Jwts.SIG.HS256)
+                .compact();
+
+        AccessTokenClaims claims = codec.decode(token);
+
+        assertEquals(5L, claims.getUserId());
+        assertEquals("jjwt@example.com", claims.getEmail());
+        assertEquals(2, claims.getTokenVersion());
+        assertNull(claims.getTokenId());
+    }
+
+    @Test
+    public void shouldRejectTamperedToken() {
+        long now = Instant.now().getEpochSecond();
+        String token = codec.encode(1L, "token-1", "user@example.com", Role.USER, 0, now, now + 900);
+        String forged = codec.encode(1L, "token-1", "user@example.com", Role.ADMIN, 0, now, now + 900);
+        String tampered = forged.substring(0, forged.lastIndexOf('.')) + token.substring(token.lastIndexOf('.'));
+
+        assertThrows(SignatureException.class, () -> codec.decode(tampered));
+    }
+
+    @Test
+    public void shouldRejectExpiredToken() {
+        long now = Instant.now().getEpochSecond();
+        String token = codec.encode(1L, "token-1", "user@example.com", Role.USER, 0, now - 1000, now - 100);
+
+        assertThrows(ExpiredJwtException.class, () -> codec.decode(token));
+    }
+
+    @Test
+    public void shouldReturnNull_ForTokensWithAnotherHeader() {
+        String token = Jwts.builder()
+                .subject("1")
+                .expiration(Date.from(Instant.now().plusSeconds(900)))
+                .signWith(Keys.hmacShaKeyFor(new byte[64]), Jwts.SIG.HS512)
+                .compact();
+
+        assertNull(codec.decode(token));
+    }
+}
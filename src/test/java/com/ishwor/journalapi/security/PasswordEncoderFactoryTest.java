@@ -0,0 +1,55 @@
+package com.ishwor.journalapi.security;
+
+import com.ishwor.journalapi.config.PasswordEncoderProperties;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.security.crypto.password.Pbkdf2PasswordEncoder;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class PasswordEncoderFactoryTest {
+
+    @Test
+    public void shouldVerifyAndUpgradePbkdf2Hash_WhenIterationsAreRaised() {
+        String oldHash = PasswordEncoderFactory.create(pbkdf2(1_000, 16)).encode("secret");
+
+        PasswordEncoder raised = PasswordEncoderFactory.create(pbkdf2(2_000, 16));
+
+        assertTrue(raised.matches("secret", oldHash));
+        assertFalse(raised.matches("wrong", oldHash));
+        assertTrue(raised.upgradeEncoding(oldHash));
+        String newHash = raised.encode("secret");
+        assertTrue(newHash.startsWith("{pbkdf2}2000$16$"));
+        assertFalse(raised.upgradeEncoding(newHash));
+    }
+
+    @Test
+    public void shouldVerifyPbkdf2Hash_WhenSaltLengthChanges() {
+        String oldHash = PasswordEncoderFactory.create(pbkdf2(1_000, 16)).encode("secret");
+
+        PasswordEncoder changed = PasswordEncoderFactory.create(pbkdf2(1_000, 32));
+
+        assertTrue(changed.matches("secret", oldHash));
+        assertTrue(changed.upgradeEncoding(oldHash));
+    }
+
+    @Test
+    public void shouldVerifyAndUpgradePbkdf2Hash_WrittenWithoutParameters() {
+        // What the encoder wrote before hashes carried their parameters
+        String legacy = "{pbkdf2}" + new Pbkdf2PasswordEncoder("", 16, 1_000,
+                Pbkdf2PasswordEncoder.SecretKeyFactoryAlgorithm.PBKDF2WithHmacSHA256).encode("secret");
+
+        PasswordEncoder encoder = PasswordEncoderFactory.create(pbkdf2(1_000, 16));
+
+        assertTrue(encoder.matches("secret", legacy));
+        assertTrue(encoder.upgradeEncoding(legacy));
+    }
+
+    private static PasswordEncoderProperties pbkdf2(int iterations, int saltLength) {
+        PasswordEncoderProperties properties = new PasswordEncoderProperties();
+        properties.setAlgorithm("pbkdf2");
+        properties.getPbkdf2().setIterations(iterations);
+        properties.getPbkdf2().setSaltLength(saltLength);
+        return properties;
+    }
+}
@@ -0,0 +1,90 @@
+package com.ishwor.journalapi.security;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class RateLimiterTest {
+
+    private final AtomicLong now = new AtomicLong(TimeUnit.HOURS.toNanos(1));
+
+    @Test
+    public void shouldAllowBurstThenReject() {
+        RateLimiter limiter = new RateLimiter(60, 3, 1000, now::get);
+
+        assertEquals(0, limiter.tryAcquire("a"));
+        assertEquals(0, limiter.tryAcquire("a"));
+        assertEquals(0, limiter.tryAcquire("a"));
+
+        // One token per second at 60/min
+        assertEquals(TimeUnit.SECONDS.toNanos(1), limiter.tryAcquire("a"));
+    }
+
+    @Test
+    public void shouldRefillOverTime() {
+        RateLimiter limiter = new RateLimiter(60, 1, 1000, now::get);
+
+        assertEquals(0, limiter.tryAcquire("a"));
+        assertTrue(limiter.tryAcquire("a") > 0);
+
+        now.addAndGet(TimeUnit.SECONDS.toNanos(1));
+        assertEquals(0, limiter.tryAcquire("a"));
+    }
+
+    @Test
+    public void shouldKeepKeysIndependent() {
+        RateLimiter limiter = new RateLimiter(60, 1, 1000, now::get);
+
+        assertEquals(0, limiter.tryAcquire("a"));
+        assertTrue(limiter.tryAcquire("a") > 0);
+        assertEquals(0, limiter.tryAcquire("b"));
+    }
+
+    @Test
+    public void shouldEvictOnlyRefilledBuckets() {
+        RateLimiter limiter = new RateLimiter(60, 2, 1000, now::get);
+
+        limiter.tryAcquire("idle");
+        now.addAndGet(TimeUnit.SECONDS.toNanos(5));
+        limiter.tryAcquire("busy");
+        limiter.evictIdle();
+
+        assertEquals(1, limiter.size());
+    }
+
+    @Test
+    public void shouldStayWithinMaxBuckets() {
+        RateLimiter limiter = new RateLimiter(60, 2, 64 * 4, now::get);
+
+        for (int i = 0; i < 10_000; i++) {
+            limiter.tryAcquire("client-" + i);
+        }
+
+        assertTrue(limiter.size() <= 64 * 4, "buckets: " + limiter.size());
+    }
+
+    @Test
+    public void shouldRejectNewKeysRatherThanResetActiveBuckets() {
+        // One bucket per stripe, so almost every other key lands in an occupied stripe
+        RateLimiter limiter = new RateLimiter(60, 1, 64, now::get);
+        assertEquals(0, limiter.tryAcquire("victim"));
+
+        int rejected = 0;
+        for (int i = 0; i < 1000; i++) {
+            if (limiter.tryAcquire("attacker-" + i) > 0) {
+                rejected++;
+            }
+        }
+
+        assertTrue(rejected > 0);
+        assertTrue(limiter.size() <= 64, "buckets: " + limiter.size());
+        assertEquals(TimeUnit.SECONDS.toNanos(1), limiter.tryAcquire("victim"));
+
+        // Once the buckets have refilled there is room again
+        now.addAndGet(TimeUnit.SECONDS.toNanos(1));
+        assertEquals(0, limiter.tryAcquire("attacker-0"));
+    }
+}
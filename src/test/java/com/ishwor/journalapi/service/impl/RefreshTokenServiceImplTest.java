@@ -0,0 +1,61 @@
+package com.ishwor.journalapi.service.impl;
+
+import com.ishwor.journalapi.entity.UserEntity;
+import com.ishwor.journalapi.exception.RefreshTokenException;
+import com.ishwor.journalapi.repository.UserRepository;
+import com.ishwor.journalapi.service.RefreshTokenService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Rotation and reuse detection against the real refresh_tokens and used_refresh_tokens tables.
+ */
+@SpringBootTest
+public class RefreshTokenServiceImplTest {
+    @Autowired
+    private RefreshTokenService refreshTokenService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    private Long userId;
+
+    @BeforeEach
+    public void createUser() {
+        UserEntity user = new UserEntity();
+        user.setEmail("refresh-" + UUID.randomUUID() + "@example.com");
+        user.setPasswordHash("unused");
+        userId = userRepository.save(user).getId();
+    }
+
+    @Test
+    public void shouldRevokeFamily_WhenTokenFromTwoRotationsAgoIsReplayed() {
+        String a = refreshTokenService.createRefreshToken(userId);
+        String b = refreshTokenService.rotate(a).getRefreshToken();
+        String c = refreshTokenService.rotate(b).getRefreshToken();
+
+        RefreshTokenException reuse = assertThrows(RefreshTokenException.class, () -> refreshTokenService.rotate(a));
+        assertTrue(reuse.getMessage().contains("reuse detected"));
+
+        // C was the live token of the family; it is gone with the rest of it
+        RefreshTokenException revoked = assertThrows(RefreshTokenException.class, () -> refreshTokenService.rotate(c));
+        assertTrue(revoked.getMessage().startsWith("Invalid refresh token"));
+    }
+
+    @Test
+    public void shouldLeaveOtherFamiliesAlone_WhenTokenIsReplayed() {
+        String stolen = refreshTokenService.createRefreshToken(userId);
+        refreshTokenService.rotate(stolen);
+        String otherDevice = refreshTokenService.createRefreshToken(userId);
+
+        assertThrows(RefreshTokenException.class, () -> refreshTokenService.rotate(stolen));
+
+        assertEquals(userId, refreshTokenService.rotate(otherDevice).getOwner().getUserId());
+    }
+}